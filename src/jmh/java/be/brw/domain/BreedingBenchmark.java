@@ -0,0 +1,81 @@
+package be.brw.domain;
+
+import be.brw.config.ExecutionConfig;
+import be.brw.config.GAConfig;
+import be.brw.config.PopulationStorage;
+import be.brw.domain.strategy.CrossoverLeftoverStrategy;
+import be.brw.domain.strategy.CrossoverStrategy;
+import be.brw.domain.strategy.LengthPunishingStrategy;
+import be.brw.domain.strategy.MutationTargetStrategy;
+import be.brw.domain.strategy.SelectionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of parallel breeding with the number of breeding threads: a seeded run of
+ * {@value #GENERATIONS} generations of {@value #POPULATION_SIZE} individuals.
+ * <p>
+ * Individuals are scored by their length, so the time of a run is almost all selection,
+ * crossover and mutation. Divide the time of one thread by that of the others for the speed-up.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class BreedingBenchmark {
+
+    static final int POPULATION_SIZE = 50_000;
+    static final int GENERATIONS = 10;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private GAConfig config;
+
+    @Setup
+    public void setUp() {
+        config = GAConfig.builder()
+                .seed(42).solution("LR+-/".getBytes(StandardCharsets.UTF_8)).minGenomeLength(200).maxGenomeLength(400)
+                .maxGeneration(GENERATIONS - 1).populationSize(POPULATION_SIZE)
+                .selectionStrategy(SelectionStrategy.TOURNAMENT).tournamentSize(4).mutationTargetStrategy(MutationTargetStrategy.BOTH)
+                .mutationRate(0.3).bitFlipRate(0.7).bitAddRate(0.2).bitRemoveRate(0.1)
+                .crossoverStrategy(CrossoverStrategy.UNIFORM).crossoverRate(0.9)
+                .crossoverLeftoverStrategy(CrossoverLeftoverStrategy.KEEP_ONE_OR_NOT_RANDOMLY)
+                .lengthPunishingStrategy(LengthPunishingStrategy.EXPONENTIAL).lengthPunishingFactor(0.5).maxSolutions(15)
+                .executionConfig(new ExecutionConfig(0, PopulationStorage.OBJECTS, ExecutionConfig.DEFAULT_STORAGE_DIRECTORY, false, threads))
+                .build();
+    }
+
+    @Benchmark
+    public List<String> run() {
+        return new GeneticAlgorithm(config, BreedingBenchmark::lengths).runAlgorithm();
+    }
+
+    /**
+     * Scores a genome by its length, so evaluation costs next to nothing.
+     */
+    private static List<Double> lengths(List<Individual> genomes) {
+        List<Double> scores = new ArrayList<>(genomes.size());
+        for (Individual individual : genomes) {
+            scores.add((double) individual.getGenomeLength());
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,107 @@
+package be.brw.domain;
+
+import be.brw.config.GAConfig;
+import be.brw.domain.strategy.CrossoverLeftoverStrategy;
+import be.brw.domain.strategy.CrossoverStrategy;
+import be.brw.domain.strategy.LengthPunishingStrategy;
+import be.brw.domain.strategy.MutationTargetStrategy;
+import be.brw.domain.strategy.SelectionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The genetic operators of {@link GeneticAlgorithm}: crossover for every strategy and leftover
+ * strategy, mutation, and the genome string cache of {@link Individual}.
+ * <p>
+ * Parents are {@value #PARENT_LENGTH} and {@value #OTHER_PARENT_LENGTH} genes long, so the
+ * leftover strategies have leftovers to handle. Mutation changes the genome it is given, so every
+ * operation mutates a fresh copy; {@link #copy()} measures the copy alone.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperatorsBenchmark {
+
+    static final int PARENT_LENGTH = 200;
+    static final int OTHER_PARENT_LENGTH = 260;
+    private static final byte[] MOVES = "LR+-/".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"ONE_POINT", "TWO_POINT", "UNIFORM"})
+    public CrossoverStrategy crossoverStrategy;
+
+    @Param({"KEEP_ALL_OR_NOTHING_RANDOMLY", "KEEP_ONE_OR_NOT_RANDOMLY", "KEEP_ONLY_FROM_FITTEST_PARENT"})
+    public CrossoverLeftoverStrategy leftoverStrategy;
+
+    private GeneticAlgorithm geneticAlgorithm;
+    private SplittableRandom random;
+    private Individual parent;
+    private Individual otherParent;
+
+    @Setup
+    public void setUp() {
+        GAConfig config = GAConfig.builder()
+                .seed(42).solution("R".getBytes(StandardCharsets.UTF_8)).minGenomeLength(10).maxGenomeLength(20)
+                .maxGeneration(10).populationSize(2)
+                .selectionStrategy(SelectionStrategy.TOURNAMENT).tournamentSize(4).mutationTargetStrategy(MutationTargetStrategy.BOTH)
+                .mutationRate(0.3).bitFlipRate(0.6).bitAddRate(0.2).bitRemoveRate(0.2)
+                .crossoverStrategy(crossoverStrategy).crossoverRate(0.9).crossoverLeftoverStrategy(leftoverStrategy)
+                .lengthPunishingStrategy(LengthPunishingStrategy.EXPONENTIAL).lengthPunishingFactor(0.5).maxSolutions(15)
+                .build();
+        geneticAlgorithm = new GeneticAlgorithm(config, genomes -> Collections.nCopies(genomes.size(), 0.0));
+        random = new SplittableRandom(42);
+        parent = new Individual(randomGenome(random, PARENT_LENGTH), 2);
+        otherParent = new Individual(randomGenome(random, OTHER_PARENT_LENGTH), 1);
+    }
+
+    @Benchmark
+    public Individual crossover() {
+        return geneticAlgorithm.crossover(parent, otherParent, random);
+    }
+
+    @Benchmark
+    public Individual mutate() {
+        return geneticAlgorithm.mutate(new Individual(parent.getGenes().copy()), random);
+    }
+
+    @Benchmark
+    public Individual copy() {
+        return new Individual(parent.getGenes().copy());
+    }
+
+    @Benchmark
+    public String genomeStringCached() {
+        return parent.getGenomeString();
+    }
+
+    @Benchmark
+    public String genomeStringAfterChange() {
+        parent.setGene(random.nextInt(PARENT_LENGTH), MOVES[random.nextInt(MOVES.length)]);
+        return parent.getGenomeString();
+    }
+
+    static Genome randomGenome(SplittableRandom random, int length) {
+        Genome genome = new Genome(length);
+        for (int i = 0; i < length; i++) {
+            genome.add(MOVES[random.nextInt(MOVES.length)]);
+        }
+        return genome;
+    }
+}
@@ -0,0 +1,139 @@
+package be.brw.domain;
+
+import be.brw.domain.strategy.SelectionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filling a generation with the {@link SelectionEngine}: preparing a pool and drawing as many
+ * parents as it holds, for every {@link SelectionStrategy}.
+ * <p>
+ * {@link Legacy} measures the list-based selection the engine replaced, on pools small enough for
+ * its quadratic cost; compare it with the same sizes here.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectionBenchmark {
+
+    @Param({"ELITISM", "ROULETTE", "TOURNAMENT"})
+    public SelectionStrategy strategy;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private SelectionEngine engine;
+    private double[] fitness;
+    private int[] selected;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        engine = new SelectionEngine(strategy, 4, random);
+        fitness = new double[size];
+        for (int i = 0; i < size; i++) {
+            fitness[i] = random.nextDouble(4000);
+        }
+        selected = new int[size];
+    }
+
+    @Benchmark
+    public int[] prepareAndSelect() {
+        engine.prepare(fitness, size);
+        engine.select(strategy == SelectionStrategy.ELITISM ? size / 10 : size, selected);
+        return selected;
+    }
+
+    /**
+     * The list-based selection of the genetic algorithm before the engine.
+     */
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    @State(Scope.Thread)
+    public static class Legacy {
+
+        private static final int TOURNAMENT_SIZE = 4;
+
+        @Param({"ELITISM", "ROULETTE", "TOURNAMENT"})
+        public SelectionStrategy strategy;
+
+        @Param({"1000", "10000"})
+        public int size;
+
+        private List<Double> individuals;
+        private Random random;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom fitness = new SplittableRandom(42);
+            individuals = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                individuals.add(fitness.nextDouble(4000));
+            }
+            random = new Random(42);
+        }
+
+        @Benchmark
+        public List<Double> prepareAndSelect() {
+            int picks = strategy == SelectionStrategy.ELITISM ? size / 10 : size;
+            List<Double> winners = new ArrayList<>(picks);
+            switch (strategy) {
+                case ELITISM -> {
+                    List<Double> sorted = new ArrayList<>(individuals);
+                    sorted.sort(Comparator.reverseOrder());
+                    winners.addAll(sorted.subList(0, picks));
+                }
+                case ROULETTE -> {
+                    double totalFitness = 0;
+                    for (double value : individuals) {
+                        totalFitness += value;
+                    }
+                    for (int i = 0; i < picks; i++) {
+                        double pick = random.nextDouble(totalFitness);
+                        double rouletteSum = 0;
+                        for (double value : individuals) {
+                            rouletteSum += value;
+                            if (rouletteSum >= pick) {
+                                winners.add(value);
+                                break;
+                            }
+                        }
+                    }
+                }
+                case TOURNAMENT -> {
+                    for (int i = 0; i < picks; i++) {
+                        Collections.shuffle(individuals, random);
+                        List<Double> players = new ArrayList<>(individuals.subList(0, TOURNAMENT_SIZE));
+                        players.sort(Comparator.naturalOrder());
+                        winners.add(players.getLast());
+                    }
+                }
+            }
+            return winners;
+        }
+    }
+}
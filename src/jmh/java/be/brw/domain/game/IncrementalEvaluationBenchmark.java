@@ -0,0 +1,79 @@
+package be.brw.domain.game;
+
+import be.brw.domain.Genome;
+import be.brw.domain.Individual;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring a mutated individual with the {@link LocalFitnessEvaluator}, played in full
+ * ({@code snapshotInterval} 0) versus resumed from its evaluation trace.
+ * <p>
+ * Every operation changes one gene of a long genome and scores it again. The changed gene is drawn
+ * from the last tenth of the genome or from anywhere in it; the incremental evaluator should only
+ * pay for the suffix after it. The level is the stand-in game of {@link GameSimulator}, so the
+ * results say nothing about the fitness service.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalEvaluationBenchmark {
+
+    private static final byte[] MOVES = "LR/".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1000", "10000", "100000"})
+    public int length;
+
+    @Param({"true", "false"})
+    public boolean suffixOnly;
+
+    @Param({"0", "16"})
+    public int snapshotInterval;
+
+    private LocalFitnessEvaluator evaluator;
+    private Individual individual;
+    private SplittableRandom random;
+    private int from;
+
+    @Setup
+    public void setUp() {
+        // A flat level wide enough that a random walk never reaches the goal.
+        Level level = Level.parse(List.of(
+                "jump=2",
+                "S" + ".".repeat(4_000) + "G",
+                "#".repeat(4_002)));
+        evaluator = new LocalFitnessEvaluator(level, snapshotInterval);
+        random = new SplittableRandom(42);
+        Genome genome = new Genome(length);
+        for (int i = 0; i < length; i++) {
+            genome.add(MOVES[random.nextInt(MOVES.length)]);
+        }
+        individual = new Individual(genome);
+        evaluator.evaluate(individual);
+        from = suffixOnly ? length - length / 10 : 0;
+    }
+
+    @Benchmark
+    public double mutateAndEvaluate() {
+        individual.setGene(random.nextInt(from, length), MOVES[random.nextInt(MOVES.length)]);
+        return evaluator.evaluate(individual);
+    }
+}
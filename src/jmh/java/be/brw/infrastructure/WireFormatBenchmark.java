@@ -0,0 +1,112 @@
+package be.brw.infrastructure;
+
+import be.brw.config.EvaluatorConfig;
+import be.brw.domain.Genome;
+import be.brw.domain.Individual;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON side of {@link RemoteFitnessEvaluator}: encoding a batch, decoding the scores, and a
+ * whole evaluation against a stub service on the loopback interface.
+ * <p>
+ * The stub drains the request and answers with canned scores, so the round trip measures the
+ * client (encoding, HTTP, decoding) without any fitness computation.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    private static final byte[] MOVES = "LR+-/".getBytes(StandardCharsets.UTF_8);
+    private static final int GENOME_LENGTH = 200;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private List<Individual> batch;
+    private byte[] response;
+    private HttpServer stub;
+    private RemoteFitnessEvaluator evaluator;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        batch = new ArrayList<>(batchSize);
+        JSONArray scores = new JSONArray();
+        for (int i = 0; i < batchSize; i++) {
+            Genome genome = new Genome(GENOME_LENGTH);
+            for (int j = 0; j < GENOME_LENGTH; j++) {
+                genome.add(MOVES[random.nextInt(MOVES.length)]);
+            }
+            batch.add(new Individual(genome));
+            scores.put(random.nextDouble(4000));
+        }
+        response = new JSONObject().put("fitness_scores", scores).toString().getBytes(StandardCharsets.UTF_8);
+
+        stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.createContext("/evaluate", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stub.start();
+        String endpoint = "http://" + stub.getAddress().getHostString() + ":" + stub.getAddress().getPort();
+        evaluator = new RemoteFitnessEvaluator(EvaluatorConfig.forEndpoint(endpoint));
+    }
+
+    @TearDown
+    public void tearDown() {
+        evaluator.close();
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        // The genome strings are cached by the individuals, as they are between retries of a real batch.
+        return EncodedChunk.of(batch, 0, batchSize, false).json();
+    }
+
+    @Benchmark
+    public double[] decodeJson() {
+        return RemoteFitnessEvaluator.decodeJson(response, batchSize);
+    }
+
+    @Benchmark
+    public List<Double> evaluateAgainstStub() {
+        return evaluator.evaluate(batch);
+    }
+}
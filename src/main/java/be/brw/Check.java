@@ -1,25 +1,43 @@
 package be.brw;
 
-import be.brw.config.ConfigLoader;
-import be.brw.config.GAConfig;
-import be.brw.domain.GeneticAlgorithm;
+import be.brw.metrics.MetricsMBean;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.*;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Runs every configuration of a folder and writes one result line per configuration.
+ * <p>
+ * Usage: {@code Check [--parallelism N] [--resume] [configDir] [resultsFile]}, by default
+ * {@code src/main/resources/configs} and {@code results.log}, with one configuration per processor.
+ * See {@link SweepRunner}.
+ * </p>
+ */
 public class Check {
     public static void main(String[] args) {
         Path configDir = Path.of("src/main/resources/configs"); // folder containing config_001.yaml, etc.
         Path logFile = Path.of("results.log");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean resume = false;
+
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--parallelism" -> parallelism = Integer.parseInt(args[++i]);
+                case "--resume" -> resume = true;
+                default -> positional.add(args[i]);
+            }
+        }
+        if (!positional.isEmpty()) {
+            configDir = Path.of(positional.get(0));
+        }
+        if (positional.size() > 1) {
+            logFile = Path.of(positional.get(1));
+        }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(logFile.toFile(), false))) {
-            writer.write("===== Genetic Algorithm Benchmark =====\n");
-            writer.write("Started at: " + LocalDateTime.now() + "\n\n");
-
+        try {
             // Find all YAML config files
             List<Path> configs;
             try (var stream = Files.list(configDir)) {
@@ -30,37 +48,12 @@ public class Check {
             }
 
             if (configs.isEmpty()) {
-                writer.write("No config files found in " + configDir.toAbsolutePath() + "\n");
+                System.err.println("No config files found in " + configDir.toAbsolutePath());
                 return;
             }
 
-            // Process each config file
-            for (Path configPath : configs) {
-                try {
-                    GAConfig config = ConfigLoader.fromYaml(configPath);
-                    GeneticAlgorithm ga = new GeneticAlgorithm(config);
-
-                    List<String> result = ga.runAlgorithm();
-                    int generationCount = ga.getGenerationCount();
-
-                    String line = String.format(
-                            "[%s] Fitness=%f  Genomes=%s  Generations=%d%n",
-                            configPath.getFileName(),
-                            1.0,
-                            result.getFirst(),
-                            generationCount
-                    );
-
-                    writer.write(line);
-                    System.out.print(line);
-
-                } catch (Exception e) {
-                    writer.write(String.format("[%s] FAILED: %s%n", configPath.getFileName(), e.getMessage()));
-                    System.err.printf("[%s] FAILED: %s%n", configPath.getFileName(), e.getMessage());
-                }
-            }
-
-            writer.write("\n===== End of Benchmark =====\n");
+            MetricsMBean.registerDefault();
+            new SweepRunner(logFile, parallelism, resume).run(configs);
             System.out.println("\nResults written to " + logFile.toAbsolutePath());
 
         } catch (IOException e) {
@@ -0,0 +1,67 @@
+package be.brw;
+
+import be.brw.config.ConfigLoader;
+import be.brw.config.GAConfig;
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Individual;
+import be.brw.domain.Moves;
+import be.brw.infrastructure.FitnessEvaluatorFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Records genome/score pairs from the remote fitness service, to check that the in-process
+ * {@link be.brw.domain.game.LocalFitnessEvaluator} scores genomes the same way.
+ * <p>
+ * Usage: {@code FitnessRecorder <config.yaml> <output.tsv> [count]}. The output has one
+ * {@code genome<TAB>score} line per random genome. Recordings named after a level file
+ * ({@code level_1.tsv} for {@code level_1.txt}) and placed in {@code src/test/resources/parity}
+ * are replayed by the parity test.
+ * </p>
+ */
+public class FitnessRecorder {
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: FitnessRecorder <config.yaml> <output.tsv> [count]");
+            System.exit(1);
+        }
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        try {
+            GAConfig config = ConfigLoader.fromYaml(Path.of(args[0]));
+            Random random = new Random(config.getSeed());
+            Moves[] moves = Moves.values();
+
+            List<Individual> genomes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = random.nextInt(config.getMaxGenomeLength() - config.getMinGenomeLength() + 1) + config.getMinGenomeLength();
+                List<Byte> genome = new ArrayList<>(length);
+                for (int j = 0; j < length; j++) {
+                    genome.add(Moves.toByte(moves[random.nextInt(moves.length)]));
+                }
+                genomes.add(new Individual(genome));
+            }
+
+            List<Double> scores;
+            try (FitnessEvaluator fitnessEvaluator = FitnessEvaluatorFactory.createRemote(config.getEvaluatorConfig())) {
+                scores = fitnessEvaluator.evaluate(genomes);
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(Path.of(args[1]))) {
+                for (int i = 0; i < genomes.size(); i++) {
+                    writer.write(genomes.get(i).getGenomeString() + "\t" + scores.get(i) + "\n");
+                }
+            }
+            System.out.println("Recorded " + genomes.size() + " scores to " + args[1]);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -2,22 +2,70 @@ package be.brw;
 
 import be.brw.config.ConfigLoader;
 import be.brw.config.GAConfig;
+import be.brw.domain.FitnessEvaluator;
 import be.brw.domain.GeneticAlgorithm;
+import be.brw.domain.IslandRunner;
+import be.brw.infrastructure.FitnessEvaluatorFactory;
+import be.brw.infrastructure.IslandNode;
+import be.brw.infrastructure.ProgressLog;
+import be.brw.infrastructure.SolutionFile;
+import be.brw.metrics.MetricsMBean;
+import be.brw.metrics.MetricsRegistry;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Comparator;
 import java.util.List;
 
 public class Main {
+    /**
+     * @param args Optionally the path of the configuration file, e.g. a different one for every node of a distributed run.
+     */
     public static void main(String[] args) {
         try {
-            GAConfig config = ConfigLoader.fromYaml(Path.of("src/main/resources/config.yaml"));
+            GAConfig config = ConfigLoader.fromYaml(Path.of(args.length > 0 ? args[0] : "src/main/resources/config.yaml"));
             // System.out.println(config);
+            MetricsMBean.registerDefault();
 
-            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(config);
-            List<String> winners = geneticAlgorithm.runAlgorithm();
-            winners.sort(Comparator.comparingInt(String::length));
+            List<String> winners;
+            String shortest;
+            // Islands each stop for their own reason.
+            String stopReason = null;
+            // Only the coordinator of a distributed run knows the fittest genome of all nodes.
+            String globalBest = null;
+            // The log is closed, and so written out, before the summary below is printed.
+            try (ProgressLog log = ProgressLog.open(config.getLogConfig());
+                 SolutionFile solutionFile = SolutionFile.open(config.getLogConfig());
+                 FitnessEvaluator fitnessEvaluator = FitnessEvaluatorFactory.create(config.getEvaluatorConfig())) {
+                if (config.getIslandConfig().isDistributed()) {
+                    IslandNode node = new IslandNode(config, fitnessEvaluator);
+                    node.addListener(log);
+                    if (solutionFile != null) {
+                        node.addListener(solutionFile);
+                    }
+                    winners = node.run();
+                    shortest = node.getShortestSolution();
+                    if (node.getBestGenome() != null) {
+                        globalBest = node.getBestGenome() + " with fitness " + node.getBestFitness();
+                    }
+                } else if (config.getIslandConfig().isEnabled()) {
+                    IslandRunner runner = new IslandRunner(config, fitnessEvaluator);
+                    runner.addListener(log);
+                    if (solutionFile != null) {
+                        runner.addListener(solutionFile);
+                    }
+                    winners = runner.run();
+                    shortest = runner.getShortestSolution();
+                } else {
+                    GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(config, fitnessEvaluator);
+                    geneticAlgorithm.addListener(log);
+                    if (solutionFile != null) {
+                        geneticAlgorithm.addListener(solutionFile);
+                    }
+                    winners = geneticAlgorithm.runAlgorithm();
+                    shortest = geneticAlgorithm.getShortestSolution();
+                    stopReason = geneticAlgorithm.getStopReason();
+                }
+            }
             StringBuilder stringBuilder = new StringBuilder();
             for (String winner : winners) {
                 stringBuilder.append("\"");
@@ -25,17 +73,36 @@ public class Main {
                 stringBuilder.append("\"");
                 stringBuilder.append(" ");
             }
+            if (stopReason != null) {
+                System.out.println("Stopped on " + stopReason);
+            }
+            if (globalBest != null) {
+                System.out.println("Global best genome: " + globalBest);
+            }
             System.out.println(stringBuilder);
             if (!winners.isEmpty()) {
-                System.out.println("Found " + winners.size() + " solutions, shortest one is "  + winners.getFirst());
+                System.out.println("Found " + winners.size() + " solutions, shortest one is "  + shortest);
             }
             else {
                 System.out.println("No solutions found");
             }
+            printTimeSummary();
 
         } catch (IOException e) {
             System.err.println(e.getMessage());
             System.exit(1);
         }
     }
+
+    /**
+     * Prints where the run spent its time, to tell a run bound by the algorithm from one bound by the evaluator.
+     */
+    private static void printTimeSummary() {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        System.out.printf("Time spent: selection %.0f ms, crossover %.0f ms, mutation %.0f ms, evaluation %.0f ms%n",
+                metrics.timer("ga.selection").getTotalMillis(),
+                metrics.timer("ga.crossover").getTotalMillis(),
+                metrics.timer("ga.mutation").getTotalMillis(),
+                metrics.timer("ga.evaluation").getTotalMillis());
+    }
 }
@@ -0,0 +1,173 @@
+package be.brw;
+
+import be.brw.config.ConfigLoader;
+import be.brw.config.GAConfig;
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.GeneticAlgorithm;
+import be.brw.domain.Individual;
+import be.brw.infrastructure.FitnessEvaluatorFactory;
+import be.brw.infrastructure.ProgressLog;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a sweep of configurations, several at a time, and writes one result line per configuration.
+ * <p>
+ * At most {@code parallelism} configurations run at once. Configurations with the same evaluator
+ * settings share a single evaluator, and with it the HTTP connection pool and the score cache, for
+ * the whole sweep. Each line is written and flushed as soon as its configuration finishes, so the
+ * lines come in completion order.
+ * </p>
+ * <p>
+ * When resuming, the results file is appended to, and the configurations it already holds a result
+ * line for are skipped. Failed configurations are run again.
+ * </p>
+ * <p>
+ * Runs log their progress only when their configuration names a log file: the generations of
+ * concurrent runs would be of no use interleaved on the console.
+ * </p>
+ */
+public class SweepRunner {
+
+    private static final Pattern RESULT_LINE = Pattern.compile("^\\[(.+?)] Fitness=");
+
+    private final Path resultsFile;
+    private final int parallelism;
+    private final boolean resume;
+
+    /**
+     * Evaluators by evaluator settings; {@code EvaluatorConfig#toString()} lists every setting.
+     */
+    private final Map<String, FitnessEvaluator> evaluators = new ConcurrentHashMap<>();
+    private BufferedWriter writer;
+
+    /**
+     * @param resultsFile The file the result lines are written to.
+     * @param parallelism The maximum number of configurations running at once.
+     * @param resume Whether to skip the configurations the results file already holds a result for.
+     */
+    public SweepRunner(Path resultsFile, int parallelism, boolean resume) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+        }
+        this.resultsFile = resultsFile;
+        this.parallelism = parallelism;
+        this.resume = resume;
+    }
+
+    /**
+     * Runs the configurations and waits until they are all done.
+     *
+     * @param configs The configuration files.
+     * @throws IOException if the results file cannot be read or written.
+     */
+    public void run(List<Path> configs) throws IOException {
+        boolean append = resume && Files.exists(resultsFile);
+        Set<String> done = append ? completedConfigs(resultsFile) : Set.of();
+        List<Path> todo = new ArrayList<>();
+        for (Path config : configs) {
+            if (!done.contains(config.getFileName().toString())) {
+                todo.add(config);
+            }
+        }
+
+        try (BufferedWriter out = append
+                ? Files.newBufferedWriter(resultsFile, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(resultsFile)) {
+            writer = out;
+            if (append) {
+                writeLine("Resumed at: " + LocalDateTime.now() + ", skipping " + (configs.size() - todo.size()) + " configs\n\n");
+            } else {
+                writeLine("===== Genetic Algorithm Benchmark =====\n");
+                writeLine("Started at: " + LocalDateTime.now() + "\n\n");
+            }
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+                for (Path config : todo) {
+                    executor.execute(() -> runConfig(config));
+                }
+            } finally {
+                for (FitnessEvaluator evaluator : evaluators.values()) {
+                    evaluator.close();
+                }
+                evaluators.clear();
+            }
+
+            writeLine("\n===== End of Benchmark =====\n");
+        }
+    }
+
+    /**
+     * @return The names of the configuration files the results file holds a result line for.
+     * @throws IOException if the file cannot be read.
+     */
+    static Set<String> completedConfigs(Path resultsFile) throws IOException {
+        Set<String> done = new HashSet<>();
+        for (String line : Files.readAllLines(resultsFile)) {
+            Matcher matcher = RESULT_LINE.matcher(line);
+            if (matcher.find()) {
+                done.add(matcher.group(1));
+            }
+        }
+        return done;
+    }
+
+    private void runConfig(Path configPath) {
+        String name = configPath.getFileName().toString();
+        try {
+            GAConfig config = ConfigLoader.fromYaml(configPath);
+            FitnessEvaluator evaluator = evaluators.computeIfAbsent(config.getEvaluatorConfig().toString(),
+                    settings -> FitnessEvaluatorFactory.create(config.getEvaluatorConfig()));
+            GeneticAlgorithm ga = new GeneticAlgorithm(config, evaluator);
+            List<String> result;
+            if (config.getLogConfig().hasFile()) {
+                try (ProgressLog log = ProgressLog.open(config.getLogConfig())) {
+                    ga.addListener(log);
+                    result = ga.runAlgorithm();
+                }
+            } else {
+                result = ga.runAlgorithm();
+            }
+            Individual fittest = ga.getFittest();
+
+            String line = String.format(
+                    "[%s] Fitness=%f  Genomes=%s  Generations=%d  Stop=%s%n",
+                    name,
+                    fittest == null ? Double.NaN : fittest.getFitness(),
+                    result.isEmpty() ? "none" : result.getFirst(),
+                    ga.getGenerationCount(),
+                    ga.getStopReason()
+            );
+            writeLine(line);
+            System.out.print(line);
+        } catch (Exception e) {
+            String line = String.format("[%s] FAILED: %s%n", name, e.getMessage());
+            try {
+                writeLine(line);
+            } catch (IOException ignored) {
+                // Reported below.
+            }
+            System.err.print(line);
+        }
+    }
+
+    private synchronized void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.flush();
+    }
+}
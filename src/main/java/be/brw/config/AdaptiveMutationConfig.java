@@ -0,0 +1,90 @@
+package be.brw.config;
+
+/**
+ * Settings of adaptive mutation, read from the optional {@code adaptiveMutation} section of the YAML configuration.
+ * <p>
+ * When the share of distinct genomes of a generation drops below {@code minDiversity}, the
+ * population has converged: the mutation rate of the next generation is multiplied by
+ * {@code boostFactor}, up to {@code maxMutationRate}, and a {@code restartFraction} of it is bred
+ * as new random genomes instead of children. Once diversity is back, the rate is divided by
+ * {@code boostFactor} again every generation, down to the configured {@code mutationRate}.
+ * A {@code minDiversity} of 0 turns adaptive mutation off.
+ * </p>
+ */
+public class AdaptiveMutationConfig {
+
+    public static final double DEFAULT_MIN_DIVERSITY = 0.0;
+    public static final double DEFAULT_MAX_MUTATION_RATE = 1.0;
+    public static final double DEFAULT_BOOST_FACTOR = 2.0;
+    public static final double DEFAULT_RESTART_FRACTION = 0.1;
+
+    /**
+     * The share of distinct genomes, between 0 and 1, below which the population has converged.
+     */
+    private final double minDiversity;
+    private final double maxMutationRate;
+    private final double boostFactor;
+    /**
+     * The share of the population replaced by random genomes in a generation after a converged one.
+     */
+    private final double restartFraction;
+
+    public AdaptiveMutationConfig(double minDiversity, double maxMutationRate, double boostFactor, double restartFraction) {
+        if (minDiversity < 0.0 || minDiversity > 1.0) {
+            throw new IllegalArgumentException("minDiversity must be between 0 and 1, was " + minDiversity);
+        }
+        if (maxMutationRate < 0.0 || maxMutationRate > 1.0) {
+            throw new IllegalArgumentException("maxMutationRate must be between 0 and 1, was " + maxMutationRate);
+        }
+        if (boostFactor < 1.0) {
+            throw new IllegalArgumentException("boostFactor must be at least 1, was " + boostFactor);
+        }
+        if (restartFraction < 0.0 || restartFraction > 1.0) {
+            throw new IllegalArgumentException("restartFraction must be between 0 and 1, was " + restartFraction);
+        }
+        this.minDiversity = minDiversity;
+        this.maxMutationRate = maxMutationRate;
+        this.boostFactor = boostFactor;
+        this.restartFraction = restartFraction;
+    }
+
+    /**
+     * @return The configuration used when the YAML file has no {@code adaptiveMutation} section: off.
+     */
+    public static AdaptiveMutationConfig defaults() {
+        return new AdaptiveMutationConfig(DEFAULT_MIN_DIVERSITY, DEFAULT_MAX_MUTATION_RATE, DEFAULT_BOOST_FACTOR, DEFAULT_RESTART_FRACTION);
+    }
+
+    /**
+     * @return Whether the mutation rate adapts to the diversity of the population.
+     */
+    public boolean isEnabled() {
+        return minDiversity > 0.0;
+    }
+
+    public double getMinDiversity() {
+        return minDiversity;
+    }
+
+    public double getMaxMutationRate() {
+        return maxMutationRate;
+    }
+
+    public double getBoostFactor() {
+        return boostFactor;
+    }
+
+    public double getRestartFraction() {
+        return restartFraction;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveMutationConfig{" +
+                "minDiversity=" + minDiversity +
+                ", maxMutationRate=" + maxMutationRate +
+                ", boostFactor=" + boostFactor +
+                ", restartFraction=" + restartFraction +
+                '}';
+    }
+}
@@ -7,6 +7,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 public class ConfigLoader {
@@ -63,27 +64,185 @@ public class ConfigLoader {
 
             int maxSolutions = Integer.parseInt(obj.get("maxSolutions").toString());
 
-            return new GAConfig(
-                    seed,
-                    solution,
-                    minGenomeLength,
-                    maxGenomeLength,
-                    maxGeneration,
-                    populationSize,
-                    selectionStrategy,
-                    tournamentSize,
-                    mutationTargetStrategy,
-                    mutationRate,
-                    bitFlipRate,
-                    bitAddRate,
-                    bitRemoveRate,
-                    crossoverStrategy,
-                    crossoverRate,
-                    crossoverLeftoverStrategy,
-                    lengthPunishingStrategy,
-                    lengthPunishingFactor,
-                    maxSolutions
-            );
+            EvaluatorConfig evaluatorConfig = evaluatorFromYaml(section(obj, "evaluator"));
+            ExecutionConfig executionConfig = executionFromYaml(section(obj, "execution"));
+            IslandConfig islandConfig = islandsFromYaml(section(obj, "islands"));
+            LogConfig logConfig = logFromYaml(section(obj, "log"));
+            TerminationConfig terminationConfig = terminationFromYaml(section(obj, "termination"));
+            AdaptiveMutationConfig adaptiveMutationConfig = adaptiveMutationFromYaml(section(obj, "adaptiveMutation"));
+
+            return GAConfig.builder()
+                    .seed(seed)
+                    .solution(solution)
+                    .minGenomeLength(minGenomeLength)
+                    .maxGenomeLength(maxGenomeLength)
+                    .maxGeneration(maxGeneration)
+                    .populationSize(populationSize)
+                    .selectionStrategy(selectionStrategy)
+                    .tournamentSize(tournamentSize)
+                    .mutationTargetStrategy(mutationTargetStrategy)
+                    .mutationRate(mutationRate)
+                    .bitFlipRate(bitFlipRate)
+                    .bitAddRate(bitAddRate)
+                    .bitRemoveRate(bitRemoveRate)
+                    .crossoverStrategy(crossoverStrategy)
+                    .crossoverRate(crossoverRate)
+                    .crossoverLeftoverStrategy(crossoverLeftoverStrategy)
+                    .lengthPunishingStrategy(lengthPunishingStrategy)
+                    .lengthPunishingFactor(lengthPunishingFactor)
+                    .maxSolutions(maxSolutions)
+                    .evaluatorConfig(evaluatorConfig)
+                    .executionConfig(executionConfig)
+                    .islandConfig(islandConfig)
+                    .logConfig(logConfig)
+                    .terminationConfig(terminationConfig)
+                    .adaptiveMutationConfig(adaptiveMutationConfig)
+                    .build();
+        }
+    }
+
+    /**
+     * Reads the optional {@code evaluator} section, falling back to the defaults of {@link EvaluatorConfig}.
+     */
+    private static EvaluatorConfig evaluatorFromYaml(Map<String, Object> obj) {
+        return new EvaluatorConfig(
+                EvaluatorType.valueOf(stringOrDefault(obj, "type", EvaluatorConfig.DEFAULT_TYPE.name())),
+                stringOrDefault(obj, "level", EvaluatorConfig.DEFAULT_LEVEL),
+                stringOrDefault(obj, "endpoint", EvaluatorConfig.DEFAULT_ENDPOINT),
+                intOrDefault(obj, "connectTimeoutMs", EvaluatorConfig.DEFAULT_CONNECT_TIMEOUT_MS),
+                intOrDefault(obj, "requestTimeoutMs", EvaluatorConfig.DEFAULT_REQUEST_TIMEOUT_MS),
+                intOrDefault(obj, "poolSize", EvaluatorConfig.DEFAULT_POOL_SIZE),
+                intOrDefault(obj, "cacheSize", EvaluatorConfig.DEFAULT_CACHE_SIZE),
+                longOrDefault(obj, "cacheMaxBytes", EvaluatorConfig.DEFAULT_CACHE_MAX_BYTES),
+                intOrDefault(obj, "chunkSize", EvaluatorConfig.DEFAULT_CHUNK_SIZE),
+                intOrDefault(obj, "maxInFlight", EvaluatorConfig.DEFAULT_MAX_IN_FLIGHT),
+                intOrDefault(obj, "maxRetries", EvaluatorConfig.DEFAULT_MAX_RETRIES),
+                intOrDefault(obj, "retryBackoffMs", EvaluatorConfig.DEFAULT_RETRY_BACKOFF_MS),
+                stringListOrEmpty(obj, "endpoints"),
+                RoutingStrategy.valueOf(stringOrDefault(obj, "routing", EvaluatorConfig.DEFAULT_ROUTING.name())),
+                doubleOrDefault(obj, "ejectionErrorRate", EvaluatorConfig.DEFAULT_EJECTION_ERROR_RATE),
+                intOrDefault(obj, "ejectionMinRequests", EvaluatorConfig.DEFAULT_EJECTION_MIN_REQUESTS),
+                intOrDefault(obj, "ejectionMs", EvaluatorConfig.DEFAULT_EJECTION_MS),
+                WireProtocol.valueOf(stringOrDefault(obj, "protocol", EvaluatorConfig.DEFAULT_PROTOCOL.name())),
+                intOrDefault(obj, "snapshotInterval", EvaluatorConfig.DEFAULT_SNAPSHOT_INTERVAL),
+                longOrDefault(obj, "prefixCacheMaxBytes", EvaluatorConfig.DEFAULT_PREFIX_CACHE_MAX_BYTES)
+        );
+    }
+
+    /**
+     * Reads the optional {@code execution} section, falling back to the defaults of {@link ExecutionConfig}.
+     */
+    private static ExecutionConfig executionFromYaml(Map<String, Object> obj) {
+        return new ExecutionConfig(
+                intOrDefault(obj, "pipelineChunkSize", ExecutionConfig.DEFAULT_PIPELINE_CHUNK_SIZE),
+                PopulationStorage.valueOf(stringOrDefault(obj, "storage", ExecutionConfig.DEFAULT_STORAGE.name())),
+                stringOrDefault(obj, "storageDirectory", ExecutionConfig.DEFAULT_STORAGE_DIRECTORY),
+                booleanOrDefault(obj, "resume", ExecutionConfig.DEFAULT_RESUME),
+                intOrDefault(obj, "breedingThreads", ExecutionConfig.DEFAULT_BREEDING_THREADS),
+                intOrDefault(obj, "checkpointInterval", ExecutionConfig.DEFAULT_CHECKPOINT_INTERVAL),
+                stringOrDefault(obj, "checkpointDirectory", ExecutionConfig.DEFAULT_CHECKPOINT_DIRECTORY)
+        );
+    }
+
+    /**
+     * Reads the optional {@code islands} section, falling back to the defaults of {@link IslandConfig}.
+     */
+    private static IslandConfig islandsFromYaml(Map<String, Object> obj) {
+        return new IslandConfig(
+                intOrDefault(obj, "islands", IslandConfig.DEFAULT_ISLANDS),
+                intOrDefault(obj, "migrationInterval", IslandConfig.DEFAULT_MIGRATION_INTERVAL),
+                intOrDefault(obj, "migrationSize", IslandConfig.DEFAULT_MIGRATION_SIZE),
+                MigrationTopology.valueOf(stringOrDefault(obj, "topology", IslandConfig.DEFAULT_TOPOLOGY.name())),
+                stringListOrEmpty(obj, "nodes"),
+                intOrDefault(obj, "nodeId", IslandConfig.DEFAULT_NODE_ID),
+                intOrDefault(obj, "connectTimeoutMs", IslandConfig.DEFAULT_CONNECT_TIMEOUT_MS),
+                intOrDefault(obj, "resultTimeoutMs", IslandConfig.DEFAULT_RESULT_TIMEOUT_MS)
+        );
+    }
+
+    /**
+     * Reads the optional {@code log} section, falling back to the defaults of {@link LogConfig}.
+     */
+    private static LogConfig logFromYaml(Map<String, Object> obj) {
+        return new LogConfig(
+                LogFormat.valueOf(stringOrDefault(obj, "format", LogConfig.DEFAULT_FORMAT.name())),
+                stringOrDefault(obj, "file", LogConfig.DEFAULT_FILE),
+                intOrDefault(obj, "sampleEvery", LogConfig.DEFAULT_SAMPLE_EVERY),
+                booleanOrDefault(obj, "onImprovement", LogConfig.DEFAULT_ON_IMPROVEMENT),
+                intOrDefault(obj, "bufferSize", LogConfig.DEFAULT_BUFFER_SIZE),
+                stringOrDefault(obj, "solutionsFile", LogConfig.DEFAULT_SOLUTIONS_FILE)
+        );
+    }
+
+    /**
+     * Reads the optional {@code termination} section, falling back to the defaults of {@link TerminationConfig}.
+     */
+    private static TerminationConfig terminationFromYaml(Map<String, Object> obj) {
+        return new TerminationConfig(
+                intOrDefault(obj, "stagnationGenerations", TerminationConfig.DEFAULT_STAGNATION_GENERATIONS),
+                doubleOrDefault(obj, "minDiversity", TerminationConfig.DEFAULT_MIN_DIVERSITY),
+                longOrDefault(obj, "maxWallClockMs", TerminationConfig.DEFAULT_MAX_WALL_CLOCK_MS),
+                longOrDefault(obj, "maxEvaluations", TerminationConfig.DEFAULT_MAX_EVALUATIONS)
+        );
+    }
+
+    /**
+     * Reads the optional {@code adaptiveMutation} section, falling back to the defaults of {@link AdaptiveMutationConfig}.
+     */
+    private static AdaptiveMutationConfig adaptiveMutationFromYaml(Map<String, Object> obj) {
+        return new AdaptiveMutationConfig(
+                doubleOrDefault(obj, "minDiversity", AdaptiveMutationConfig.DEFAULT_MIN_DIVERSITY),
+                doubleOrDefault(obj, "maxMutationRate", AdaptiveMutationConfig.DEFAULT_MAX_MUTATION_RATE),
+                doubleOrDefault(obj, "boostFactor", AdaptiveMutationConfig.DEFAULT_BOOST_FACTOR),
+                doubleOrDefault(obj, "restartFraction", AdaptiveMutationConfig.DEFAULT_RESTART_FRACTION)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> section(Map<String, Object> obj, String key) {
+        Object value = obj.get(key);
+        if (value == null) {
+            return Map.of();
         }
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("'" + key + "' must be a section, got: " + value);
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static String stringOrDefault(Map<String, Object> obj, String key, String defaultValue) {
+        Object value = obj.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    private static int intOrDefault(Map<String, Object> obj, String key, int defaultValue) {
+        Object value = obj.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString());
+    }
+
+    private static double doubleOrDefault(Map<String, Object> obj, String key, double defaultValue) {
+        Object value = obj.get(key);
+        return value == null ? defaultValue : Double.parseDouble(value.toString());
+    }
+
+    private static List<String> stringListOrEmpty(Map<String, Object> obj, String key) {
+        Object value = obj.get(key);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException("'" + key + "' must be a list, got: " + value);
+        }
+        return list.stream().map(Object::toString).toList();
+    }
+
+    private static long longOrDefault(Map<String, Object> obj, String key, long defaultValue) {
+        Object value = obj.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.toString());
+    }
+
+    private static boolean booleanOrDefault(Map<String, Object> obj, String key, boolean defaultValue) {
+        Object value = obj.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.toString());
     }
 }
@@ -0,0 +1,307 @@
+package be.brw.config;
+
+import java.util.List;
+
+/**
+ * Settings of the fitness evaluator used during a run.
+ * <p>
+ * These are read from the optional {@code evaluator} section of the YAML configuration.
+ * Every setting has a default, so configurations without that section keep evaluating
+ * against the local fitness service on {@code http://localhost:8000}.
+ * </p>
+ */
+public class EvaluatorConfig {
+
+    public static final EvaluatorType DEFAULT_TYPE = EvaluatorType.REMOTE;
+    public static final String DEFAULT_LEVEL = "src/main/resources/levels/level_1.txt";
+    public static final String DEFAULT_ENDPOINT = "http://localhost:8000";
+    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 5_000;
+    public static final int DEFAULT_REQUEST_TIMEOUT_MS = 60_000;
+    public static final int DEFAULT_POOL_SIZE = 0;
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+    public static final long DEFAULT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 0;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final int DEFAULT_RETRY_BACKOFF_MS = 200;
+    public static final RoutingStrategy DEFAULT_ROUTING = RoutingStrategy.LEAST_OUTSTANDING;
+    public static final double DEFAULT_EJECTION_ERROR_RATE = 0.5;
+    public static final int DEFAULT_EJECTION_MIN_REQUESTS = 5;
+    public static final int DEFAULT_EJECTION_MS = 10_000;
+    public static final WireProtocol DEFAULT_PROTOCOL = WireProtocol.JSON;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+    public static final long DEFAULT_PREFIX_CACHE_MAX_BYTES = 0;
+
+    private final EvaluatorType type;
+    /**
+     * Path of the level file played by the {@link EvaluatorType#LOCAL} evaluator.
+     */
+    private final String level;
+    /**
+     * Base URL of the fitness service, without the {@code /evaluate} path.
+     */
+    private final String endpoint;
+    private final int connectTimeoutMs;
+    private final int requestTimeoutMs;
+    /**
+     * Number of threads handling the HTTP client's I/O, 0 to use the client's default executor.
+     */
+    private final int poolSize;
+    /**
+     * Maximum number of cached genome scores, 0 to disable the cache.
+     */
+    private final int cacheSize;
+    private final long cacheMaxBytes;
+    /**
+     * Maximum number of genomes sent in one request, 0 to send a whole batch in a single request.
+     */
+    private final int chunkSize;
+    /**
+     * Maximum number of requests in flight at the same time, per evaluator.
+     */
+    private final int maxInFlight;
+    /**
+     * Number of times a chunk is sent again after a transport failure or an unavailable service.
+     */
+    private final int maxRetries;
+    /**
+     * Delay before the first retry of a chunk, doubled for every following retry.
+     */
+    private final int retryBackoffMs;
+
+    // Sharding
+    /**
+     * Base URLs of several instances of the fitness service, or empty to only use {@link #endpoint}.
+     */
+    private final List<String> endpoints;
+    private final RoutingStrategy routing;
+    /**
+     * Fraction of failed requests above which an instance is taken out of rotation.
+     */
+    private final double ejectionErrorRate;
+    /**
+     * Minimum number of requests an instance must have served before its error rate is trusted.
+     */
+    private final int ejectionMinRequests;
+    /**
+     * How long an unhealthy instance stays out of rotation before it is tried again.
+     */
+    private final int ejectionMs;
+
+    private final WireProtocol protocol;
+
+    // Local evaluation
+    /**
+     * Number of genes between two snapshots of an individual's game, 0 to always play genomes in full.
+     */
+    private final int snapshotInterval;
+    /**
+     * Memory budget of the game states shared by all genomes with the same prefix, 0 to not share them.
+     */
+    private final long prefixCacheMaxBytes;
+
+    public EvaluatorConfig(String endpoint, int connectTimeoutMs, int requestTimeoutMs, int poolSize, int cacheSize, long cacheMaxBytes, int chunkSize, int maxInFlight, int maxRetries, int retryBackoffMs) {
+        this(DEFAULT_TYPE, DEFAULT_LEVEL, endpoint, connectTimeoutMs, requestTimeoutMs, poolSize, cacheSize, cacheMaxBytes, chunkSize, maxInFlight, maxRetries, retryBackoffMs,
+                List.of(), DEFAULT_ROUTING, DEFAULT_EJECTION_ERROR_RATE, DEFAULT_EJECTION_MIN_REQUESTS, DEFAULT_EJECTION_MS, DEFAULT_PROTOCOL);
+    }
+
+    public EvaluatorConfig(EvaluatorType type, String level, String endpoint, int connectTimeoutMs, int requestTimeoutMs, int poolSize, int cacheSize, long cacheMaxBytes, int chunkSize, int maxInFlight, int maxRetries, int retryBackoffMs, List<String> endpoints, RoutingStrategy routing, double ejectionErrorRate, int ejectionMinRequests, int ejectionMs, WireProtocol protocol) {
+        this(type, level, endpoint, connectTimeoutMs, requestTimeoutMs, poolSize, cacheSize, cacheMaxBytes, chunkSize, maxInFlight, maxRetries, retryBackoffMs,
+                endpoints, routing, ejectionErrorRate, ejectionMinRequests, ejectionMs, protocol, DEFAULT_SNAPSHOT_INTERVAL, DEFAULT_PREFIX_CACHE_MAX_BYTES);
+    }
+
+    public EvaluatorConfig(EvaluatorType type, String level, String endpoint, int connectTimeoutMs, int requestTimeoutMs, int poolSize, int cacheSize, long cacheMaxBytes, int chunkSize, int maxInFlight, int maxRetries, int retryBackoffMs, List<String> endpoints, RoutingStrategy routing, double ejectionErrorRate, int ejectionMinRequests, int ejectionMs, WireProtocol protocol, int snapshotInterval, long prefixCacheMaxBytes) {
+        this.type = type;
+        this.level = level;
+        this.endpoint = endpoint;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.poolSize = poolSize;
+        this.cacheSize = cacheSize;
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.endpoints = List.copyOf(endpoints);
+        this.routing = routing;
+        this.ejectionErrorRate = ejectionErrorRate;
+        this.ejectionMinRequests = ejectionMinRequests;
+        this.ejectionMs = ejectionMs;
+        this.protocol = protocol;
+        this.snapshotInterval = snapshotInterval;
+        this.prefixCacheMaxBytes = prefixCacheMaxBytes;
+    }
+
+    /**
+     * @return The configuration used when the YAML file has no {@code evaluator} section.
+     */
+    public static EvaluatorConfig defaults() {
+        return new EvaluatorConfig(
+                DEFAULT_ENDPOINT,
+                DEFAULT_CONNECT_TIMEOUT_MS,
+                DEFAULT_REQUEST_TIMEOUT_MS,
+                DEFAULT_POOL_SIZE,
+                DEFAULT_CACHE_SIZE,
+                DEFAULT_CACHE_MAX_BYTES,
+                DEFAULT_CHUNK_SIZE,
+                DEFAULT_MAX_IN_FLIGHT,
+                DEFAULT_MAX_RETRIES,
+                DEFAULT_RETRY_BACKOFF_MS
+        );
+    }
+
+    /**
+     * @param endpoint The base URL of the fitness service.
+     * @return The default configuration pointing to the given service.
+     */
+    public static EvaluatorConfig forEndpoint(String endpoint) {
+        return defaults().withEndpoint(endpoint, DEFAULT_MAX_RETRIES);
+    }
+
+    /**
+     * Returns a copy of this configuration for a single instance of the service, as used by
+     * every shard of a sharded evaluator.
+     *
+     * @param endpoint The base URL of the instance.
+     * @param maxRetries The number of retries against that same instance.
+     * @return A configuration with only the given endpoint.
+     */
+    public EvaluatorConfig withEndpoint(String endpoint, int maxRetries) {
+        return new EvaluatorConfig(
+                type,
+                level,
+                endpoint,
+                connectTimeoutMs,
+                requestTimeoutMs,
+                poolSize,
+                cacheSize,
+                cacheMaxBytes,
+                chunkSize,
+                maxInFlight,
+                maxRetries,
+                retryBackoffMs,
+                List.of(),
+                routing,
+                ejectionErrorRate,
+                ejectionMinRequests,
+                ejectionMs,
+                protocol,
+                snapshotInterval,
+                prefixCacheMaxBytes
+        );
+    }
+
+    public EvaluatorType getType() {
+        return type;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public int getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public int getRetryBackoffMs() {
+        return retryBackoffMs;
+    }
+
+    /**
+     * @return The base URLs of every configured instance of the service, at least {@link #getEndpoint()}.
+     */
+    public List<String> getEndpoints() {
+        return endpoints.isEmpty() ? List.of(endpoint) : endpoints;
+    }
+
+    public boolean isSharded() {
+        return getEndpoints().size() > 1;
+    }
+
+    public RoutingStrategy getRouting() {
+        return routing;
+    }
+
+    public double getEjectionErrorRate() {
+        return ejectionErrorRate;
+    }
+
+    public int getEjectionMinRequests() {
+        return ejectionMinRequests;
+    }
+
+    public int getEjectionMs() {
+        return ejectionMs;
+    }
+
+    public WireProtocol getProtocol() {
+        return protocol;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public long getPrefixCacheMaxBytes() {
+        return prefixCacheMaxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluatorConfig{" +
+                "type=" + type +
+                ", level='" + level + '\'' +
+                ", endpoint='" + endpoint + '\'' +
+                ", connectTimeoutMs=" + connectTimeoutMs +
+                ", requestTimeoutMs=" + requestTimeoutMs +
+                ", poolSize=" + poolSize +
+                ", cacheSize=" + cacheSize +
+                ", cacheMaxBytes=" + cacheMaxBytes +
+                ", chunkSize=" + chunkSize +
+                ", maxInFlight=" + maxInFlight +
+                ", maxRetries=" + maxRetries +
+                ", retryBackoffMs=" + retryBackoffMs +
+                ", endpoints=" + endpoints +
+                ", routing=" + routing +
+                ", ejectionErrorRate=" + ejectionErrorRate +
+                ", ejectionMinRequests=" + ejectionMinRequests +
+                ", ejectionMs=" + ejectionMs +
+                ", protocol=" + protocol +
+                ", snapshotInterval=" + snapshotInterval +
+                ", prefixCacheMaxBytes=" + prefixCacheMaxBytes +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package be.brw.config;
+
+/**
+ * Where fitness scores come from.
+ */
+public enum EvaluatorType {
+    /**
+     * The HTTP fitness service, on one or several endpoints.
+     */
+    REMOTE,
+    /**
+     * The in-process game simulator, playing the level file given by {@code evaluator.level}.
+     * A stand-in game with made-up rules, not the game of the fitness service; see {@code GameSimulator}.
+     */
+    LOCAL
+}
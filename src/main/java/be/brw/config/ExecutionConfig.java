@@ -0,0 +1,140 @@
+package be.brw.config;
+
+/**
+ * Settings controlling how a run is executed, as opposed to what the algorithm does.
+ * <p>
+ * These are read from the optional {@code execution} section of the YAML configuration.
+ * They change the wall-clock behaviour of a run but not the way individuals are bred, with the
+ * exception of {@code breedingThreads}: parallel breeding draws from one random stream per thread,
+ * so a run is reproducible for a given seed and number of breeding threads.
+ * </p>
+ * <p>
+ * With a {@code checkpointInterval}, the state of a run is saved every so many generations, and a
+ * run with {@code resume} continues from the latest checkpoint exactly as the saved run would have.
+ * </p>
+ */
+public class ExecutionConfig {
+
+    public static final int DEFAULT_PIPELINE_CHUNK_SIZE = 0;
+    public static final PopulationStorage DEFAULT_STORAGE = PopulationStorage.OBJECTS;
+    public static final String DEFAULT_STORAGE_DIRECTORY = "target/population";
+    public static final boolean DEFAULT_RESUME = false;
+    public static final int DEFAULT_BREEDING_THREADS = 1;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 0;
+    public static final String DEFAULT_CHECKPOINT_DIRECTORY = "target/checkpoints";
+
+    /**
+     * Number of children sent to the evaluator at once while the rest of the generation is
+     * still being bred, 0 to evaluate the whole generation after breeding.
+     */
+    private final int pipelineChunkSize;
+    private final PopulationStorage storage;
+    /**
+     * Directory of the files backing a {@link PopulationStorage#MAPPED} population.
+     */
+    private final String storageDirectory;
+    /**
+     * Whether a run continues from the latest checkpoint in {@link #checkpointDirectory}, or else,
+     * for a {@link PopulationStorage#MAPPED} run, from the files left by a previous run.
+     */
+    private final boolean resume;
+    /**
+     * Number of threads breeding the children of a generation, 1 to breed on the calling thread.
+     * Only {@link PopulationStorage#OBJECTS} runs breed in parallel.
+     */
+    private final int breedingThreads;
+    /**
+     * Every how many generations the state of the run is saved, 0 never to save it.
+     */
+    private final int checkpointInterval;
+    /**
+     * Directory of the checkpoint of the run; concurrent runs need one each.
+     */
+    private final String checkpointDirectory;
+
+    public ExecutionConfig(int pipelineChunkSize) {
+        this(pipelineChunkSize, DEFAULT_STORAGE);
+    }
+
+    public ExecutionConfig(int pipelineChunkSize, PopulationStorage storage) {
+        this(pipelineChunkSize, storage, DEFAULT_STORAGE_DIRECTORY, DEFAULT_RESUME);
+    }
+
+    public ExecutionConfig(int pipelineChunkSize, PopulationStorage storage, String storageDirectory, boolean resume) {
+        this(pipelineChunkSize, storage, storageDirectory, resume, DEFAULT_BREEDING_THREADS);
+    }
+
+    public ExecutionConfig(int pipelineChunkSize, PopulationStorage storage, String storageDirectory, boolean resume, int breedingThreads) {
+        this(pipelineChunkSize, storage, storageDirectory, resume, breedingThreads, DEFAULT_CHECKPOINT_INTERVAL, DEFAULT_CHECKPOINT_DIRECTORY);
+    }
+
+    public ExecutionConfig(int pipelineChunkSize, PopulationStorage storage, String storageDirectory, boolean resume, int breedingThreads,
+                           int checkpointInterval, String checkpointDirectory) {
+        if (breedingThreads < 1) {
+            throw new IllegalArgumentException("breedingThreads must be at least 1, was " + breedingThreads);
+        }
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("checkpointInterval must not be negative, was " + checkpointInterval);
+        }
+        this.pipelineChunkSize = pipelineChunkSize;
+        this.storage = storage;
+        this.storageDirectory = storageDirectory;
+        this.resume = resume;
+        this.breedingThreads = breedingThreads;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
+    /**
+     * @return The configuration used when the YAML file has no {@code execution} section.
+     */
+    public static ExecutionConfig defaults() {
+        return new ExecutionConfig(DEFAULT_PIPELINE_CHUNK_SIZE, DEFAULT_STORAGE, DEFAULT_STORAGE_DIRECTORY, DEFAULT_RESUME, DEFAULT_BREEDING_THREADS,
+                DEFAULT_CHECKPOINT_INTERVAL, DEFAULT_CHECKPOINT_DIRECTORY);
+    }
+
+    public int getPipelineChunkSize() {
+        return pipelineChunkSize;
+    }
+
+    public boolean isPipelined() {
+        return pipelineChunkSize > 0;
+    }
+
+    public PopulationStorage getStorage() {
+        return storage;
+    }
+
+    public String getStorageDirectory() {
+        return storageDirectory;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public int getBreedingThreads() {
+        return breedingThreads;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public String getCheckpointDirectory() {
+        return checkpointDirectory;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionConfig{" +
+                "pipelineChunkSize=" + pipelineChunkSize +
+                ", storage=" + storage +
+                ", storageDirectory='" + storageDirectory + '\'' +
+                ", resume=" + resume +
+                ", breedingThreads=" + breedingThreads +
+                ", checkpointInterval=" + checkpointInterval +
+                ", checkpointDirectory='" + checkpointDirectory + '\'' +
+                '}';
+    }
+}
@@ -5,6 +5,7 @@ import be.brw.domain.strategy.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public class GAConfig {
 
@@ -39,26 +40,96 @@ public class GAConfig {
     private final double lengthPunishingFactor;
     private final int maxSolutions;
 
-    public GAConfig(int seed, byte[] solution, int minGenomeLength, int maxGenomeLength, int maxGeneration, int populationSize, SelectionStrategy selectionStrategy, int tournamentSize, MutationTargetStrategy mutationTargetStrategy, double mutationRate, double bitFlipRate, double bitAddRate, double bitRemoveRate, CrossoverStrategy crossoverStrategy, double crossoverRate, CrossoverLeftoverStrategy crossoverLeftoverStrategy, LengthPunishingStrategy lengthPunishingStrategy, double lengthPunishingFactor, int maxSolutions) {
-        this.seed = seed;
-        this.solution = solution;
-        this.minGenomeLength = minGenomeLength;
-        this.maxGenomeLength = maxGenomeLength;
-        this.maxGeneration = maxGeneration;
-        this.populationSize = populationSize;
-        this.selectionStrategy = selectionStrategy;
-        this.tournamentSize =  tournamentSize;
-        this.mutationTargetStrategy = mutationTargetStrategy;
-        this.mutationRate = mutationRate;
-        this.bitFlipRate = bitFlipRate;
-        this.bitAddRate = bitAddRate;
-        this.bitRemoveRate = bitRemoveRate;
-        this.crossoverStrategy = crossoverStrategy;
-        this.crossoverRate = crossoverRate;
-        this.crossoverLeftoverStrategy = crossoverLeftoverStrategy;
-        this.lengthPunishingStrategy = lengthPunishingStrategy;
-        this.lengthPunishingFactor = lengthPunishingFactor;
-        this.maxSolutions = maxSolutions;
+    // Evaluator
+    private final EvaluatorConfig evaluatorConfig;
+
+    // Execution
+    private final ExecutionConfig executionConfig;
+
+    // Islands
+    private final IslandConfig islandConfig;
+
+    // Log
+    private final LogConfig logConfig;
+    private final TerminationConfig terminationConfig;
+    private final AdaptiveMutationConfig adaptiveMutationConfig;
+
+    private GAConfig(Builder builder) {
+        this.seed = builder.seed;
+        this.solution = builder.solution;
+        this.minGenomeLength = builder.minGenomeLength;
+        this.maxGenomeLength = builder.maxGenomeLength;
+        this.maxGeneration = builder.maxGeneration;
+        this.populationSize = builder.populationSize;
+        this.selectionStrategy = builder.selectionStrategy;
+        this.tournamentSize = builder.tournamentSize;
+        this.mutationTargetStrategy = builder.mutationTargetStrategy;
+        this.mutationRate = builder.mutationRate;
+        this.bitFlipRate = builder.bitFlipRate;
+        this.bitAddRate = builder.bitAddRate;
+        this.bitRemoveRate = builder.bitRemoveRate;
+        this.crossoverStrategy = builder.crossoverStrategy;
+        this.crossoverRate = builder.crossoverRate;
+        this.crossoverLeftoverStrategy = builder.crossoverLeftoverStrategy;
+        this.lengthPunishingStrategy = builder.lengthPunishingStrategy;
+        this.lengthPunishingFactor = builder.lengthPunishingFactor;
+        this.maxSolutions = builder.maxSolutions;
+        this.evaluatorConfig = builder.evaluatorConfig;
+        this.executionConfig = builder.executionConfig;
+        this.islandConfig = builder.islandConfig;
+        this.logConfig = builder.logConfig;
+        this.terminationConfig = builder.terminationConfig;
+        this.adaptiveMutationConfig = builder.adaptiveMutationConfig;
+    }
+
+    /**
+     * @return A builder without settings, except for the sections of the YAML configuration, which start as their defaults.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A builder starting from the settings of this configuration.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.seed = seed;
+        builder.solution = solution;
+        builder.minGenomeLength = minGenomeLength;
+        builder.maxGenomeLength = maxGenomeLength;
+        builder.maxGeneration = maxGeneration;
+        builder.populationSize = populationSize;
+        builder.selectionStrategy = selectionStrategy;
+        builder.tournamentSize = tournamentSize;
+        builder.mutationTargetStrategy = mutationTargetStrategy;
+        builder.mutationRate = mutationRate;
+        builder.bitFlipRate = bitFlipRate;
+        builder.bitAddRate = bitAddRate;
+        builder.bitRemoveRate = bitRemoveRate;
+        builder.crossoverStrategy = crossoverStrategy;
+        builder.crossoverRate = crossoverRate;
+        builder.crossoverLeftoverStrategy = crossoverLeftoverStrategy;
+        builder.lengthPunishingStrategy = lengthPunishingStrategy;
+        builder.lengthPunishingFactor = lengthPunishingFactor;
+        builder.maxSolutions = maxSolutions;
+        builder.evaluatorConfig = evaluatorConfig;
+        builder.executionConfig = executionConfig;
+        builder.islandConfig = islandConfig;
+        builder.logConfig = logConfig;
+        builder.terminationConfig = terminationConfig;
+        builder.adaptiveMutationConfig = adaptiveMutationConfig;
+        return builder;
+    }
+
+    /**
+     * Returns a copy of this configuration with another seed, as used by every island of an island run.
+     *
+     * @param seed The seed of the copy.
+     * @return The copy.
+     */
+    public GAConfig withSeed(int seed) {
+        return toBuilder().seed(seed).build();
     }
 
     public int getSeed(){
@@ -137,6 +208,30 @@ public class GAConfig {
 
     public int getMaxSolutions() { return maxSolutions; }
 
+    public EvaluatorConfig getEvaluatorConfig() {
+        return evaluatorConfig;
+    }
+
+    public ExecutionConfig getExecutionConfig() {
+        return executionConfig;
+    }
+
+    public IslandConfig getIslandConfig() {
+        return islandConfig;
+    }
+
+    public LogConfig getLogConfig() {
+        return logConfig;
+    }
+
+    public TerminationConfig getTerminationConfig() {
+        return terminationConfig;
+    }
+
+    public AdaptiveMutationConfig getAdaptiveMutationConfig() {
+        return adaptiveMutationConfig;
+    }
+
     @Override
     public String toString() {
         return "GAConfig{" +
@@ -159,6 +254,193 @@ public class GAConfig {
                 ", lengthPunishingStrategy=" + lengthPunishingStrategy +
                 ", lengthPunishingFactor=" + lengthPunishingFactor +
                 ", maxSolutions=" + maxSolutions +
+                ", evaluatorConfig=" + evaluatorConfig +
+                ", executionConfig=" + executionConfig +
+                ", islandConfig=" + islandConfig +
+                ", logConfig=" + logConfig +
+                ", terminationConfig=" + terminationConfig +
+                ", adaptiveMutationConfig=" + adaptiveMutationConfig +
                 '}';
     }
+
+    /**
+     * Builds a {@link GAConfig}. Every setting of the top level of the YAML configuration must be
+     * set; its optional sections start as their {@code defaults()}.
+     */
+    public static final class Builder {
+
+        private int seed;
+        private byte[] solution;
+        private int minGenomeLength;
+        private int maxGenomeLength;
+        private int maxGeneration;
+        private int populationSize;
+        private SelectionStrategy selectionStrategy;
+        private int tournamentSize;
+        private MutationTargetStrategy mutationTargetStrategy;
+        private double mutationRate;
+        private double bitFlipRate;
+        private double bitAddRate;
+        private double bitRemoveRate;
+        private CrossoverStrategy crossoverStrategy;
+        private double crossoverRate;
+        private CrossoverLeftoverStrategy crossoverLeftoverStrategy;
+        private LengthPunishingStrategy lengthPunishingStrategy;
+        private double lengthPunishingFactor;
+        private int maxSolutions;
+        private EvaluatorConfig evaluatorConfig = EvaluatorConfig.defaults();
+        private ExecutionConfig executionConfig = ExecutionConfig.defaults();
+        private IslandConfig islandConfig = IslandConfig.defaults();
+        private LogConfig logConfig = LogConfig.defaults();
+        private TerminationConfig terminationConfig = TerminationConfig.defaults();
+        private AdaptiveMutationConfig adaptiveMutationConfig = AdaptiveMutationConfig.defaults();
+
+        private Builder() {
+        }
+
+        public Builder seed(int seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder solution(byte[] solution) {
+            this.solution = solution;
+            return this;
+        }
+
+        public Builder minGenomeLength(int minGenomeLength) {
+            this.minGenomeLength = minGenomeLength;
+            return this;
+        }
+
+        public Builder maxGenomeLength(int maxGenomeLength) {
+            this.maxGenomeLength = maxGenomeLength;
+            return this;
+        }
+
+        public Builder maxGeneration(int maxGeneration) {
+            this.maxGeneration = maxGeneration;
+            return this;
+        }
+
+        public Builder populationSize(int populationSize) {
+            this.populationSize = populationSize;
+            return this;
+        }
+
+        public Builder selectionStrategy(SelectionStrategy selectionStrategy) {
+            this.selectionStrategy = selectionStrategy;
+            return this;
+        }
+
+        public Builder tournamentSize(int tournamentSize) {
+            this.tournamentSize = tournamentSize;
+            return this;
+        }
+
+        public Builder mutationTargetStrategy(MutationTargetStrategy mutationTargetStrategy) {
+            this.mutationTargetStrategy = mutationTargetStrategy;
+            return this;
+        }
+
+        public Builder mutationRate(double mutationRate) {
+            this.mutationRate = mutationRate;
+            return this;
+        }
+
+        public Builder bitFlipRate(double bitFlipRate) {
+            this.bitFlipRate = bitFlipRate;
+            return this;
+        }
+
+        public Builder bitAddRate(double bitAddRate) {
+            this.bitAddRate = bitAddRate;
+            return this;
+        }
+
+        public Builder bitRemoveRate(double bitRemoveRate) {
+            this.bitRemoveRate = bitRemoveRate;
+            return this;
+        }
+
+        public Builder crossoverStrategy(CrossoverStrategy crossoverStrategy) {
+            this.crossoverStrategy = crossoverStrategy;
+            return this;
+        }
+
+        public Builder crossoverRate(double crossoverRate) {
+            this.crossoverRate = crossoverRate;
+            return this;
+        }
+
+        public Builder crossoverLeftoverStrategy(CrossoverLeftoverStrategy crossoverLeftoverStrategy) {
+            this.crossoverLeftoverStrategy = crossoverLeftoverStrategy;
+            return this;
+        }
+
+        public Builder lengthPunishingStrategy(LengthPunishingStrategy lengthPunishingStrategy) {
+            this.lengthPunishingStrategy = lengthPunishingStrategy;
+            return this;
+        }
+
+        public Builder lengthPunishingFactor(double lengthPunishingFactor) {
+            this.lengthPunishingFactor = lengthPunishingFactor;
+            return this;
+        }
+
+        public Builder maxSolutions(int maxSolutions) {
+            this.maxSolutions = maxSolutions;
+            return this;
+        }
+
+        public Builder evaluatorConfig(EvaluatorConfig evaluatorConfig) {
+            this.evaluatorConfig = evaluatorConfig;
+            return this;
+        }
+
+        public Builder executionConfig(ExecutionConfig executionConfig) {
+            this.executionConfig = executionConfig;
+            return this;
+        }
+
+        public Builder islandConfig(IslandConfig islandConfig) {
+            this.islandConfig = islandConfig;
+            return this;
+        }
+
+        public Builder logConfig(LogConfig logConfig) {
+            this.logConfig = logConfig;
+            return this;
+        }
+
+        public Builder terminationConfig(TerminationConfig terminationConfig) {
+            this.terminationConfig = terminationConfig;
+            return this;
+        }
+
+        public Builder adaptiveMutationConfig(AdaptiveMutationConfig adaptiveMutationConfig) {
+            this.adaptiveMutationConfig = adaptiveMutationConfig;
+            return this;
+        }
+
+        /**
+         * @return The configuration.
+         * @throws NullPointerException if the solution, a strategy or a section is missing.
+         */
+        public GAConfig build() {
+            Objects.requireNonNull(solution, "solution");
+            Objects.requireNonNull(selectionStrategy, "selectionStrategy");
+            Objects.requireNonNull(mutationTargetStrategy, "mutationTargetStrategy");
+            Objects.requireNonNull(crossoverStrategy, "crossoverStrategy");
+            Objects.requireNonNull(crossoverLeftoverStrategy, "crossoverLeftoverStrategy");
+            Objects.requireNonNull(lengthPunishingStrategy, "lengthPunishingStrategy");
+            Objects.requireNonNull(evaluatorConfig, "evaluatorConfig");
+            Objects.requireNonNull(executionConfig, "executionConfig");
+            Objects.requireNonNull(islandConfig, "islandConfig");
+            Objects.requireNonNull(logConfig, "logConfig");
+            Objects.requireNonNull(terminationConfig, "terminationConfig");
+            Objects.requireNonNull(adaptiveMutationConfig, "adaptiveMutationConfig");
+            return new GAConfig(this);
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package be.brw.config;
+
+import be.brw.domain.strategy.MigrationTopology;
+
+import java.util.List;
+
+/**
+ * Settings of the island model, read from the optional {@code islands} section of the YAML configuration.
+ * <p>
+ * With more than one island, the population is split in as many subpopulations of
+ * {@code populationSize} individuals each, evolving on their own threads. Every
+ * {@code migrationInterval} generations each island sends copies of its {@code migrationSize}
+ * fittest individuals to the islands given by the topology, where they replace the least fit.
+ * </p>
+ * <p>
+ * With a list of {@code nodes}, the run is distributed: every process runs {@code islands} islands,
+ * listens on the address at index {@code nodeId} and exchanges migrants with the other nodes over
+ * TCP. Node 0 is the coordinator and gathers the solutions of all nodes.
+ * </p>
+ */
+public class IslandConfig {
+
+    public static final int DEFAULT_ISLANDS = 1;
+    public static final int DEFAULT_MIGRATION_INTERVAL = 10;
+    public static final int DEFAULT_MIGRATION_SIZE = 2;
+    public static final MigrationTopology DEFAULT_TOPOLOGY = MigrationTopology.RING;
+    public static final int DEFAULT_NODE_ID = 0;
+    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 2000;
+    public static final int DEFAULT_RESULT_TIMEOUT_MS = 60000;
+
+    private final int islands;
+    private final int migrationInterval;
+    private final int migrationSize;
+    private final MigrationTopology topology;
+    /**
+     * The {@code host:port} of every node of a distributed run, empty to run in a single process.
+     */
+    private final List<String> nodes;
+    /**
+     * The index of this process in {@link #nodes}.
+     */
+    private final int nodeId;
+    private final int connectTimeoutMs;
+    /**
+     * How long the coordinator waits for the results of the other nodes once its own islands are done.
+     */
+    private final int resultTimeoutMs;
+
+    public IslandConfig(int islands, int migrationInterval, int migrationSize, MigrationTopology topology) {
+        this(islands, migrationInterval, migrationSize, topology, List.of(), DEFAULT_NODE_ID, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_RESULT_TIMEOUT_MS);
+    }
+
+    public IslandConfig(int islands, int migrationInterval, int migrationSize, MigrationTopology topology, List<String> nodes, int nodeId, int connectTimeoutMs, int resultTimeoutMs) {
+        if (islands < 1) {
+            throw new IllegalArgumentException("islands must be at least 1, was " + islands);
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("migrationInterval must be at least 1, was " + migrationInterval);
+        }
+        if (!nodes.isEmpty() && (nodeId < 0 || nodeId >= nodes.size())) {
+            throw new IllegalArgumentException("nodeId must be the index of this node in nodes, was " + nodeId);
+        }
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+        this.migrationSize = migrationSize;
+        this.topology = topology;
+        this.nodes = List.copyOf(nodes);
+        this.nodeId = nodeId;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.resultTimeoutMs = resultTimeoutMs;
+    }
+
+    /**
+     * @return The configuration used when the YAML file has no {@code islands} section: a single population.
+     */
+    public static IslandConfig defaults() {
+        return new IslandConfig(DEFAULT_ISLANDS, DEFAULT_MIGRATION_INTERVAL, DEFAULT_MIGRATION_SIZE, DEFAULT_TOPOLOGY,
+                List.of(), DEFAULT_NODE_ID, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_RESULT_TIMEOUT_MS);
+    }
+
+    public int getIslands() {
+        return islands;
+    }
+
+    /**
+     * @return Whether the run is split in several islands, in this process or over several.
+     */
+    public boolean isEnabled() {
+        return islands > 1 || isDistributed();
+    }
+
+    /**
+     * @return Whether the islands are spread over several processes.
+     */
+    public boolean isDistributed() {
+        return nodes.size() > 1;
+    }
+
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public int getMigrationSize() {
+        return migrationSize;
+    }
+
+    public MigrationTopology getTopology() {
+        return topology;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public int getResultTimeoutMs() {
+        return resultTimeoutMs;
+    }
+
+    @Override
+    public String toString() {
+        return "IslandConfig{" +
+                "islands=" + islands +
+                ", migrationInterval=" + migrationInterval +
+                ", migrationSize=" + migrationSize +
+                ", topology=" + topology +
+                ", nodes=" + nodes +
+                ", nodeId=" + nodeId +
+                ", connectTimeoutMs=" + connectTimeoutMs +
+                ", resultTimeoutMs=" + resultTimeoutMs +
+                '}';
+    }
+}
@@ -0,0 +1,125 @@
+package be.brw.config;
+
+/**
+ * Settings of the progress log, read from the optional {@code log} section of the YAML configuration.
+ * <p>
+ * The progress of a run, its solutions and its result are written by a background thread, so a
+ * slow console or disk never holds up the generations. Generations are sampled: every
+ * {@code sampleEvery}-th of them is logged, and with {@code onImprovement} also every generation
+ * that raised the best fitness of the run. Solutions and results are always logged.
+ * </p>
+ * <p>
+ * Events wait for the writer in a buffer of {@code bufferSize} entries. When it is full,
+ * generations are dropped rather than waited for; solutions and results wait.
+ * </p>
+ * <p>
+ * Apart from the log, every distinct solution can be written to {@code solutionsFile} as soon as
+ * it is found, one genome per line, so the solutions of a run that is cut short are kept.
+ * </p>
+ */
+public class LogConfig {
+
+    public static final LogFormat DEFAULT_FORMAT = LogFormat.TEXT;
+    public static final String DEFAULT_FILE = "";
+    public static final int DEFAULT_SAMPLE_EVERY = 1;
+    public static final boolean DEFAULT_ON_IMPROVEMENT = false;
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+    public static final String DEFAULT_SOLUTIONS_FILE = "";
+
+    private final LogFormat format;
+    /**
+     * The file the log is written to, empty for the standard output.
+     */
+    private final String file;
+    /**
+     * Every how many generations one is logged, 0 to log none but those selected by {@link #onImprovement}.
+     */
+    private final int sampleEvery;
+    /**
+     * Whether the generations that raised the best fitness of the run are logged as well.
+     */
+    private final boolean onImprovement;
+    private final int bufferSize;
+    /**
+     * The file the solutions are written to as they are found, empty for none.
+     */
+    private final String solutionsFile;
+
+    public LogConfig(LogFormat format, String file, int sampleEvery, boolean onImprovement, int bufferSize) {
+        this(format, file, sampleEvery, onImprovement, bufferSize, DEFAULT_SOLUTIONS_FILE);
+    }
+
+    public LogConfig(LogFormat format, String file, int sampleEvery, boolean onImprovement, int bufferSize,
+                     String solutionsFile) {
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("sampleEvery must not be negative, was " + sampleEvery);
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1, was " + bufferSize);
+        }
+        this.format = format;
+        this.file = file;
+        this.sampleEvery = sampleEvery;
+        this.onImprovement = onImprovement;
+        this.bufferSize = bufferSize;
+        this.solutionsFile = solutionsFile;
+    }
+
+    /**
+     * @return The configuration used when the YAML file has no {@code log} section: every generation, as text, on the console.
+     */
+    public static LogConfig defaults() {
+        return new LogConfig(DEFAULT_FORMAT, DEFAULT_FILE, DEFAULT_SAMPLE_EVERY, DEFAULT_ON_IMPROVEMENT, DEFAULT_BUFFER_SIZE,
+                DEFAULT_SOLUTIONS_FILE);
+    }
+
+    public LogFormat getFormat() {
+        return format;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * @return Whether the log goes to a file rather than to the standard output.
+     */
+    public boolean hasFile() {
+        return !file.isEmpty();
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public boolean isOnImprovement() {
+        return onImprovement;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public String getSolutionsFile() {
+        return solutionsFile;
+    }
+
+    /**
+     * @return Whether solutions are written to a file as they are found.
+     */
+    public boolean hasSolutionsFile() {
+        return !solutionsFile.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "LogConfig{" +
+                "format=" + format +
+                ", file='" + file + '\'' +
+                ", sampleEvery=" + sampleEvery +
+                ", onImprovement=" + onImprovement +
+                ", bufferSize=" + bufferSize +
+                ", solutionsFile='" + solutionsFile + '\'' +
+                '}';
+    }
+}
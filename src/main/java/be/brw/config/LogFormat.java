@@ -0,0 +1,19 @@
+package be.brw.config;
+
+/**
+ * The format of the progress log of a run.
+ */
+public enum LogFormat {
+    /**
+     * Sentences for a person watching the console.
+     */
+    TEXT,
+    /**
+     * One comma-separated row per event after a header row, the same columns for every kind of event.
+     */
+    CSV,
+    /**
+     * One JSON object per event and per line.
+     */
+    JSONL
+}
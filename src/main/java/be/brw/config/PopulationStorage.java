@@ -0,0 +1,21 @@
+package be.brw.config;
+
+/**
+ * How the individuals of a run are stored between generations.
+ */
+public enum PopulationStorage {
+    /**
+     * One {@link be.brw.domain.Individual} object per individual, with a new population every generation.
+     */
+    OBJECTS,
+    /**
+     * Two {@link be.brw.domain.PopulationArena}s used alternately as current and next generation,
+     * so a steady-state generation does not allocate.
+     */
+    ARENA,
+    /**
+     * Like {@link #ARENA}, but in two memory-mapped files, so the population can outgrow the heap
+     * and the run can be resumed from the last complete generation.
+     */
+    MAPPED
+}
@@ -0,0 +1,15 @@
+package be.brw.config;
+
+/**
+ * How a sharded evaluator picks the service instance that receives the next chunk of genomes.
+ */
+public enum RoutingStrategy {
+    /**
+     * The instance with the fewest requests in flight.
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * The instance with the lowest recent latency, weighted by its requests in flight.
+     */
+    LATENCY_WEIGHTED
+}
@@ -0,0 +1,86 @@
+package be.brw.config;
+
+/**
+ * Settings of early termination, read from the optional {@code termination} section of the YAML configuration.
+ * <p>
+ * Besides {@code maxGeneration} and {@code maxSolutions}, a run stops after the first generation that
+ * trips one of these policies: {@code stagnationGenerations} generations without a rise of the best
+ * fitness of the run, a share of distinct genomes below {@code minDiversity}, a wall-clock time of
+ * {@code maxWallClockMs}, or {@code maxEvaluations} evaluated individuals. A value of 0 turns a policy off.
+ * </p>
+ * <p>
+ * A run resumed from a checkpoint goes on counting evaluations and stagnant generations from where
+ * the checkpoint left them, but its wall clock starts again. A run resumed from the population files
+ * of a {@code MAPPED} store, without a checkpoint, starts all of them again.
+ * </p>
+ */
+public class TerminationConfig {
+
+    public static final int DEFAULT_STAGNATION_GENERATIONS = 0;
+    public static final double DEFAULT_MIN_DIVERSITY = 0.0;
+    public static final long DEFAULT_MAX_WALL_CLOCK_MS = 0;
+    public static final long DEFAULT_MAX_EVALUATIONS = 0;
+
+    private final int stagnationGenerations;
+    /**
+     * The share of distinct genomes, between 0 and 1, below which the population has collapsed.
+     */
+    private final double minDiversity;
+    private final long maxWallClockMs;
+    /**
+     * The number of individuals a run may evaluate, its initial population included.
+     */
+    private final long maxEvaluations;
+
+    public TerminationConfig(int stagnationGenerations, double minDiversity, long maxWallClockMs, long maxEvaluations) {
+        if (stagnationGenerations < 0) {
+            throw new IllegalArgumentException("stagnationGenerations must not be negative, was " + stagnationGenerations);
+        }
+        if (minDiversity < 0.0 || minDiversity > 1.0) {
+            throw new IllegalArgumentException("minDiversity must be between 0 and 1, was " + minDiversity);
+        }
+        if (maxWallClockMs < 0) {
+            throw new IllegalArgumentException("maxWallClockMs must not be negative, was " + maxWallClockMs);
+        }
+        if (maxEvaluations < 0) {
+            throw new IllegalArgumentException("maxEvaluations must not be negative, was " + maxEvaluations);
+        }
+        this.stagnationGenerations = stagnationGenerations;
+        this.minDiversity = minDiversity;
+        this.maxWallClockMs = maxWallClockMs;
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * @return The configuration used when the YAML file has no {@code termination} section: every policy off.
+     */
+    public static TerminationConfig defaults() {
+        return new TerminationConfig(DEFAULT_STAGNATION_GENERATIONS, DEFAULT_MIN_DIVERSITY, DEFAULT_MAX_WALL_CLOCK_MS, DEFAULT_MAX_EVALUATIONS);
+    }
+
+    public int getStagnationGenerations() {
+        return stagnationGenerations;
+    }
+
+    public double getMinDiversity() {
+        return minDiversity;
+    }
+
+    public long getMaxWallClockMs() {
+        return maxWallClockMs;
+    }
+
+    public long getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    @Override
+    public String toString() {
+        return "TerminationConfig{" +
+                "stagnationGenerations=" + stagnationGenerations +
+                ", minDiversity=" + minDiversity +
+                ", maxWallClockMs=" + maxWallClockMs +
+                ", maxEvaluations=" + maxEvaluations +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package be.brw.config;
+
+/**
+ * The encoding of the requests sent to the fitness service.
+ */
+public enum WireProtocol {
+    /**
+     * {@code {"solutions": [...]}} requests and {@code {"fitness_scores": [...]}} responses.
+     */
+    JSON,
+    /**
+     * Length-prefixed genomes packed at 3 bits per move, answered with raw little-endian doubles.
+     * Falls back to {@link #JSON} when the service does not accept it.
+     */
+    BINARY
+}
@@ -0,0 +1,171 @@
+package be.brw.domain;
+
+import be.brw.config.GAConfig;
+import be.brw.domain.strategy.CrossoverOperator;
+import be.brw.domain.strategy.LeftoverOperator;
+import be.brw.domain.strategy.Recombination;
+
+import java.util.Random;
+
+/**
+ * Selection, crossover and mutation working on {@link PopulationStore}s.
+ * <p>
+ * These follow the operators of {@link GeneticAlgorithm} one for one, with the same
+ * {@link SelectionEngine} and crossover operators, but read and write genes in place and keep their working arrays
+ * between generations, so they do not allocate.
+ * Selections return indices into a buffer owned by this class, valid until the next call
+ * filling the same buffer.
+ * </p>
+ */
+class ArenaOperators {
+
+    private final GAConfig config;
+    private final Random random;
+
+    private final SelectionEngine selectionEngine;
+    private double[] poolFitness;
+    private int[] survivors;
+    private final int[] parents = new int[2];
+    private final CrossoverOperator crossoverOperator;
+    private final LeftoverOperator leftoverOperator;
+    private final StoreRecombination recombination = new StoreRecombination();
+
+    /**
+     * @param config The configuration of the run.
+     * @param random The random number generator of the run.
+     */
+    ArenaOperators(GAConfig config, Random random) {
+        this.config = config;
+        this.random = random;
+        this.selectionEngine = new SelectionEngine(config.getSelectionStrategy(), config.getTournamentSize(), random);
+        this.crossoverOperator = config.getCrossoverStrategy().operator();
+        this.leftoverOperator = config.getCrossoverLeftoverStrategy().operator();
+        int capacity = Math.max(2, config.getPopulationSize());
+        this.poolFitness = new double[capacity];
+        this.survivors = new int[capacity];
+    }
+
+    /**
+     * Selects the survivors of a generation.
+     *
+     * @return A buffer whose first {@code count} entries are the indices of the survivors.
+     */
+    int[] selectSurvivors(PopulationStore arena, int count) {
+        if (survivors.length < count) {
+            survivors = new int[count];
+        }
+        prepare(arena, arena.size());
+        selectionEngine.select(count, survivors);
+        return survivors;
+    }
+
+    /**
+     * Makes the first {@code poolSize} individuals of the arena the pool that {@link #selectParents()} draws from.
+     */
+    void prepareParents(PopulationStore arena, int poolSize) {
+        prepare(arena, poolSize);
+    }
+
+    /**
+     * Selects two parents from the pool given to {@link #prepareParents(PopulationStore, int)}.
+     *
+     * @return A buffer holding the indices of the two parents.
+     */
+    int[] selectParents() {
+        selectionEngine.select(2, parents);
+        return parents;
+    }
+
+    private void prepare(PopulationStore arena, int poolSize) {
+        if (poolFitness.length < poolSize) {
+            poolFitness = new double[poolSize];
+        }
+        for (int i = 0; i < poolSize; i++) {
+            poolFitness[i] = arena.fitness(i);
+        }
+        selectionEngine.prepare(poolFitness, poolSize);
+    }
+
+    /**
+     * Breeds a child of two individuals of the arena and appends it to the same arena.
+     *
+     * @see GeneticAlgorithm
+     */
+    void crossover(PopulationStore arena, int first, int second) {
+        int len1 = arena.length(first);
+        int len2 = arena.length(second);
+
+        // Guard clause: fallback to a copy of the fittest parent for very short genomes.
+        if (len1 <= 1 || len2 <= 1) {
+            int fittest = arena.fitness(first) > arena.fitness(second) ? first : second;
+            int child = arena.begin();
+            arena.append(arena, fittest, 0, arena.length(fittest));
+            arena.setFitness(child, arena.fitness(fittest));
+            return;
+        }
+
+        arena.begin();
+        recombination.reset(arena, first, second).breed(crossoverOperator, leftoverOperator, random);
+    }
+
+    /**
+     * Applies one ADD, REMOVE or FLIP mutation to the last individual of the arena, in place.
+     *
+     * @see GeneticAlgorithm
+     */
+    void mutateLast(PopulationStore arena) {
+        int individual = arena.size() - 1;
+        int randomGeneIndex = random.nextInt(arena.length(individual));
+
+        double pick = random.nextDouble();
+        if (pick <= config.getBitAddRate()) {
+            arena.add(Moves.random(random));
+        } else if (pick <= config.getBitAddRate() + config.getBitRemoveRate()) {
+            if (arena.length(individual) > 1) {
+                arena.remove(randomGeneIndex);
+            }
+        } else {
+            arena.set(randomGeneIndex, Moves.randomOtherThan(arena.gene(individual, randomGeneIndex), random));
+        }
+    }
+
+    /**
+     * Two individuals of a store being recombined into a child appended to the same store.
+     */
+    private static final class StoreRecombination implements Recombination {
+        private PopulationStore arena;
+        private final int[] parents = new int[2];
+
+        StoreRecombination reset(PopulationStore arena, int first, int second) {
+            this.arena = arena;
+            parents[FIRST] = first;
+            parents[SECOND] = second;
+            return this;
+        }
+
+        @Override
+        public int length(int parent) {
+            return arena.length(parents[parent]);
+        }
+
+        @Override
+        public byte gene(int parent, int index) {
+            return arena.gene(parents[parent], index);
+        }
+
+        @Override
+        public double fitness(int parent) {
+            return arena.fitness(parents[parent]);
+        }
+
+        @Override
+        public void append(int parent, int from, int to) {
+            arena.append(arena, parents[parent], from, to);
+        }
+
+        @Override
+        public void add(byte gene) {
+            arena.add(gene);
+        }
+    }
+}
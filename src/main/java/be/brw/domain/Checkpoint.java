@@ -0,0 +1,381 @@
+package be.brw.domain;
+
+import be.brw.domain.strategy.AdaptiveMutationController;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The state of a run at the start of a generation: everything needed to go on exactly as the run would have.
+ * <p>
+ * That is the evaluated population, the state of the random streams of the run and of its
+ * breeders, the state of its {@link AdaptiveMutationController}, the best fitness so far and the
+ * generation that reached it, the number of individuals evaluated so far, and the solutions found
+ * so far. The genes of all individuals
+ * are copied into one array when the checkpoint is taken, so the run can go on changing its
+ * population while the checkpoint is written.
+ * </p>
+ * <p>
+ * On disk, a checkpoint is a big-endian binary file ending with a CRC-32 of its content. Genes are
+ * packed at 3 bits per move when every gene is a move, as by the binary wire format. A file is
+ * written next to its final name, forced to disk and then renamed over the previous checkpoint,
+ * so a crash leaves either the old checkpoint or the new one.
+ * </p>
+ */
+final class Checkpoint {
+
+    private static final int MAGIC = 0x47414350; // "GACP"
+    private static final int VERSION = 3;
+    private static final int BITS_PER_MOVE = 3;
+
+    final int generation;
+    final long randomState;
+    final long[] breederSeeds;
+    final long[] breederGammas;
+    final double mutationRate;
+    final boolean converged;
+    final double bestFitnessOverall;
+    /**
+     * The generation that raised the best fitness to {@link #bestFitnessOverall}.
+     */
+    final int improvedAt;
+    /**
+     * The number of individuals the run evaluated before this generation, its initial population included.
+     */
+    final long evaluations;
+    final List<String> winners;
+    private final double[] fitness;
+    private final int[] lengths;
+    private final byte[] genes;
+
+    private Checkpoint(int generation, long randomState, long[] breederSeeds, long[] breederGammas, double mutationRate, boolean converged,
+                       double bestFitnessOverall, int improvedAt, long evaluations, List<String> winners,
+                       double[] fitness, int[] lengths, byte[] genes) {
+        this.generation = generation;
+        this.randomState = randomState;
+        this.breederSeeds = breederSeeds;
+        this.breederGammas = breederGammas;
+        this.mutationRate = mutationRate;
+        this.converged = converged;
+        this.bestFitnessOverall = bestFitnessOverall;
+        this.improvedAt = improvedAt;
+        this.evaluations = evaluations;
+        this.winners = List.copyOf(winners);
+        this.fitness = fitness;
+        this.lengths = lengths;
+        this.genes = genes;
+    }
+
+    /**
+     * Takes a checkpoint of a population of {@link Individual}s.
+     *
+     * @param breeders The random streams of the breeders, in order; may be empty.
+     * @param mutation The controller of the mutation rate of the run.
+     * @param improvedAt The generation that raised the best fitness to {@code bestFitnessOverall}.
+     * @param evaluations The number of individuals the run evaluated so far.
+     */
+    static Checkpoint of(int generation, StatefulRandom random, StatefulSplitMix[] breeders, AdaptiveMutationController mutation,
+                         double bestFitnessOverall, int improvedAt, long evaluations, List<String> winners,
+                         List<Individual> population) {
+        int size = population.size();
+        double[] fitness = new double[size];
+        int[] lengths = new int[size];
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            Individual individual = population.get(i);
+            fitness[i] = individual.getFitness();
+            lengths[i] = individual.getGenomeLength();
+            total += lengths[i];
+        }
+        byte[] genes = new byte[total];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            population.get(i).getGenes().copyTo(genes, offset);
+            offset += lengths[i];
+        }
+        return of(generation, random, breeders, mutation, bestFitnessOverall, improvedAt, evaluations, winners, fitness, lengths, genes);
+    }
+
+    /**
+     * Takes a checkpoint of a population held by a {@link PopulationStore}.
+     */
+    static Checkpoint of(int generation, StatefulRandom random, StatefulSplitMix[] breeders, AdaptiveMutationController mutation,
+                         double bestFitnessOverall, int improvedAt, long evaluations, List<String> winners,
+                         PopulationStore population) {
+        int size = population.size();
+        double[] fitness = new double[size];
+        int[] lengths = new int[size];
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            fitness[i] = population.fitness(i);
+            lengths[i] = population.length(i);
+            total += lengths[i];
+        }
+        byte[] genes = new byte[total];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            population.copyGenes(i, genes, offset);
+            offset += lengths[i];
+        }
+        return of(generation, random, breeders, mutation, bestFitnessOverall, improvedAt, evaluations, winners, fitness, lengths, genes);
+    }
+
+    private static Checkpoint of(int generation, StatefulRandom random, StatefulSplitMix[] breeders, AdaptiveMutationController mutation,
+                                 double bestFitnessOverall, int improvedAt, long evaluations, List<String> winners,
+                                 double[] fitness, int[] lengths, byte[] genes) {
+        long[] seeds = new long[breeders.length];
+        long[] gammas = new long[breeders.length];
+        for (int w = 0; w < breeders.length; w++) {
+            seeds[w] = breeders[w].getSeed();
+            gammas[w] = breeders[w].getGamma();
+        }
+        return new Checkpoint(generation, random.getState(), seeds, gammas, mutation.getMutationRate(), mutation.isConverged(),
+                bestFitnessOverall, improvedAt, evaluations, winners, fitness, lengths, genes);
+    }
+
+    /**
+     * Restores the state of the controller of the mutation rate of a run.
+     */
+    void restore(AdaptiveMutationController mutation) {
+        mutation.restore(mutationRate, converged);
+    }
+
+    /**
+     * @return The number of individuals.
+     */
+    int size() {
+        return fitness.length;
+    }
+
+    /**
+     * Restores the random streams of a run.
+     *
+     * @throws IllegalStateException if the checkpoint was taken with another number of breeders.
+     */
+    void restore(StatefulRandom random, StatefulSplitMix[] breeders) {
+        if (breeders.length != breederSeeds.length) {
+            throw new IllegalStateException("The checkpoint was taken with " + Math.max(1, breederSeeds.length)
+                    + " breeding threads, the run has " + Math.max(1, breeders.length));
+        }
+        random.setState(randomState);
+        for (int w = 0; w < breeders.length; w++) {
+            breeders[w].setState(breederSeeds[w], breederGammas[w]);
+        }
+    }
+
+    /**
+     * @return The population as new, scored individuals.
+     */
+    List<Individual> individuals() {
+        List<Individual> individuals = new ArrayList<>(size());
+        int offset = 0;
+        for (int i = 0; i < size(); i++) {
+            individuals.add(new Individual(Genome.of(Arrays.copyOfRange(genes, offset, offset + lengths[i])), fitness[i]));
+            offset += lengths[i];
+        }
+        return individuals;
+    }
+
+    /**
+     * Replaces the content of a store with the population.
+     */
+    void fill(PopulationStore store) {
+        store.clear();
+        int offset = 0;
+        for (int i = 0; i < size(); i++) {
+            int index = store.begin();
+            for (int j = 0; j < lengths[i]; j++) {
+                store.add(genes[offset + j]);
+            }
+            store.setFitness(index, fitness[i]);
+            offset += lengths[i];
+        }
+    }
+
+    /**
+     * Writes the checkpoint, replacing the file atomically.
+     *
+     * @param file The file of the checkpoint.
+     * @throws IOException if the checkpoint cannot be written; the previous one is then left untouched.
+     */
+    void write(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            writeContent(out);
+            out.flush();
+            out.writeLong(crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #write(Path)}.
+     *
+     * @throws IOException if the file cannot be read, or is not a complete checkpoint.
+     */
+    static Checkpoint read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < Long.BYTES) {
+            throw new IOException("Truncated checkpoint " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        in.skipNBytes(bytes.length - Long.BYTES);
+        if (in.readLong() != crc.getValue()) {
+            throw new IOException("Corrupt checkpoint " + file);
+        }
+        in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a checkpoint: " + file);
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Checkpoint " + file + " has version " + version + ", this version reads " + VERSION);
+        }
+
+        int generation = in.readInt();
+        long randomState = in.readLong();
+        int breeders = in.readInt();
+        long[] seeds = new long[breeders];
+        long[] gammas = new long[breeders];
+        for (int w = 0; w < breeders; w++) {
+            seeds[w] = in.readLong();
+            gammas[w] = in.readLong();
+        }
+        double mutationRate = in.readDouble();
+        boolean converged = in.readBoolean();
+        double bestFitnessOverall = in.readDouble();
+        int improvedAt = in.readInt();
+        long evaluations = in.readLong();
+        int winnerCount = in.readInt();
+        List<String> winners = new ArrayList<>(winnerCount);
+        for (int i = 0; i < winnerCount; i++) {
+            winners.add(new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8));
+        }
+
+        int size = in.readInt();
+        boolean packed = in.readBoolean();
+        double[] fitness = new double[size];
+        int[] lengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            fitness[i] = in.readDouble();
+            lengths[i] = in.readInt();
+        }
+        byte[] genes = new byte[in.readInt()];
+        if (packed) {
+            unpack(in.readNBytes(packedLength(genes.length)), genes);
+        } else {
+            in.readFully(genes);
+        }
+        return new Checkpoint(generation, randomState, seeds, gammas, mutationRate, converged, bestFitnessOverall, improvedAt,
+                evaluations, winners, fitness, lengths, genes);
+    }
+
+    private void writeContent(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(generation);
+        out.writeLong(randomState);
+        out.writeInt(breederSeeds.length);
+        for (int w = 0; w < breederSeeds.length; w++) {
+            out.writeLong(breederSeeds[w]);
+            out.writeLong(breederGammas[w]);
+        }
+        out.writeDouble(mutationRate);
+        out.writeBoolean(converged);
+        out.writeDouble(bestFitnessOverall);
+        out.writeInt(improvedAt);
+        out.writeLong(evaluations);
+        out.writeInt(winners.size());
+        for (String winner : winners) {
+            byte[] text = winner.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(text.length);
+            out.write(text);
+        }
+
+        out.writeInt(size());
+        byte[] packed = pack(genes);
+        out.writeBoolean(packed != null);
+        for (int i = 0; i < size(); i++) {
+            out.writeDouble(fitness[i]);
+            out.writeInt(lengths[i]);
+        }
+        out.writeInt(genes.length);
+        out.write(packed != null ? packed : genes);
+    }
+
+    /**
+     * @return The genes packed at {@link #BITS_PER_MOVE} bits each, or {@code null} if a gene is not a move.
+     */
+    private static byte[] pack(byte[] genes) {
+        byte[] packed = new byte[packedLength(genes.length)];
+        int bits = 0;
+        int pending = 0;
+        int position = 0;
+        for (byte gene : genes) {
+            int code = Moves.toCode(gene);
+            if (code < 0) {
+                return null;
+            }
+            bits |= code << pending;
+            pending += BITS_PER_MOVE;
+            if (pending >= Byte.SIZE) {
+                packed[position++] = (byte) bits;
+                bits >>>= Byte.SIZE;
+                pending -= Byte.SIZE;
+            }
+        }
+        if (pending > 0) {
+            packed[position] = (byte) bits;
+        }
+        return packed;
+    }
+
+    private static void unpack(byte[] packed, byte[] genes) throws IOException {
+        if (packed.length != packedLength(genes.length)) {
+            throw new IOException("Truncated checkpoint genes");
+        }
+        int bits = 0;
+        int pending = 0;
+        int position = 0;
+        for (int i = 0; i < genes.length; i++) {
+            if (pending < BITS_PER_MOVE) {
+                bits |= (packed[position++] & 0xFF) << pending;
+                pending += Byte.SIZE;
+            }
+            int code = bits & ((1 << BITS_PER_MOVE) - 1);
+            if (code >= Moves.count()) {
+                throw new IOException("Invalid move code " + code + " in checkpoint");
+            }
+            genes[i] = Moves.fromCode(code);
+            bits >>>= BITS_PER_MOVE;
+            pending -= BITS_PER_MOVE;
+        }
+    }
+
+    private static int packedLength(int genes) {
+        return (int) (((long) genes * BITS_PER_MOVE + Byte.SIZE - 1) / Byte.SIZE);
+    }
+}
@@ -0,0 +1,110 @@
+package be.brw.domain;
+
+import be.brw.metrics.Counter;
+import be.brw.metrics.MetricsRegistry;
+import be.brw.metrics.Timer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes the {@link Checkpoint}s of a run on a background thread, to a single file of a directory.
+ * <p>
+ * At most one checkpoint is written at a time: a run that takes its next checkpoint while the
+ * previous one is still being written waits for it, so the file never lags more than one
+ * checkpoint behind the run. A checkpoint that cannot be written is reported and skipped, and the
+ * run goes on with the previous checkpoint on disk.
+ * </p>
+ */
+final class CheckpointWriter implements AutoCloseable {
+
+    static final String FILE_NAME = "checkpoint.bin";
+
+    private final Path file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Timer writes = MetricsRegistry.getDefault().timer("checkpoint.write");
+    private final Counter failures = MetricsRegistry.getDefault().counter("checkpoint.failures");
+    private Future<?> pending;
+
+    /**
+     * @param directory The directory of the checkpoint file, created if needed.
+     * @throws UncheckedIOException if the directory cannot be created.
+     */
+    CheckpointWriter(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create checkpoint directory " + directory, e);
+        }
+        this.file = directory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Reads the checkpoint of a directory, if there is one.
+     *
+     * @param directory The directory of the checkpoint file.
+     * @return The checkpoint, or {@code null} if the directory holds none.
+     * @throws UncheckedIOException if the checkpoint cannot be read.
+     */
+    static Checkpoint latest(Path directory) {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return Checkpoint.read(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * Writes a checkpoint in the background, once the previous one is written.
+     */
+    void submit(Checkpoint checkpoint) {
+        awaitPending();
+        pending = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                checkpoint.write(file);
+                writes.recordSince(start);
+            } catch (IOException e) {
+                failures.increment();
+                System.err.println("Could not write checkpoint of generation " + checkpoint.generation + " to " + file + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Waits until the last checkpoint is written.
+     */
+    @Override
+    public void close() {
+        awaitPending();
+        executor.shutdown();
+    }
+
+    private void awaitPending() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Checkpoint writer failed", e.getCause());
+        }
+        pending = null;
+    }
+}
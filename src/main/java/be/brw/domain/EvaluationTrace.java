@@ -0,0 +1,15 @@
+package be.brw.domain;
+
+/**
+ * What an evaluator remembers of the last evaluation of an {@link Individual}, so it can score
+ * the individual again without starting from scratch after its genome changed.
+ * <p>
+ * A trace is opaque to the algorithm: it is attached to an individual by the evaluator that made
+ * it, and handed from the first parent to a crossover child, which starts with the same genes.
+ * Traces are immutable, so one trace can be shared by several individuals. An evaluator must
+ * check that a trace still matches the genome before using it; a trace it does not recognize is
+ * ignored.
+ * </p>
+ */
+public interface EvaluationTrace {
+}
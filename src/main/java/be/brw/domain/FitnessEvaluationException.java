@@ -0,0 +1,19 @@
+package be.brw.domain;
+
+/**
+ * Thrown when fitness scores could not be obtained at all, e.g. because the fitness service
+ * stayed unreachable after every retry. Scoring the genomes as zero instead would silently
+ * throw away the progress of the run.
+ */
+public class FitnessEvaluationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FitnessEvaluationException(String message) {
+        super(message);
+    }
+
+    public FitnessEvaluationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
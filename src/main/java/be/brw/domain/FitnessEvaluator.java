@@ -1,8 +1,10 @@
 package be.brw.domain;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-public interface FitnessEvaluator {
+public interface FitnessEvaluator extends AutoCloseable {
     /**
      * Calculates and returns the fitness scores for a list of genomes.
      *
@@ -10,4 +12,62 @@ public interface FitnessEvaluator {
      * @return A list of fitness scores, one for each genome in the input list.
      */
     List<Double> evaluate(List<Individual> genomes);
+
+    /**
+     * Asynchronously calculates the fitness scores for a list of genomes.
+     * <p>
+     * The genomes must not be modified until the returned future completes. The default
+     * implementation runs {@link #evaluate(List)} on the common fork-join pool; evaluators
+     * backed by non-blocking I/O override it so no thread is parked while the request is in flight.
+     * </p>
+     *
+     * @param genomes A list of genomes to be evaluated.
+     * @return A future completed with one fitness score per genome, in input order.
+     */
+    default CompletableFuture<double[]> evaluateAsync(List<Individual> genomes) {
+        return CompletableFuture.supplyAsync(() -> toArray(evaluate(genomes)));
+    }
+
+    /**
+     * Scores every individual of a store and writes the scores back to it.
+     * <p>
+     * The default implementation copies the individuals out of the store and calls
+     * {@link #evaluate(List)}; evaluators able to read the genes in place override it
+     * so that evaluating a store does not allocate.
+     * </p>
+     *
+     * @param population The individuals to be evaluated.
+     */
+    default void evaluate(PopulationStore population) {
+        List<Individual> individuals = new ArrayList<>(population.size());
+        for (int i = 0; i < population.size(); i++) {
+            individuals.add(population.toIndividual(i));
+        }
+        List<Double> scores = evaluate(individuals);
+        for (int i = 0; i < scores.size(); i++) {
+            population.setFitness(i, scores.get(i));
+        }
+    }
+
+    /**
+     * Releases the resources (connections, threads, caches) held by this evaluator.
+     * An evaluator is meant to be created once and shared for a whole run.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Unboxes a list of fitness scores.
+     *
+     * @param scores The boxed scores.
+     * @return The scores as a primitive array.
+     */
+    static double[] toArray(List<Double> scores) {
+        double[] result = new double[scores.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = scores.get(i);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,216 @@
+package be.brw.domain;
+
+import be.brw.metrics.Counter;
+import be.brw.metrics.GenerationMetrics;
+import be.brw.metrics.Histogram;
+import be.brw.metrics.MetricsRegistry;
+import be.brw.metrics.Timer;
+
+import java.util.Arrays;
+
+/**
+ * Collects the {@link GenerationMetrics} of the generations of one run and reports them to a
+ * {@link MetricsRegistry}.
+ * <p>
+ * The run observes every individual of a generation, then times the phases of breeding the next
+ * one, and publishes. Phase times are kept in plain fields and only handed to the registry's
+ * timers once per generation, so the breeding loops do not contend on shared counters.
+ * </p>
+ * <p>
+ * Diversity is the share of distinct genome hashes, counted in an open-addressing table that is
+ * reused from one generation to the next: recording a generation allocates nothing but its
+ * {@link GenerationMetrics}.
+ * </p>
+ */
+final class GenerationRecorder {
+
+    private final MetricsRegistry registry;
+    private final Timer selectionTimer;
+    private final Timer crossoverTimer;
+    private final Timer mutationTimer;
+    private final Timer evaluationTimer;
+    private final Histogram genomeLengths;
+    private final Counter generations;
+    private final Counter evaluations;
+
+    /**
+     * Genome hashes seen this generation, 0 marking a free slot; a hash of 0 is counted by {@link #zeroSeen}.
+     */
+    private long[] hashes = new long[1024];
+    private boolean zeroSeen;
+    private int size;
+    private int distinct;
+    private double bestFitness;
+    private double fitnessSum;
+    private int minLength;
+    private int maxLength;
+    private long lengthSum;
+
+    private long selectionNanos;
+    private long crossoverNanos;
+    private long mutationNanos;
+    private long evaluationNanos;
+
+    GenerationRecorder(MetricsRegistry registry) {
+        this.registry = registry;
+        this.selectionTimer = registry.timer("ga.selection");
+        this.crossoverTimer = registry.timer("ga.crossover");
+        this.mutationTimer = registry.timer("ga.mutation");
+        this.evaluationTimer = registry.timer("ga.evaluation");
+        this.genomeLengths = registry.histogram("ga.genomeLength");
+        this.generations = registry.counter("ga.generations");
+        this.evaluations = registry.counter("ga.evaluations");
+        reset();
+    }
+
+    /**
+     * Counts an individual of the current generation.
+     *
+     * @param fitness Its fitness.
+     * @param length The length of its genome.
+     * @param genomeHash A hash of its genome.
+     */
+    void observe(double fitness, int length, long genomeHash) {
+        size++;
+        if (addHash(genomeHash)) {
+            distinct++;
+        }
+        bestFitness = Math.max(bestFitness, fitness);
+        fitnessSum += fitness;
+        minLength = Math.min(minLength, length);
+        maxLength = Math.max(maxLength, length);
+        lengthSum += length;
+        genomeLengths.record(length);
+    }
+
+    /**
+     * Adds the time since {@code start} to the selection time of the generation.
+     *
+     * @return The current time, to time the next phase from.
+     */
+    long selection(long start) {
+        long now = System.nanoTime();
+        selectionNanos += now - start;
+        return now;
+    }
+
+    long crossover(long start) {
+        long now = System.nanoTime();
+        crossoverNanos += now - start;
+        return now;
+    }
+
+    long mutation(long start) {
+        long now = System.nanoTime();
+        mutationNanos += now - start;
+        return now;
+    }
+
+    /**
+     * Adds the time since {@code start} to the evaluation time of the generation.
+     *
+     * @param count The number of individuals evaluated.
+     * @return The current time.
+     */
+    long evaluation(long start, int count) {
+        long now = System.nanoTime();
+        evaluationNanos += now - start;
+        evaluations.add(count);
+        return now;
+    }
+
+    /**
+     * Adds phase times measured elsewhere, by the breeding threads.
+     */
+    void add(long selection, long crossover, long mutation) {
+        selectionNanos += selection;
+        crossoverNanos += crossover;
+        mutationNanos += mutation;
+    }
+
+    /**
+     * Publishes the metrics of the generation and starts the next one.
+     *
+     * @param generation The index of the generation.
+     * @param bestFitnessOverall The highest fitness of the run so far.
+     * @return The metrics of the generation.
+     */
+    GenerationMetrics publish(int generation, double bestFitnessOverall) {
+        GenerationMetrics metrics = new GenerationMetrics(
+                generation,
+                size,
+                bestFitness,
+                size == 0 ? 0.0 : fitnessSum / size,
+                bestFitnessOverall,
+                size == 0 ? 0.0 : (double) distinct / size,
+                size == 0 ? 0 : minLength,
+                size == 0 ? 0.0 : (double) lengthSum / size,
+                maxLength,
+                selectionNanos,
+                crossoverNanos,
+                mutationNanos,
+                evaluationNanos
+        );
+        selectionTimer.record(selectionNanos);
+        crossoverTimer.record(crossoverNanos);
+        mutationTimer.record(mutationNanos);
+        evaluationTimer.record(evaluationNanos);
+        generations.increment();
+        reset();
+        registry.publish(metrics);
+        return metrics;
+    }
+
+    /**
+     * @return Whether the hash was not seen yet this generation.
+     */
+    private boolean addHash(long hash) {
+        if (hash == 0) {
+            boolean added = !zeroSeen;
+            zeroSeen = true;
+            return added;
+        }
+        if (distinct * 2 >= hashes.length) {
+            long[] old = hashes;
+            hashes = new long[old.length * 2];
+            for (long h : old) {
+                if (h != 0) {
+                    insert(h);
+                }
+            }
+        }
+        return insert(hash);
+    }
+
+    private boolean insert(long hash) {
+        int mask = hashes.length - 1;
+        // Spread the bits, since genome hashes of the object path are 32-bit.
+        int slot = (int) ((hash * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (hashes[slot] != 0) {
+            if (hashes[slot] == hash) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        return true;
+    }
+
+    private void reset() {
+        if (size > 0) {
+            Arrays.fill(hashes, 0);
+        }
+        zeroSeen = false;
+        size = 0;
+        distinct = 0;
+        bestFitness = Double.NEGATIVE_INFINITY;
+        fitnessSum = 0;
+        minLength = Integer.MAX_VALUE;
+        maxLength = 0;
+        lengthSum = 0;
+        selectionNanos = 0;
+        crossoverNanos = 0;
+        mutationNanos = 0;
+        evaluationNanos = 0;
+    }
+}
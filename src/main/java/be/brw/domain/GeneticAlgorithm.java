@@ -1,10 +1,21 @@
 package be.brw.domain;
 
+import be.brw.config.AdaptiveMutationConfig;
+import be.brw.config.ExecutionConfig;
 import be.brw.config.GAConfig;
+import be.brw.config.PopulationStorage;
 import be.brw.domain.strategy.*;
-import be.brw.infrastructure.RemoteFitnessEvaluator;
+import be.brw.metrics.Counter;
+import be.brw.metrics.GenerationMetrics;
+import be.brw.metrics.MetricsRegistry;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements the core logic of a genetic algorithm to solve a bitstring-matching problem.
@@ -22,10 +33,12 @@ public class GeneticAlgorithm {
     private final GAConfig config;
     /**
      * Random number generator used for all stochastic operations (selection, crossover, mutation).
+     * Its state is saved in checkpoints.
      */
-    private final Random random;
+    private final StatefulRandom random;
     /**
      * The current population of individuals. This object is replaced with a new population each generation.
+     * Runs on a {@link PopulationStore} do not use it, and leave it {@code null}.
      */
     private Population population;
     /**
@@ -33,19 +46,136 @@ public class GeneticAlgorithm {
      */
     private int generationCount;
 
-    private FitnessEvaluator fitnessEvaluator;
+    /**
+     * The evaluator shared by every population of this run.
+     */
+    private final FitnessEvaluator fitnessEvaluator;
+
+    /**
+     * Draws survivors and parents; see {@link #selection(List, int)}.
+     */
+    private final SelectionEngine selectionEngine;
+    private double[] poolFitness = new double[0];
+    private final int[] parentIndices = new int[2];
+
+    /**
+     * The breeders of a parallel run, one per breeding thread, or none when children are bred on
+     * the calling thread; see {@link #breedInParallel(List, int, PipelinedEvaluation)}.
+     */
+    private final Breeder[] breeders;
+    /**
+     * The threads running the {@link #breeders}, only while {@link #runAlgorithm()} runs.
+     */
+    private ForkJoinPool breedingPool;
+
+    /**
+     * Exchanges individuals with other populations at the start of every generation, or {@code null}.
+     */
+    private final Migration migration;
+
+    /**
+     * Times the phases of every generation and reports them to the default {@link MetricsRegistry}.
+     */
+    private final GenerationRecorder recorder = new GenerationRecorder(MetricsRegistry.getDefault());
+
+    /**
+     * Told about every generation, solution and the result of the run.
+     */
+    private final List<RunListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The checkpoint the next run continues from, or {@code null} to start from generation 0.
+     */
+    private Checkpoint resumeFrom;
+    /**
+     * Writes the checkpoints of the run, only while {@link #runAlgorithm()} runs; {@code null} when checkpoints are off.
+     */
+    private CheckpointWriter checkpoints;
+    /**
+     * The solutions of the current or last run.
+     */
+    private SolutionCollector solutions;
+    /**
+     * Policies added to those of the configuration, asked after every generation of every run.
+     */
+    private final List<TerminationPolicy> terminationPolicies = new CopyOnWriteArrayList<>();
+    /**
+     * Why the current or last run stopped, {@code null} while it runs.
+     */
+    private String stopReason;
+    /**
+     * Sets the mutation rate of every generation of the current run, and when to restart part of it.
+     */
+    private AdaptiveMutationController mutationController;
+    private final Counter restartCount = MetricsRegistry.getDefault().counter("ga.restarts");
+
+    /**
+     * The crossover and leftover operators of the configured strategies.
+     */
+    private final CrossoverOperator crossoverOperator;
+    private final LeftoverOperator leftoverOperator;
+    /**
+     * Writes the children bred on the thread running the algorithm; each {@link Breeder} has its own.
+     */
+    private final GenomeRecombination recombination = new GenomeRecombination();
 
     /**
-     * Constructs a new GeneticAlgorithm instance and initializes the first population.
+     * Constructs a new GeneticAlgorithm instance that scores individuals with the given evaluator,
+     * and initializes the first population.
      *
      * @param configuration The {@link GAConfig} object that defines the parameters of the algorithm.
+     * @param fitnessEvaluator The evaluator used for every generation of the run.
      */
-    public GeneticAlgorithm(GAConfig configuration){
+    public GeneticAlgorithm(GAConfig configuration, FitnessEvaluator fitnessEvaluator){
+        this(configuration, fitnessEvaluator, null);
+    }
+
+    /**
+     * Constructs a new GeneticAlgorithm instance whose population exchanges individuals with
+     * other populations through the given migration, as an island of an {@link IslandRunner}.
+     *
+     * @param configuration The {@link GAConfig} object that defines the parameters of the algorithm.
+     * @param fitnessEvaluator The evaluator used for every generation of the run.
+     * @param migration The migration called at the start of every generation, or {@code null}.
+     * @throws IllegalArgumentException if a migration is given for a run on {@link PopulationStore}s.
+     * @throws IllegalStateException if the run resumes from a checkpoint taken with another population size or number of breeding threads.
+     */
+    public GeneticAlgorithm(GAConfig configuration, FitnessEvaluator fitnessEvaluator, Migration migration){
+        if (migration != null && configuration.getExecutionConfig().getStorage() != PopulationStorage.OBJECTS) {
+            throw new IllegalArgumentException("Migration requires storage " + PopulationStorage.OBJECTS);
+        }
+        this.migration = migration;
         this.config = configuration;
-        this.random = new Random(config.getSeed());
-        this.fitnessEvaluator = new RemoteFitnessEvaluator("http://localhost:8000");
+        this.random = new StatefulRandom(config.getSeed());
+        this.fitnessEvaluator = fitnessEvaluator;
+        this.selectionEngine = new SelectionEngine(config.getSelectionStrategy(), config.getTournamentSize(), random);
+        this.breeders = createBreeders(config);
+        this.crossoverOperator = config.getCrossoverStrategy().operator();
+        this.leftoverOperator = config.getCrossoverLeftoverStrategy().operator();
+
+        // Islands are neither checkpointed nor resumed: their migrations are not reproducible anyway.
+        ExecutionConfig execution = config.getExecutionConfig();
+        if (migration == null && execution.isResume()) {
+            this.resumeFrom = CheckpointWriter.latest(Path.of(execution.getCheckpointDirectory()));
+        }
+        if (resumeFrom != null) {
+            if (resumeFrom.size() != config.getPopulationSize()) {
+                throw new IllegalStateException("The checkpoint holds " + resumeFrom.size() + " individuals, the run has "
+                        + config.getPopulationSize());
+            }
+            resumeFrom.restore(random, breederRandoms());
+        }
+        this.generationCount = resumeFrom == null ? 0 : resumeFrom.generation;
 
         // Initialize the starting population based on the configuration.
+        // Runs on stores generate theirs straight into the store, or resume it from disk.
+        if (execution.getStorage() != PopulationStorage.OBJECTS) {
+            return;
+        }
+        if (resumeFrom != null) {
+            this.population = new Population(resumeFrom.individuals(), config.getSeed(), fitnessEvaluator, false);
+            return;
+        }
         this.population = new Population(
                 config.getPopulationSize(),
                 config.getMinGenomeLength(),
@@ -53,8 +183,6 @@ public class GeneticAlgorithm {
                 config.getSeed(),
                 fitnessEvaluator
         );
-
-        this.generationCount = 0;
     }
 
     /**
@@ -66,217 +194,621 @@ public class GeneticAlgorithm {
         return this.generationCount;
     }
 
+    /**
+     * Gets the fittest individual of the current population.
+     *
+     * @return The fittest {@link Individual}, or {@code null} for runs on {@link PopulationStore}s.
+     */
+    public Individual getFittest(){
+        return this.population == null ? null : this.population.getFittest();
+    }
+
+    /**
+     * Gets the shortest solution found by the current or last run.
+     *
+     * @return The genome of the shortest solution, or {@code null} if none was found.
+     */
+    public String getShortestSolution(){
+        return this.solutions == null ? null : this.solutions.getShortest();
+    }
+
+    /**
+     * Gets the evaluator used by this run.
+     *
+     * @return The {@link FitnessEvaluator} shared by every generation.
+     */
+    public FitnessEvaluator getFitnessEvaluator(){
+        return this.fitnessEvaluator;
+    }
+
+    /**
+     * Adds a listener told about the progress of the next runs of this algorithm.
+     * Without listeners, a run reports nothing but its return value.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(RunListener listener){
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Adds a policy that may stop the next runs of this algorithm early, besides those of the configuration.
+     *
+     * @param policy The policy.
+     */
+    public void addTerminationPolicy(TerminationPolicy policy){
+        this.terminationPolicies.add(policy);
+    }
+
+    /**
+     * Gets why the last run stopped: the maximum number of generations or solutions, or the
+     * {@link TerminationPolicy} that stopped it early.
+     *
+     * @return The reason, or {@code null} before the first run ends.
+     */
+    public String getStopReason(){
+        return this.stopReason;
+    }
+
     /**
      * Executes the genetic algorithm for a configured number of generations.
      * <p>
      * The algorithm proceeds generation by generation, applying selection, crossover, and mutation
      * to evolve the population toward the target solution. The process terminates if a perfect
-     * solution is found or the maximum number of generations is reached.
+     * solution is found, the maximum number of generations is reached, or a {@link TerminationPolicy}
+     * stops it early.
      * </p>
      * @return The fittest individual found after the algorithm completes or finds a solution.
      */
     public List<String> runAlgorithm() {
+        ExecutionConfig execution = config.getExecutionConfig();
+        stopReason = null;
+        if (migration == null && execution.getCheckpointInterval() > 0) {
+            checkpoints = new CheckpointWriter(Path.of(execution.getCheckpointDirectory()));
+        }
+        try {
+            if (execution.getStorage() != PopulationStorage.OBJECTS) {
+                return runOnStores();
+            }
+            if (breeders.length == 0) {
+                return runOnObjects();
+            }
+            breedingPool = new ForkJoinPool(breeders.length);
+            try {
+                return runOnObjects();
+            } finally {
+                breedingPool.close();
+                breedingPool = null;
+            }
+        } finally {
+            if (checkpoints != null) {
+                checkpoints.close();
+                checkpoints = null;
+            }
+        }
+    }
+
+    /**
+     * Executes the genetic algorithm on the {@link #population}.
+     *
+     * @return The genomes of the solutions found.
+     */
+    private List<String> runOnObjects() {
         int maxGeneration = config.getMaxGeneration();
         MutationTargetStrategy mutTarget = config.getMutationTargetStrategy();
         int eliteCount = (int) Math.round(config.getPopulationSize() * (1.0 - config.getCrossoverRate()));
-        List<String> winners = new ArrayList<>();
-        int maxSolutions = config.getMaxSolutions();
+        Checkpoint resumed = takeResumeFrom();
+        int firstGeneration = resumed == null ? 0 : resumed.generation;
+        SolutionCollector winners = collectSolutions(resumed);
+        List<TerminationPolicy> policies = terminationPolicies(resumed);
+        long runStart = System.nanoTime();
+        long evaluations = resumed == null ? this.population.getIndividuals().size() : resumed.evaluations;
+        controlMutation(resumed);
+        if (resumed != null) {
+            resumed(firstGeneration, config.getExecutionConfig().getCheckpointDirectory());
+        }
 
-        double best_fitness_overall = Double.MIN_VALUE;
+        double best_fitness_overall = resumed == null ? Double.MIN_VALUE : resumed.bestFitnessOverall;
+        int improvedAt = resumed == null ? 0 : resumed.improvedAt;
 
-        for (int i = 0; i <= maxGeneration; i++){
+        for (int i = firstGeneration; i <= maxGeneration; i++){
             this.generationCount = i;
 
             List<Individual> individuals = this.population.getIndividuals();
+            if (isCheckpointDue(i, firstGeneration)) {
+                checkpoints.submit(Checkpoint.of(i, random, breederRandoms(), mutationController, best_fitness_overall, improvedAt,
+                        evaluations, winners.getSolutions(), individuals));
+            }
 
             double best_fitness_generation = Double.MIN_VALUE;
 
             // Check for a perfect solution in the current population.
             for (Individual individual: individuals){
+                recorder.observe(individual.getFitness(), individual.getGenomeLength(), individual.getGenes().hashCode());
                 if (best_fitness_generation < individual.getFitness()){
                     best_fitness_generation = individual.getFitness();
                 }
-                if(individual.getFitness() >= 3500.0 && !winners.contains(individual.getGenomeString())){
-                    if (winners.isEmpty()) {
-                        System.out.println("Solution found in " + i + " generations");
-                    }
-                    String winnerGenomeString = individual.getGenomeString();
-                    winners.add(winnerGenomeString);
-                    if (winners.size() == maxSolutions){
-                        return winners;
+                if(individual.getFitness() >= 3500.0 && winners.add(individual.getGenes(), individual.getFitness(), i)){
+                    if (winners.isFull()){
+                        Individual fittest = this.population.getFittest();
+                        return finish(winners, fittest.getGenomeString(), fittest.getFitness());
                     }
                 }
             }
 
             if (best_fitness_generation > best_fitness_overall){
                 best_fitness_overall = best_fitness_generation;
+                improvedAt = i;
             }
 
-            System.out.println("Best fitness for generation " + i + " = " + best_fitness_generation);
-            System.out.println("Best fitness overall = " + best_fitness_overall);
+            if (migration != null && !migration.migrate(i, individuals)) {
+                stopReason = "stopped: the island run ended";
+                break;
+            }
 
             // 1. Selection: Select the "elite" individuals to survive to the next generation.
+            long start = System.nanoTime();
             List<Individual> survivors = selection(individuals, eliteCount);
+            start = recorder.selection(start);
 
             // 2. Mutation (on parents): Optionally mutate the selected survivors.
             if (mutTarget == MutationTargetStrategy.PARENTS || mutTarget == MutationTargetStrategy.BOTH) {
                 for (int j = 0; j < survivors.size(); j++) {
-                    if (random.nextDouble() <= config.getMutationRate()) {
-                        survivors.set(j, mutate(survivors.get(j)));
+                    if (random.nextDouble() <= mutationController.getMutationRate()) {
+                        survivors.set(j, mutate(survivors.get(j), random));
                     }
                 }
             }
+            recorder.mutation(start);
+
+            // In pipelined mode the survivors are final from here on, so their evaluation can start
+            // right away, followed by each chunk of children as soon as it has been bred.
+            PipelinedEvaluation pipeline = null;
+            if (config.getExecutionConfig().isPipelined()) {
+                start = System.nanoTime();
+                pipeline = new PipelinedEvaluation(fitnessEvaluator, config.getExecutionConfig().getPipelineChunkSize());
+                pipeline.submitAll(survivors);
+                recorder.evaluation(start, 0);
+            }
 
             // 3. Crossover and Mutation (on children): Create new children to fill the rest of the population.
-            List<Individual> children = new ArrayList<>(config.getPopulationSize() - eliteCount);
-            while (eliteCount + children.size() < config.getPopulationSize()) {
-                List<Individual> parents = selection(survivors, 2);
-                Individual child = crossover(parents.getFirst(), parents.getLast());
-                if ((mutTarget == MutationTargetStrategy.CHILDREN || mutTarget == MutationTargetStrategy.BOTH) && random.nextDouble() <= config.getMutationRate()) {
-                        mutate(child);
+            // The survivors are prepared as a pool once, then every pair of parents is drawn from it.
+            // After a converged generation, the last children are restarted from random genomes instead.
+            List<Individual> children;
+            int restarts = mutationController.restarts(config.getPopulationSize() - eliteCount);
+            start = System.nanoTime();
+            prepareSelection(survivors);
+            start = recorder.selection(start);
+            if (breedingPool != null) {
+                children = breedInParallel(survivors, config.getPopulationSize() - eliteCount - restarts, pipeline);
+            } else {
+                children = new ArrayList<>(config.getPopulationSize() - eliteCount);
+                while (eliteCount + children.size() < config.getPopulationSize() - restarts) {
+                    selectionEngine.select(2, parentIndices);
+                    start = recorder.selection(start);
+                    Individual child = crossover(survivors.get(parentIndices[0]), survivors.get(parentIndices[1]), random);
+                    start = recorder.crossover(start);
+                    if ((mutTarget == MutationTargetStrategy.CHILDREN || mutTarget == MutationTargetStrategy.BOTH) && random.nextDouble() <= mutationController.getMutationRate()) {
+                        mutate(child, random);
+                        start = recorder.mutation(start);
                     }
 
-
-                children.add(child);
+                    children.add(child);
+                    if (pipeline != null) {
+                        pipeline.submit(child);
+                        start = recorder.evaluation(start, 0);
+                    }
+                }
             }
 
             // Create the next generation's population from survivors and new children.
             survivors.addAll(children);
-            this.population = new Population(survivors, config.getSeed(), fitnessEvaluator);
+            for (int j = 0; j < restarts; j++) {
+                Individual restart = new Individual(Population.randomGenome(random, config.getMinGenomeLength(), config.getMaxGenomeLength()));
+                survivors.add(restart);
+                if (pipeline != null) {
+                    pipeline.submit(restart);
+                }
+            }
+            restartCount.add(restarts);
+            start = System.nanoTime();
+            if (pipeline != null) {
+                pipeline.await();
+                this.population = new Population(survivors, config.getSeed(), fitnessEvaluator, false);
+            } else {
+                this.population = new Population(survivors, config.getSeed(), fitnessEvaluator);
+            }
+            recorder.evaluation(start, survivors.size());
+            GenerationMetrics metrics = recorder.publish(i, best_fitness_overall);
+            generationEnded(metrics);
+            mutationController.update(metrics.getDiversity());
+            evaluations += survivors.size();
+            if (terminated(policies, metrics, evaluations, runStart)) {
+                break;
+            }
         }
-        System.out.println("Best genome found: " + this.population.getFittest().getGenomeString() + " with fitness " + this.population.getFittest().getFitness());
-        return winners;
+        Individual fittest = this.population.getFittest();
+        return finish(winners, fittest.getGenomeString(), fittest.getFitness());
     }
 
     /**
-     * Performs crossover between two parent individuals to create a new child.
+     * Executes the genetic algorithm on two {@link PopulationStore}s, used alternately as the
+     * current and the next generation: {@link PopulationArena}s on the heap, or
+     * {@link MappedPopulationStore}s for {@link PopulationStorage#MAPPED} runs.
      * <p>
-     * The method of crossover (e.g., one-point, uniform) and the handling of leftover genes
-     * from parents of different lengths are determined by the {@link GAConfig}.
+     * Generations go through the same steps as in {@link #runAlgorithm()}, but survivors and
+     * children are written straight into the next store, so once the stores have grown to their
+     * working size a generation allocates nothing besides the solutions it finds.
+     * Pipelined evaluation does not apply: the next store is evaluated at once. Neither does parallel
+     * breeding, since children are appended to the store one after the other.
      * </p>
-     * @param individual1 The first parent.
-     * @param individual2 The second parent.
-     * @return A new {@link Individual} (child) resulting from the crossover.
+     * @return The genomes of the solutions found.
      */
-    private Individual crossover(Individual individual1, Individual individual2) {
-        int len1 = individual1.getGenomeLength();
-        int len2 = individual2.getGenomeLength();
+    private List<String> runOnStores() {
+        ExecutionConfig execution = config.getExecutionConfig();
+        int populationSize = config.getPopulationSize();
+        Checkpoint checkpoint = takeResumeFrom();
+        PopulationStore current;
+        PopulationStore next;
+        if (execution.getStorage() == PopulationStorage.MAPPED) {
+            Path directory = Path.of(execution.getStorageDirectory());
+            long geneBytes = (long) populationSize * config.getMaxGenomeLength();
+            // A checkpoint also holds the random state, so it is resumed from rather than the files.
+            MappedPopulationStore resumed = execution.isResume() && checkpoint == null ? latestCommitted(directory) : null;
+            if (resumed != null) {
+                current = resumed;
+                next = MappedPopulationStore.create(otherFile(directory, resumed.getFile()), populationSize, geneBytes);
+            } else {
+                current = MappedPopulationStore.create(directory.resolve(STORE_FILES[0]), populationSize, geneBytes);
+                next = MappedPopulationStore.create(directory.resolve(STORE_FILES[1]), populationSize, geneBytes);
+            }
+        } else {
+            current = new PopulationArena(populationSize, config.getMaxGenomeLength());
+            next = new PopulationArena(populationSize, config.getMaxGenomeLength());
+        }
 
-        // Guard clause: fallback to the fittest parent for very short genomes
-        if (len1 <= 1 || len2 <= 1) {
-            return (individual1.getFitness() > individual2.getFitness())
-                    ? individual1
-                    : individual2;
+        try (current; next) {
+            int firstGeneration = 0;
+            if (checkpoint != null) {
+                checkpoint.fill(current);
+                firstGeneration = checkpoint.generation;
+                current.commit(firstGeneration);
+                resumed(firstGeneration, execution.getCheckpointDirectory());
+            } else if (current instanceof MappedPopulationStore mapped && mapped.isCommitted()) {
+                firstGeneration = mapped.getGeneration();
+                resumed(firstGeneration, mapped.getFile().toString());
+            } else {
+                Population.generateInto(current, populationSize, config.getMinGenomeLength(), config.getMaxGenomeLength(), config.getSeed());
+                fitnessEvaluator.evaluate(current);
+                current.commit(0);
+            }
+            return evolve(current, next, firstGeneration, checkpoint);
         }
+    }
 
-        CrossoverStrategy crossoverStrategy = config.getCrossoverStrategy();
-        CrossoverLeftoverStrategy leftoverStrategy = config.getCrossoverLeftoverStrategy();
+    /**
+     * The files backing the two stores of a {@link PopulationStorage#MAPPED} run.
+     */
+    private static final String[] STORE_FILES = {"population-0.bin", "population-1.bin"};
 
-        List<Byte> genome1 = individual1.getGenome();
-        List<Byte> genome2 = individual2.getGenome();
-        int minLength = Math.min(len1, len2);
+    /**
+     * @return The store of the directory holding the latest complete generation, or {@code null} if there is none.
+     */
+    private static MappedPopulationStore latestCommitted(Path directory) {
+        MappedPopulationStore latest = null;
+        for (String name : STORE_FILES) {
+            Path file = directory.resolve(name);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            MappedPopulationStore store = MappedPopulationStore.open(file);
+            if (store.isCommitted() && (latest == null || store.getGeneration() > latest.getGeneration())) {
+                if (latest != null) {
+                    latest.close();
+                }
+                latest = store;
+            } else {
+                store.close();
+            }
+        }
+        return latest;
+    }
 
-        List<Byte> newGenome = new ArrayList<>(minLength);
+    /**
+     * @return A 64-bit FNV-1a hash of the genes of an individual of a store, standing for its genome in the diversity count.
+     */
+    private static long fingerprint(PopulationStore store, int individual) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < store.length(individual); i++) {
+            hash = (hash ^ (store.gene(individual, i) & 0xFF)) * 0x100000001b3L;
+        }
+        return hash;
+    }
 
-        try {
-            switch (crossoverStrategy) {
-                case ONE_POINT -> {
-                    int cut = random.nextInt(minLength - 1);
-                    newGenome.addAll(genome1.subList(0, cut));
-                    newGenome.addAll(genome2.subList(cut, len2));
-                    return new Individual(newGenome);
-                }
+    private static Path otherFile(Path directory, Path file) {
+        return directory.resolve(file.getFileName().toString().equals(STORE_FILES[0]) ? STORE_FILES[1] : STORE_FILES[0]);
+    }
+
+    /**
+     * Runs the generations from {@code firstGeneration} on, alternating the two stores.
+     *
+     * @param resumed The checkpoint the run continues from, holding the solutions and best fitness so far; or {@code null}.
+     */
+    private List<String> evolve(PopulationStore current, PopulationStore next, int firstGeneration, Checkpoint resumed) {
+        int maxGeneration = config.getMaxGeneration();
+        int populationSize = config.getPopulationSize();
+        MutationTargetStrategy mutTarget = config.getMutationTargetStrategy();
+        boolean mutateParents = mutTarget == MutationTargetStrategy.PARENTS || mutTarget == MutationTargetStrategy.BOTH;
+        boolean mutateChildren = mutTarget == MutationTargetStrategy.CHILDREN || mutTarget == MutationTargetStrategy.BOTH;
+        int eliteCount = (int) Math.round(populationSize * (1.0 - config.getCrossoverRate()));
+        SolutionCollector winners = collectSolutions(resumed);
+        List<TerminationPolicy> policies = terminationPolicies(resumed);
+        long runStart = System.nanoTime();
+        long evaluations = resumed == null ? current.size() : resumed.evaluations;
+        controlMutation(resumed);
+
+        ArenaOperators operators = new ArenaOperators(config, random);
 
-                case TWO_POINT -> {
-                    int cut1 = random.nextInt(minLength - 1) + 1; // [1, minLength - 1]
-                    int cut2 = random.nextInt(minLength - cut1) + cut1; // [cut1, minLength - 1]
-                    newGenome.addAll(genome1.subList(0, cut1));
-                    newGenome.addAll(genome2.subList(cut1, cut2));
-                    newGenome.addAll(genome1.subList(cut2, minLength));
-                    return new Individual(newGenome);
+        double best_fitness_overall = resumed == null ? Double.MIN_VALUE : resumed.bestFitnessOverall;
+        int improvedAt = resumed == null ? 0 : resumed.improvedAt;
+
+        for (int i = firstGeneration; i <= maxGeneration; i++) {
+            this.generationCount = i;
+            if (isCheckpointDue(i, firstGeneration)) {
+                checkpoints.submit(Checkpoint.of(i, random, breederRandoms(), mutationController, best_fitness_overall, improvedAt,
+                        evaluations, winners.getSolutions(), current));
+            }
+
+            double best_fitness_generation = Double.MIN_VALUE;
+            for (int j = 0; j < current.size(); j++) {
+                double fitness = current.fitness(j);
+                recorder.observe(fitness, current.length(j), fingerprint(current, j));
+                if (best_fitness_generation < fitness) {
+                    best_fitness_generation = fitness;
+                }
+                if (fitness >= 3500.0 && winners.add(current, j, i) && winners.isFull()) {
+                    int fittest = fittest(current);
+                    return finish(winners, current.genomeString(fittest), current.fitness(fittest));
                 }
+            }
 
-                case UNIFORM -> {
-                    int pickA = minLength / 2 + (random.nextBoolean() ? minLength % 2 : 0);
-                    int pickB = minLength - pickA;
+            if (best_fitness_generation > best_fitness_overall) {
+                best_fitness_overall = best_fitness_generation;
+                improvedAt = i;
+            }
 
-                    for (int i = 0; i < minLength; i++) {
-                        boolean chooseA = pickB == 0 || (pickA > 0 && random.nextBoolean());
-                        newGenome.add((chooseA ? genome1 : genome2).get(i));
-                        if (chooseA) pickA--; else pickB--;
-                    }
+            // 1. Selection and mutation of the survivors, copied to the front of the next arena.
+            long start = System.nanoTime();
+            next.clear();
+            int[] survivors = operators.selectSurvivors(current, eliteCount);
+            start = recorder.selection(start);
+            for (int j = 0; j < eliteCount; j++) {
+                int survivor = survivors[j];
+                int index = next.begin();
+                next.append(current, survivor, 0, current.length(survivor));
+                next.setFitness(index, current.fitness(survivor));
+                if (mutateParents && random.nextDouble() <= mutationController.getMutationRate()) {
+                    operators.mutateLast(next);
+                }
+            }
+            start = recorder.mutation(start);
+
+            // 2. Crossover and mutation of the children, bred from the survivors; after a converged
+            // generation, the last children are restarted from random genomes instead.
+            int restarts = mutationController.restarts(populationSize - eliteCount);
+            operators.prepareParents(next, eliteCount);
+            start = recorder.selection(start);
+            while (next.size() < populationSize - restarts) {
+                int[] parents = operators.selectParents();
+                start = recorder.selection(start);
+                operators.crossover(next, parents[0], parents[1]);
+                start = recorder.crossover(start);
+                if (mutateChildren && random.nextDouble() <= mutationController.getMutationRate()) {
+                    operators.mutateLast(next);
+                    start = recorder.mutation(start);
                 }
+            }
 
-                default -> throw new UnsupportedOperationException(
-                        "Unknown crossover strategy: " + crossoverStrategy
-                );
+            for (int j = 0; j < restarts; j++) {
+                Population.addRandom(next, random, config.getMinGenomeLength(), config.getMaxGenomeLength());
+            }
+            restartCount.add(restarts);
+
+            fitnessEvaluator.evaluate(next);
+            recorder.evaluation(start, next.size());
+            GenerationMetrics metrics = recorder.publish(i, best_fitness_overall);
+            generationEnded(metrics);
+            mutationController.update(metrics.getDiversity());
+            next.commit(i + 1);
+            PopulationStore previous = current;
+            current = next;
+            next = previous;
+            evaluations += current.size();
+            if (terminated(policies, metrics, evaluations, runStart)) {
+                break;
             }
-        }catch (Exception e){
-            System.err.println(e.getMessage());
-            System.err.println(crossoverStrategy);
-            System.err.println(leftoverStrategy);
-            System.err.println(individual1);
-            System.err.println(individual2);
-            System.exit(-1);
         }
+        int fittest = fittest(current);
+        return finish(winners, current.genomeString(fittest), current.fitness(fittest));
+    }
 
-        // Common leftover handling (for UNIFORM and ARITHMETIC)
-        List<Byte> longer = (genome1.size() > genome2.size()) ? genome1 : genome2;
-        List<Byte> leftovers = new ArrayList<>(longer.subList(minLength, longer.size()));
+    /**
+     * Starts collecting the solutions of a run, with those found before its checkpoint.
+     */
+    private SolutionCollector collectSolutions(Checkpoint resumed) {
+        solutions = new SolutionCollector(config.getMaxSolutions(), this::solutionFound);
+        if (resumed != null) {
+            solutions.addAll(resumed.winners);
+        }
+        return solutions;
+    }
 
-        return this.processLeftovers(leftoverStrategy, newGenome, leftovers, individual1, individual2);
+    /**
+     * @return The checkpoint to resume from, which only the first run after construction does; or {@code null}.
+     */
+    private Checkpoint takeResumeFrom() {
+        Checkpoint checkpoint = resumeFrom;
+        resumeFrom = null;
+        return checkpoint;
     }
 
     /**
-     * Handles leftover genes from the longer parent's genome after crossover.
-     * <p>
-     * Based on the configured {@link CrossoverLeftoverStrategy}, this method decides how to
-     * append (or not append) the remaining genes to the child's genome.
-     * </p>
-     *
-     * @param strategy The strategy for handling leftover genes.
-     * @param newGenome The child's genome being constructed.
-     * @param leftovers The list of leftover genes from the longer parent.
-     * @param firstIndividual The first parent individual.
-     * @param secondIndividual The second parent individual.
-     * @return A new {@link Individual} with the final genome after handling leftovers.
-     */
-    private Individual processLeftovers(CrossoverLeftoverStrategy strategy, List<Byte> newGenome, List<Byte> leftovers, Individual firstIndividual, Individual secondIndividual) {
-        if (leftovers.isEmpty()) {
-            return new Individual(newGenome);
-        }
-
-        List<Byte> genome1 = firstIndividual.getGenome();
-        List<Byte> genome2 = secondIndividual.getGenome();
-        int minLength = Math.min(genome1.size(), genome2.size());
-
-        switch (strategy) {
-            case KEEP_ALL_OR_NOTHING_RANDOMLY -> {
-                if (random.nextBoolean()) {
-                    newGenome.addAll(leftovers);
-                }
+     * A checkpoint is taken at the start of every {@code checkpointInterval}-th generation, once
+     * its population is evaluated and before anything of it is drawn, except the first generation
+     * of a run, which is already saved or is the initial population.
+     */
+    private boolean isCheckpointDue(int generation, int firstGeneration) {
+        return checkpoints != null && generation > firstGeneration
+                && generation % config.getExecutionConfig().getCheckpointInterval() == 0;
+    }
+
+    private StatefulSplitMix[] breederRandoms() {
+        StatefulSplitMix[] randoms = new StatefulSplitMix[breeders.length];
+        for (int w = 0; w < breeders.length; w++) {
+            randoms[w] = breeders[w].random;
+        }
+        return randoms;
+    }
+
+    /**
+     * @return The index of the fittest individual of a store.
+     */
+    private static int fittest(PopulationStore store) {
+        int fittest = 0;
+        for (int j = 1; j < store.size(); j++) {
+            if (store.fitness(j) > store.fitness(fittest)) {
+                fittest = j;
             }
+        }
+        return fittest;
+    }
 
-            case KEEP_ONE_OR_NOT_RANDOMLY -> {
-                for (byte leftover : leftovers) {
-                    if (random.nextBoolean()) {
-                        newGenome.add(leftover);
-                    }
+    private void resumed(int generation, String from) {
+        for (RunListener listener : listeners) {
+            listener.onResumed(generation, from);
+        }
+    }
+
+    private void generationEnded(GenerationMetrics metrics) {
+        for (RunListener listener : listeners) {
+            listener.onGeneration(metrics);
+        }
+    }
+
+    private void solutionFound(int generation, String genome, double fitness) {
+        for (RunListener listener : listeners) {
+            listener.onSolution(generation, genome, fitness);
+        }
+    }
+
+    /**
+     * Starts adapting the mutation rate for a run, from the configured rate or from where the checkpoint it resumes from left it.
+     */
+    private void controlMutation(Checkpoint resumed) {
+        AdaptiveMutationConfig adaptive = config.getAdaptiveMutationConfig();
+        mutationController = new AdaptiveMutationController(config.getMutationRate(), adaptive.getMinDiversity(),
+                adaptive.getMaxMutationRate(), adaptive.getBoostFactor(), adaptive.getRestartFraction());
+        if (resumed != null) {
+            resumed.restore(mutationController);
+        }
+    }
+
+    /**
+     * @param resumed The checkpoint the run continues from, whose best fitness the stagnation policy starts from; or {@code null}.
+     * @return The policies of the configuration, new for a run, followed by those added to this algorithm.
+     */
+    private List<TerminationPolicy> terminationPolicies(Checkpoint resumed) {
+        List<TerminationPolicy> policies = resumed == null
+                ? TerminationPolicy.of(config.getTerminationConfig())
+                : TerminationPolicy.of(config.getTerminationConfig(), resumed.bestFitnessOverall, resumed.improvedAt);
+        policies.addAll(terminationPolicies);
+        return policies;
+    }
+
+    /**
+     * Asks the termination policies whether the run should stop after a generation, and if so
+     * records why and tells the listeners.
+     *
+     * @return Whether the run should stop.
+     */
+    private boolean terminated(List<TerminationPolicy> policies, GenerationMetrics metrics, long evaluations, long runStart) {
+        long elapsed = System.nanoTime() - runStart;
+        for (TerminationPolicy policy : policies) {
+            String reason = policy.check(metrics, evaluations, elapsed);
+            if (reason != null) {
+                stopReason = reason;
+                for (RunListener listener : listeners) {
+                    listener.onTerminated(metrics.getGeneration(), reason);
                 }
+                return true;
             }
+        }
+        return false;
+    }
 
-            case KEEP_ONLY_FROM_FITTEST_PARENT -> {
-                List<Byte> fittestGenome = (firstIndividual.getFitness() >= secondIndividual.getFitness())
-                        ? genome1
-                        : genome2;
-                newGenome.addAll(fittestGenome.subList(minLength, fittestGenome.size()));
+    /**
+     * Tells the listeners the run is over.
+     *
+     * @return The solutions found, for the caller to return.
+     */
+    private List<String> finish(SolutionCollector winners, String bestGenome, double bestFitness) {
+        if (stopReason == null) {
+            stopReason = winners.isFull()
+                    ? "maxSolutions: " + winners.size() + " solutions found"
+                    : "maxGeneration: " + config.getMaxGeneration() + " generations run";
+        }
+        List<String> solutions = winners.getSolutions();
+        if (!listeners.isEmpty()) {
+            // A copy, since the caller may change the solutions while listeners still read them.
+            List<String> finished = List.copyOf(solutions);
+            for (RunListener listener : listeners) {
+                listener.onFinished(generationCount, bestGenome, bestFitness, finished);
             }
+        }
+        return solutions;
+    }
 
-            default -> throw new UnsupportedOperationException(
-                    "Unknown crossover leftover strategy: " + strategy
-            );
+    /**
+     * Performs crossover between two parent individuals to create a new child, on the thread running the algorithm.
+     * <p>
+     * The method of crossover (e.g., one-point, uniform) and the handling of leftover genes
+     * from parents of different lengths are the operators of the strategies of the {@link GAConfig}.
+     * </p>
+     * @param individual1 The first parent.
+     * @param individual2 The second parent.
+     * @param random The random number generator of the calling thread.
+     * @return A new {@link Individual} (child) resulting from the crossover.
+     */
+    Individual crossover(Individual individual1, Individual individual2, RandomGenerator random) {
+        return crossover(individual1, individual2, random, recombination);
+    }
+
+    /**
+     * Performs crossover between two parent individuals, writing the child through the recombination of the calling thread.
+     */
+    private Individual crossover(Individual individual1, Individual individual2, RandomGenerator random, GenomeRecombination recombination) {
+        Individual child = recombine(individual1, individual2, random, recombination);
+        // The child starts with genes of the first parent, so its evaluation may resume from the parent's.
+        child.setEvaluationTrace(individual1.getEvaluationTrace());
+        return child;
+    }
+
+    private Individual recombine(Individual individual1, Individual individual2, RandomGenerator random, GenomeRecombination recombination) {
+        int len1 = individual1.getGenomeLength();
+        int len2 = individual2.getGenomeLength();
+
+        // Guard clause: fallback to a copy of the fittest parent for very short genomes.
+        // A copy is needed since the child may be mutated in place afterwards.
+        if (len1 <= 1 || len2 <= 1) {
+            Individual fittest = (individual1.getFitness() > individual2.getFitness())
+                    ? individual1
+                    : individual2;
+            return new Individual(fittest.getGenes().copy(), fittest.getFitness());
         }
 
+        // The child never outgrows the longer parent, so its genes are written without growing it.
+        Genome newGenome = new Genome(Math.max(len1, len2));
+        recombination.reset(individual1, individual2, newGenome).breed(crossoverOperator, leftoverOperator, random);
         return new Individual(newGenome);
     }
 
@@ -286,36 +818,32 @@ public class GeneticAlgorithm {
      * This method assumes the decision to mutate has already been made. It selects a specific
      * mutation type (ADD, REMOVE, or FLIP) based on the relative weights of their configured rates
      * ({@code bitAddRate}, {@code bitRemoveRate}, {@code bitFlipRate}). The sum of these rates
-     * equals the overall {@code mutationRate}.
+     * equals the overall {@code mutationRate}. A flip always changes the gene.
      * </p>
      * @param individual The individual to mutate.
+     * @param random The random number generator of the calling thread.
      * @return The same individual instance, which has been modified in-place.
      */
-    private Individual mutate(Individual individual){
+    Individual mutate(Individual individual, RandomGenerator random){
         int randomGeneIndex = random.nextInt(individual.getGenomeLength());
-        Moves randomMove = Moves.values()[this.random.nextInt(Moves.values().length)];
-        Byte randomGene = Moves.toByte(randomMove);
 
         // Pick a mutation in a roulette-like fashion
         double pick = random.nextDouble();
         if (pick <= config.getBitAddRate()) {
-            individual.addGene(randomGene);
+            individual.addGene(Moves.random(random));
         } else if (pick <= config.getBitAddRate() + config.getBitRemoveRate()) {
             if (individual.getGenomeLength() > 1) {
                 individual.removeGene(randomGeneIndex);
             }
         } else {
-            while(randomGene.equals(individual.getGene(randomGeneIndex))){
-                randomMove = Moves.values()[this.random.nextInt(Moves.values().length)];
-                randomGene = Moves.toByte(randomMove);
-            }
-            individual.setGene(randomGeneIndex, randomGene);
+            individual.setGene(randomGeneIndex, Moves.randomOtherThan(individual.getGene(randomGeneIndex), random));
         }
         return individual;
     }
 
     /**
      * Selects a subset of individuals from a given list based on the configured selection strategy.
+     * The list is left untouched.
      *
      * @param individuals The pool of individuals to select from.
      * @param selectionSize The number of individuals to select.
@@ -324,47 +852,133 @@ public class GeneticAlgorithm {
      * @see SelectionStrategy
      */
     public List<Individual> selection(List<Individual> individuals, int selectionSize) {
-        SelectionStrategy selectionStrategy = config.getSelectionStrategy();
-        switch (selectionStrategy) {
-            case ELITISM:
-                // Select the fittest individuals
-                Collections.sort(individuals);
-                return individuals.subList(0,selectionSize);
-            case ROULETTE:
-                // Fitness-proportionate selection
-                List<Individual> rouletteWinners = new ArrayList<>(selectionSize);
-
-                double totalFitness = 0;
-                for (Individual i: individuals) {
-                    totalFitness += i.getFitness();
-                }
+        prepareSelection(individuals);
+        int[] indices = selectionSize <= parentIndices.length ? parentIndices : new int[selectionSize];
+        selectionEngine.select(selectionSize, indices);
+        List<Individual> selected = new ArrayList<>(selectionSize);
+        for (int i = 0; i < selectionSize; i++) {
+            selected.add(individuals.get(indices[i]));
+        }
+        return selected;
+    }
+
+    /**
+     * Makes the given individuals the pool of the {@link #selectionEngine}.
+     * The individuals must keep their fitness as long as the pool is drawn from.
+     */
+    private void prepareSelection(List<Individual> pool) {
+        if (poolFitness.length < pool.size()) {
+            poolFitness = new double[pool.size()];
+        }
+        for (int i = 0; i < pool.size(); i++) {
+            poolFitness[i] = pool.get(i).getFitness();
+        }
+        selectionEngine.prepare(poolFitness, pool.size());
+    }
 
-                for (int i = 0; i < selectionSize; i++) {
-                    double pick = this.random.nextDouble(totalFitness);
+    /**
+     * The state a breeding thread does not share: its own random stream, and a selection engine
+     * drawing from the survivors with it.
+     */
+    private static final class Breeder {
+        private final StatefulSplitMix random;
+        private final SelectionEngine selectionEngine;
+        private final int[] parentIndices = new int[2];
+        private final GenomeRecombination recombination = new GenomeRecombination();
+        // Phase times of the current generation, collected by the run once the breeder's slice is done.
+        private long selectionNanos;
+        private long crossoverNanos;
+        private long mutationNanos;
+
+        private Breeder(GAConfig config, StatefulSplitMix random) {
+            this.random = random;
+            this.selectionEngine = new SelectionEngine(config.getSelectionStrategy(), config.getTournamentSize(), random);
+        }
+    }
 
-                    double rouletteSum = 0;
-                    for (Individual individual : individuals) {
-                        rouletteSum += individual.getFitness();
-                        if (rouletteSum >= pick) {
-                            rouletteWinners.add(individual);
-                            break;
-                        }
-                    }
-                }
-                return rouletteWinners;
-            case TOURNAMENT:
-                // Select the fittest individuals from a random sample
-                int tournamentSize = config.getTournamentSize();
-                List<Individual> tournamentWinners = new ArrayList<>(selectionSize);
-                List<Individual> players;
-                for (int i = 0; i < selectionSize; i++) {
-                    Collections.shuffle(individuals, random);
-                    players = individuals.subList(0, tournamentSize);
-                    players.sort(Comparator.comparing(Individual::getFitness));
-                    tournamentWinners.add(players.getLast());
+    /**
+     * Creates one breeder per breeding thread, each with a random stream split from the seed, so
+     * that the streams are independent of each other and of the stream of the run.
+     */
+    private static Breeder[] createBreeders(GAConfig config) {
+        int threads = config.getExecutionConfig().getBreedingThreads();
+        if (threads <= 1 || config.getExecutionConfig().getStorage() != PopulationStorage.OBJECTS) {
+            return new Breeder[0];
+        }
+        StatefulSplitMix seeds = new StatefulSplitMix(config.getSeed());
+        Breeder[] breeders = new Breeder[threads];
+        for (int w = 0; w < threads; w++) {
+            breeders[w] = new Breeder(config, seeds.split());
+        }
+        return breeders;
+    }
+
+    /**
+     * Breeds the children of a generation on the {@link #breedingPool}.
+     * <p>
+     * The children are split in as many contiguous slices as there are breeders, and every slice
+     * is bred by the same breeder each generation. Which thread runs a slice, and when, therefore
+     * does not change the result. Slices are handed to the pipeline in order as they complete.
+     * </p>
+     *
+     * @param survivors The survivors, already given to {@link #prepareSelection(List)}.
+     * @param childCount The number of children to breed.
+     * @param pipeline The pipelined evaluation of the generation, or {@code null}.
+     * @return The children.
+     */
+    private List<Individual> breedInParallel(List<Individual> survivors, int childCount, PipelinedEvaluation pipeline) {
+        Individual[] children = new Individual[childCount];
+        List<ForkJoinTask<?>> slices = new ArrayList<>(breeders.length);
+        for (int w = 0; w < breeders.length; w++) {
+            Breeder breeder = breeders[w];
+            int from = sliceStart(childCount, w);
+            int to = sliceStart(childCount, w + 1);
+            slices.add(breedingPool.submit(() -> breed(breeder, survivors, children, from, to)));
+        }
+        for (int w = 0; w < slices.size(); w++) {
+            slices.get(w).join();
+            Breeder breeder = breeders[w];
+            recorder.add(breeder.selectionNanos, breeder.crossoverNanos, breeder.mutationNanos);
+            breeder.selectionNanos = 0;
+            breeder.crossoverNanos = 0;
+            breeder.mutationNanos = 0;
+            if (pipeline != null) {
+                for (int j = sliceStart(childCount, w); j < sliceStart(childCount, w + 1); j++) {
+                    pipeline.submit(children[j]);
                 }
-                return tournamentWinners;
+            }
+        }
+        return Arrays.asList(children);
+    }
+
+    private int sliceStart(int childCount, int slice) {
+        return (int) ((long) childCount * slice / breeders.length);
+    }
+
+    /**
+     * Breeds {@code children[from, to)}: selection of the parents, crossover and mutation.
+     */
+    private void breed(Breeder breeder, List<Individual> survivors, Individual[] children, int from, int to) {
+        MutationTargetStrategy mutTarget = config.getMutationTargetStrategy();
+        boolean mutateChildren = mutTarget == MutationTargetStrategy.CHILDREN || mutTarget == MutationTargetStrategy.BOTH;
+        long start = System.nanoTime();
+        breeder.selectionEngine.prepare(poolFitness, survivors.size());
+        for (int j = from; j < to; j++) {
+            breeder.selectionEngine.select(2, breeder.parentIndices);
+            long now = System.nanoTime();
+            breeder.selectionNanos += now - start;
+            start = now;
+            Individual child = crossover(survivors.get(breeder.parentIndices[0]), survivors.get(breeder.parentIndices[1]), breeder.random, breeder.recombination);
+            now = System.nanoTime();
+            breeder.crossoverNanos += now - start;
+            start = now;
+            if (mutateChildren && breeder.random.nextDouble() <= mutationController.getMutationRate()) {
+                mutate(child, breeder.random);
+                now = System.nanoTime();
+                breeder.mutationNanos += now - start;
+                start = now;
+            }
+            children[j] = child;
         }
-        throw new UnsupportedOperationException("selectionStrategy was not ELITISM, ROULETTE or TOURNAMENT");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,269 @@
+package be.brw.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A sequence of genes stored in a growable primitive {@code byte[]}.
+ * <p>
+ * A gene takes one byte instead of a reference to a boxed {@link Byte}, and crossover copies
+ * whole ranges with {@link System#arraycopy}. The hash and the string form are computed once and
+ * kept until the genome is modified, since they are asked for repeatedly (cache lookups,
+ * request bodies, solution bookkeeping) between two mutations.
+ * </p>
+ */
+public final class Genome {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] genes;
+    private int length;
+
+    private int hash;
+    private boolean hashIsValid;
+    private String string;
+
+    /**
+     * Creates an empty genome.
+     *
+     * @param capacity The number of genes the genome can hold before it has to grow.
+     */
+    public Genome(int capacity) {
+        this.genes = capacity == 0 ? EMPTY : new byte[capacity];
+    }
+
+    private Genome(byte[] genes, int length) {
+        this.genes = genes;
+        this.length = length;
+    }
+
+    /**
+     * @param genes The genes; the array is copied.
+     * @return A genome holding the given genes.
+     */
+    public static Genome of(byte[] genes) {
+        return new Genome(genes.clone(), genes.length);
+    }
+
+    /**
+     * @param genes The genes; the list is copied.
+     * @return A genome holding the given genes.
+     */
+    public static Genome of(List<Byte> genes) {
+        byte[] bytes = new byte[genes.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = genes.get(i);
+        }
+        return new Genome(bytes, bytes.length);
+    }
+
+    /**
+     * @return The number of genes.
+     */
+    public int length() {
+        return length;
+    }
+
+    public byte get(int index) {
+        checkIndex(index, length);
+        return genes[index];
+    }
+
+    public void set(int index, byte gene) {
+        checkIndex(index, length);
+        genes[index] = gene;
+        invalidate();
+    }
+
+    /**
+     * Appends a gene at the end of the genome.
+     */
+    public void add(byte gene) {
+        ensureCapacity(length + 1);
+        genes[length++] = gene;
+        invalidate();
+    }
+
+    /**
+     * Inserts a gene, shifting the following genes one position to the right.
+     */
+    public void insert(int index, byte gene) {
+        checkIndex(index, length + 1);
+        ensureCapacity(length + 1);
+        System.arraycopy(genes, index, genes, index + 1, length - index);
+        genes[index] = gene;
+        length++;
+        invalidate();
+    }
+
+    /**
+     * Removes a gene, shifting the following genes one position to the left.
+     *
+     * @return The removed gene.
+     */
+    public byte remove(int index) {
+        checkIndex(index, length);
+        byte gene = genes[index];
+        System.arraycopy(genes, index + 1, genes, index, length - index - 1);
+        length--;
+        invalidate();
+        return gene;
+    }
+
+    /**
+     * Appends a range of another genome at the end of this one.
+     *
+     * @param source The genome to copy from, which may be this genome.
+     * @param from The index of the first gene to copy.
+     * @param to The index after the last gene to copy.
+     */
+    public void append(Genome source, int from, int to) {
+        checkRange(from, to, source.length);
+        ensureCapacity(length + to - from);
+        System.arraycopy(source.genes, from, genes, length, to - from);
+        length += to - from;
+        invalidate();
+    }
+
+    /**
+     * @param from The index of the first gene to copy.
+     * @param to The index after the last gene to copy.
+     * @return A new genome holding the given range of this one.
+     */
+    public Genome copyRange(int from, int to) {
+        checkRange(from, to, length);
+        return new Genome(Arrays.copyOfRange(genes, from, to), to - from);
+    }
+
+    /**
+     * @return An independent copy of this genome.
+     */
+    public Genome copy() {
+        Genome copy = new Genome(Arrays.copyOf(genes, length), length);
+        copy.hash = hash;
+        copy.hashIsValid = hashIsValid;
+        copy.string = string;
+        return copy;
+    }
+
+    /**
+     * Copies the genes into an array.
+     *
+     * @param destination The array to copy to.
+     * @param offset The position of the first gene in the destination.
+     */
+    public void copyTo(byte[] destination, int offset) {
+        System.arraycopy(genes, 0, destination, offset, length);
+    }
+
+    /**
+     * @return A copy of the genes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(genes, length);
+    }
+
+    /**
+     * Returns a {@code List<Byte>} view for code written against the former representation.
+     * Changes made through the view are written to this genome; the genes are boxed on every access,
+     * so hot paths should use the primitive methods instead.
+     *
+     * @return A modifiable view of the genes.
+     */
+    public List<Byte> asList() {
+        return new ListView();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Genome other)) return false;
+        return length == other.length && hashCode() == other.hashCode()
+                && Arrays.equals(genes, 0, length, other.genes, 0, other.length);
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashIsValid) {
+            int h = 1;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + genes[i];
+            }
+            hash = h;
+            hashIsValid = true;
+        }
+        return hash;
+    }
+
+    /**
+     * @return The genes as text, one character per move.
+     */
+    @Override
+    public String toString() {
+        if (string == null) {
+            string = new String(genes, 0, length, StandardCharsets.UTF_8);
+        }
+        return string;
+    }
+
+    private void invalidate() {
+        hashIsValid = false;
+        string = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > genes.length) {
+            genes = Arrays.copyOf(genes, Math.max(capacity, Math.max(16, genes.length + (genes.length >> 1))));
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    private static void checkRange(int from, int to, int bound) {
+        if (from < 0 || to > bound || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + bound);
+        }
+    }
+
+    /**
+     * Boxing view over the genes, backing {@link #asList()}.
+     */
+    private final class ListView extends AbstractList<Byte> implements RandomAccess {
+
+        @Override
+        public Byte get(int index) {
+            return Genome.this.get(index);
+        }
+
+        @Override
+        public Byte set(int index, Byte gene) {
+            byte previous = Genome.this.get(index);
+            Genome.this.set(index, gene);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Byte gene) {
+            insert(index, gene);
+            modCount++;
+        }
+
+        @Override
+        public Byte remove(int index) {
+            modCount++;
+            return Genome.this.remove(index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package be.brw.domain;
+
+import be.brw.domain.strategy.Recombination;
+
+/**
+ * Two {@link Individual}s being recombined into the {@link Genome} of a child.
+ * <p>
+ * One instance serves every crossover of a thread: {@link #reset} points it at the next parents
+ * and child, so breeding a child allocates nothing but the child.
+ * </p>
+ */
+final class GenomeRecombination implements Recombination {
+
+    private Genome first;
+    private Genome second;
+    private double firstFitness;
+    private double secondFitness;
+    private Genome child;
+
+    /**
+     * Points this recombination at two parents and the child to write.
+     *
+     * @return This recombination.
+     */
+    GenomeRecombination reset(Individual individual1, Individual individual2, Genome child) {
+        this.first = individual1.getGenes();
+        this.second = individual2.getGenes();
+        this.firstFitness = individual1.getFitness();
+        this.secondFitness = individual2.getFitness();
+        this.child = child;
+        return this;
+    }
+
+    @Override
+    public int length(int parent) {
+        return genome(parent).length();
+    }
+
+    @Override
+    public byte gene(int parent, int index) {
+        return genome(parent).get(index);
+    }
+
+    @Override
+    public double fitness(int parent) {
+        return parent == FIRST ? firstFitness : secondFitness;
+    }
+
+    @Override
+    public void append(int parent, int from, int to) {
+        child.append(genome(parent), from, to);
+    }
+
+    @Override
+    public void add(byte gene) {
+        child.add(gene);
+    }
+
+    private Genome genome(int parent) {
+        return parent == FIRST ? first : second;
+    }
+}
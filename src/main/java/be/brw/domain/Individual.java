@@ -1,12 +1,10 @@
 package be.brw.domain;
 
-import org.apache.commons.lang3.StringUtils;
-
 import java.util.List;
 /**
  * Represents a single individual in a genetic algorithm population.
  * <p>
- * An individual is defined by its {@code genome}, which is a list of bytes (genes),
+ * An individual is defined by its {@code genome}, a sequence of bytes (genes) stored in a {@link Genome},
  * and its {@code fitness}, an integer score indicating how well it solves the problem.
  * This class is comparable, allowing individuals to be sorted based on their fitness
  * in descending order (higher fitness is better).
@@ -15,21 +13,26 @@ import java.util.List;
 public class Individual implements Comparable<Individual>{
 
     /**
-     * The genetic makeup of the individual, represented as a list of bytes.
+     * The genetic makeup of the individual.
      */
-    private final List<Byte> genome;
+    private final Genome genome;
     /**
      * The fitness score of the individual. A higher value indicates a better solution.
      */
     private double fitness;
+    /**
+     * The trace of the last evaluation, or {@code null}; see {@link EvaluationTrace}.
+     */
+    private EvaluationTrace evaluationTrace;
 
     /**
      * Constructs a new Individual with a specified genome and fitness.
+     * The individual takes ownership of the genome, which must not be shared with another individual.
      *
-     * @param genome The list of bytes representing the individual's genome.
+     * @param genome The individual's genome.
      * @param fitness The initial fitness score of the individual.
      */
-    public Individual(List<Byte> genome, double fitness) {
+    public Individual(Genome genome, double fitness) {
         this.genome = genome;
         this.fitness = fitness;
     }
@@ -37,11 +40,29 @@ public class Individual implements Comparable<Individual>{
     /**
      * Constructs a new Individual with a specified genome and a default fitness of 0.
      *
+     * @param genome The individual's genome.
+     */
+    public Individual(Genome genome){
+        this(genome, 0);
+    }
+
+    /**
+     * Constructs a new Individual with a copy of the given genes and fitness.
+     *
+     * @param genome The list of bytes representing the individual's genome.
+     * @param fitness The initial fitness score of the individual.
+     */
+    public Individual(List<Byte> genome, double fitness) {
+        this(Genome.of(genome), fitness);
+    }
+
+    /**
+     * Constructs a new Individual with a copy of the given genes and a default fitness of 0.
+     *
      * @param genome The list of bytes representing the individual's genome.
      */
     public Individual(List<Byte> genome){
-        this.genome = genome;
-        this.fitness = 0;
+        this(Genome.of(genome), 0);
     }
 
     /**
@@ -63,15 +84,46 @@ public class Individual implements Comparable<Individual>{
     }
 
     /**
-     * Returns the genome of this individual.
+     * @return The trace left by the last evaluation of this individual, or {@code null}.
+     */
+    public EvaluationTrace getEvaluationTrace() {
+        return this.evaluationTrace;
+    }
+
+    /**
+     * Attaches the trace of an evaluation to this individual. It is kept when the genome changes:
+     * the evaluator uses what still matches the new genes.
+     *
+     * @param evaluationTrace The trace, or {@code null} to drop it.
+     */
+    public void setEvaluationTrace(EvaluationTrace evaluationTrace) {
+        this.evaluationTrace = evaluationTrace;
+    }
+
+    /**
+     * Returns the genome of this individual as a list.
      * <p>
-     * Note: This method returns a direct reference to the internal list.
+     * Note: This method returns a view of the internal genome, boxing every gene it reads.
      * Modifications to the returned list will affect the individual's state.
+     * Prefer {@link #getGenes()} in new code.
      * </p>
      *
      * @return The list of bytes representing the genome.
      */
     public List<Byte> getGenome() {
+        return this.genome.asList();
+    }
+
+    /**
+     * Returns the genome of this individual.
+     * <p>
+     * Note: This method returns a direct reference to the internal genome.
+     * Modifications to it will affect the individual's state.
+     * </p>
+     *
+     * @return The genome.
+     */
+    public Genome getGenes() {
         return this.genome;
     }
 
@@ -81,7 +133,7 @@ public class Individual implements Comparable<Individual>{
      * @return The length of the genome.
      */
     public int getGenomeLength() {
-        return this.genome.size();
+        return this.genome.length();
     }
 
     /**
@@ -90,7 +142,7 @@ public class Individual implements Comparable<Individual>{
      * @param index The position of the gene to set.
      * @return the gene at index {index}
      */
-    public Byte getGene(int index){
+    public byte getGene(int index){
         return genome.get(index);
     }
 
@@ -100,7 +152,7 @@ public class Individual implements Comparable<Individual>{
      * @param index The position of the gene to set.
      * @param gene The new gene value.
      */
-    public void setGene(int index, Byte gene){
+    public void setGene(int index, byte gene){
         genome.set(index, gene);
     }
 
@@ -109,7 +161,7 @@ public class Individual implements Comparable<Individual>{
      *
      * @param gene The gene to add.
      */
-    public void addGene(Byte gene){
+    public void addGene(byte gene){
         genome.add(gene);
     }
 
@@ -155,12 +207,10 @@ public class Individual implements Comparable<Individual>{
                 '}';
     }
 
+    /**
+     * @return The genome as text, cached until the genome is modified.
+     */
     public String getGenomeString() {
-        // Convert the list of bytes/integers to a readable string
-        byte[] bytes = new byte[genome.size()];
-        for(int i = 0; i < genome.size(); i++) {
-            bytes[i] = genome.get(i);
-        }
-        return new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
+        return genome.toString();
     }
 }
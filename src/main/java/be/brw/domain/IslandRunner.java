@@ -0,0 +1,309 @@
+package be.brw.domain;
+
+import be.brw.config.GAConfig;
+import be.brw.config.IslandConfig;
+import be.brw.domain.strategy.MigrationTopology;
+import be.brw.domain.strategy.SelectionStrategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs the island model: several {@link GeneticAlgorithm}s, each on its own thread, that
+ * exchange their fittest individuals from time to time.
+ * <p>
+ * Every island evolves a population of {@code populationSize} individuals with the configuration
+ * of the run and a seed of its own. Every {@link IslandConfig#getMigrationInterval()} generations
+ * an island sends copies of its fittest individuals to its neighbours in the
+ * {@link MigrationTopology}, and replaces its least fit individuals with the fittest of the
+ * immigrants waiting for it. Islands never wait for each other: emigrants are dropped in the
+ * neighbour's inbox, a lock-free queue it drains at its own next migration. Since the moment
+ * immigrants arrive depends on thread scheduling, island runs are not reproducible.
+ * </p>
+ * <p>
+ * The run ends when every island reached the last generation, or as soon as one island found
+ * {@code maxSolutions} solutions. The solutions of all islands are merged.
+ * </p>
+ * <p>
+ * In a distributed run a runner only runs a range of the islands. Islands are numbered globally,
+ * the topology spans all of them, and emigrants for the islands of other processes go through a
+ * {@link MigrationTransport}, which hands the migrants it receives to {@link #deliver(int, List)}.
+ * </p>
+ */
+public class IslandRunner {
+
+    private final GAConfig config;
+    private final FitnessEvaluator fitnessEvaluator;
+    private final IslandConfig islandConfig;
+    private final int firstIsland;
+    private final int totalIslands;
+    private final MigrationTransport transport;
+
+    private final List<Island> islands = new ArrayList<>();
+    private final List<RunListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean stopped;
+    private volatile SolutionCollector solutions;
+
+    /**
+     * @param config The configuration of every island, with the island settings.
+     * @param fitnessEvaluator The evaluator shared by all islands; it must be thread-safe.
+     */
+    public IslandRunner(GAConfig config, FitnessEvaluator fitnessEvaluator) {
+        this(config, fitnessEvaluator, 0, config.getIslandConfig().getIslands(), null);
+    }
+
+    /**
+     * Creates the runner of {@link IslandConfig#getIslands()} islands of a larger run, from
+     * {@code firstIsland} on.
+     *
+     * @param config The configuration of every island, with the island settings.
+     * @param fitnessEvaluator The evaluator shared by all islands; it must be thread-safe.
+     * @param firstIsland The global index of the first island of this runner.
+     * @param totalIslands The number of islands of the whole run.
+     * @param transport The transport to the other islands, or {@code null} if this runner runs them all.
+     */
+    public IslandRunner(GAConfig config, FitnessEvaluator fitnessEvaluator, int firstIsland, int totalIslands, MigrationTransport transport) {
+        this.config = config;
+        this.fitnessEvaluator = fitnessEvaluator;
+        this.islandConfig = config.getIslandConfig();
+        this.firstIsland = firstIsland;
+        this.totalIslands = totalIslands;
+        this.transport = transport;
+        // Seeds are drawn for every island of the run, so an island has the same seed whichever process runs it.
+        SplittableRandom seeds = new SplittableRandom(config.getSeed());
+        for (int i = 0; i < firstIsland + islandConfig.getIslands(); i++) {
+            int seed = seeds.nextInt();
+            SplittableRandom random = seeds.split();
+            if (i >= firstIsland) {
+                islands.add(new Island(i, config.withSeed(seed), random));
+            }
+        }
+    }
+
+    /**
+     * Adds a listener told about the progress of every island of the next run; it is called concurrently.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(RunListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Runs all islands until they are done.
+     *
+     * @return The distinct solutions found by the islands, at most {@code maxSolutions}.
+     */
+    public List<String> run() {
+        List<CompletableFuture<List<String>>> results = new ArrayList<>(islands.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(islands.size())) {
+            for (Island island : islands) {
+                results.add(CompletableFuture.supplyAsync(island::run, executor));
+            }
+            SolutionCollector winners = new SolutionCollector(config.getMaxSolutions(), null);
+            for (CompletableFuture<List<String>> result : results) {
+                winners.addAll(result.join());
+            }
+            solutions = winners;
+            return winners.getSolutions();
+        }
+    }
+
+    /**
+     * Gets the shortest of the merged solutions of the last run.
+     *
+     * @return The genome of the shortest solution, or {@code null} if none was found.
+     */
+    public String getShortestSolution() {
+        return solutions == null ? null : solutions.getShortest();
+    }
+
+    /**
+     * Queues migrants for one of the islands of this runner, to be taken in at its next migration.
+     *
+     * @param island The global index of the island.
+     * @param migrants The migrants, scored.
+     * @throws IllegalArgumentException if this runner does not run the island.
+     */
+    public void deliver(int island, List<Individual> migrants) {
+        if (island < firstIsland || island >= firstIsland + islands.size()) {
+            throw new IllegalArgumentException("Island " + island + " is not run here");
+        }
+        islands.get(island - firstIsland).inbox.offer(migrants);
+    }
+
+    /**
+     * Makes every island end its run at its next generation.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * @return Whether the run was stopped, by {@link #stop()} or because an island found {@code maxSolutions} solutions.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return The fittest individual seen by any island of this runner, or {@code null} before {@link #run()}.
+     */
+    public Individual getFittest() {
+        Individual fittest = null;
+        for (Island island : islands) {
+            if (island.fittest != null && (fittest == null || island.fittest.getFitness() > fittest.getFitness())) {
+                fittest = island.fittest;
+            }
+        }
+        return fittest;
+    }
+
+    /**
+     * Returns the islands receiving the emigrants of an island.
+     *
+     * @param topology The topology of the run.
+     * @param island The index of the sending island.
+     * @param count The number of islands.
+     * @param random The random number generator of the sending island, used by {@link MigrationTopology#RANDOM}.
+     * @return The indices of the receiving islands.
+     */
+    static int[] neighbours(MigrationTopology topology, int island, int count, RandomGenerator random) {
+        return switch (topology) {
+            case RING -> new int[]{(island + 1) % count};
+            case FULLY_CONNECTED -> {
+                int[] all = new int[count - 1];
+                for (int i = 0, j = 0; i < count; i++) {
+                    if (i != island) {
+                        all[j++] = i;
+                    }
+                }
+                yield all;
+            }
+            case RANDOM -> {
+                int other = random.nextInt(count - 1);
+                yield new int[]{other >= island ? other + 1 : other};
+            }
+        };
+    }
+
+    /**
+     * One subpopulation, with the inbox its neighbours send to.
+     */
+    private final class Island implements Migration {
+        private final int index;
+        private final GAConfig config;
+        private final RandomGenerator random;
+        private final Queue<List<Individual>> inbox = new ConcurrentLinkedQueue<>();
+
+        private final SelectionEngine fittestEngine;
+        private final SelectionEngine leastFitEngine;
+        private Individual fittest;
+        private double[] fitness = new double[0];
+        private double[] negatedFitness = new double[0];
+        private final int[] selected;
+
+        private Island(int index, GAConfig config, RandomGenerator random) {
+            this.index = index;
+            this.config = config;
+            this.random = random;
+            this.fittestEngine = new SelectionEngine(SelectionStrategy.ELITISM, 0, random);
+            this.leastFitEngine = new SelectionEngine(SelectionStrategy.ELITISM, 0, random);
+            this.selected = new int[Math.max(0, islandConfig.getMigrationSize())];
+        }
+
+        /**
+         * Runs the island on the calling thread, including the evaluation of its initial population.
+         */
+        private List<String> run() {
+            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(config, fitnessEvaluator, this);
+            listeners.forEach(geneticAlgorithm::addListener);
+            List<String> winners = geneticAlgorithm.runAlgorithm();
+            keepIfFitter(geneticAlgorithm.getFittest());
+            if (winners.size() >= config.getMaxSolutions()) {
+                stopped = true;
+            }
+            return winners;
+        }
+
+        @Override
+        public boolean migrate(int generation, List<Individual> population) {
+            if (stopped) {
+                return false;
+            }
+            for (Individual individual : population) {
+                keepIfFitter(individual);
+            }
+            if (generation == 0 || generation % islandConfig.getMigrationInterval() != 0) {
+                return true;
+            }
+            int size = population.size();
+            int migrationSize = Math.min(selected.length, size);
+            if (migrationSize == 0) {
+                return true;
+            }
+            if (fitness.length < size) {
+                fitness = new double[size];
+                negatedFitness = new double[size];
+            }
+            for (int i = 0; i < size; i++) {
+                fitness[i] = population.get(i).getFitness();
+                negatedFitness[i] = -fitness[i];
+            }
+
+            // Emigrants first, so the immigrants of this round are not sent on right away.
+            fittestEngine.prepare(fitness, size);
+            fittestEngine.select(migrationSize, selected);
+            for (int neighbour : neighbours(islandConfig.getTopology(), index, totalIslands, random)) {
+                List<Individual> emigrants = new ArrayList<>(migrationSize);
+                for (int i = 0; i < migrationSize; i++) {
+                    emigrants.add(copy(population.get(selected[i])));
+                }
+                if (neighbour >= firstIsland && neighbour < firstIsland + islands.size()) {
+                    deliver(neighbour, emigrants);
+                } else if (transport != null) {
+                    transport.send(neighbour, emigrants);
+                }
+            }
+
+            List<Individual> immigrants = new ArrayList<>();
+            List<Individual> batch;
+            while ((batch = inbox.poll()) != null) {
+                immigrants.addAll(batch);
+            }
+            if (immigrants.isEmpty()) {
+                return true;
+            }
+            immigrants.sort(Comparator.comparingDouble(Individual::getFitness).reversed());
+            int arrivals = Math.min(migrationSize, immigrants.size());
+            leastFitEngine.prepare(negatedFitness, size);
+            leastFitEngine.select(arrivals, selected);
+            for (int i = 0; i < arrivals; i++) {
+                population.set(selected[i], immigrants.get(i));
+            }
+            return true;
+        }
+
+        /**
+         * Keeps a copy of the individual if it is the fittest seen so far; the population changes it in place.
+         */
+        private void keepIfFitter(Individual individual) {
+            if (individual != null && (fittest == null || individual.getFitness() > fittest.getFitness())) {
+                fittest = copy(individual);
+            }
+        }
+
+        private static Individual copy(Individual individual) {
+            return new Individual(individual.getGenes().copy(), individual.getFitness());
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package be.brw.domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link PopulationStore} kept off-heap, in a memory-mapped file.
+ * <p>
+ * The file starts with a fixed header, followed by an index of {@code capacity} records
+ * (offset, length and fitness of every individual) and by the genes of every individual, back to
+ * back. Only the mapped pages the operating system keeps resident count against memory, so a
+ * population can be far larger than the Java heap. The gene region grows by remapping a larger
+ * window of the file; a single mapping limits it to 2 GiB per store.
+ * </p>
+ * <p>
+ * {@link #commit(int)} records the generation in the header, which makes the file a checkpoint:
+ * {@link #open(Path)} maps it back and a run can resume from the last committed generation.
+ * Pages are written back by the operating system; {@link #close()} forces them to disk.
+ * </p>
+ */
+public final class MappedPopulationStore implements PopulationStore {
+
+    private static final int MAGIC = 0x47415030; // "GAP0"
+    private static final int STATE_WRITING = 0;
+    private static final int STATE_COMMITTED = 1;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_AT = 0;
+    private static final int STATE_AT = 4;
+    private static final int SIZE_AT = 8;
+    private static final int CAPACITY_AT = 12;
+    private static final int USED_AT = 16;
+    private static final int GENERATION_AT = 20;
+
+    private static final int RECORD_BYTES = 16;
+    private static final int RECORD_OFFSET_AT = 0;
+    private static final int RECORD_LENGTH_AT = 4;
+    private static final int RECORD_FITNESS_AT = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer index;
+    private final int capacity;
+    private MappedByteBuffer genes;
+
+    private int size;
+    private int used;
+    private int generation;
+    private boolean committed;
+
+    private MappedPopulationStore(Path file, FileChannel channel, int capacity, long geneBytes) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.index = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * RECORD_BYTES);
+        this.index.order(ByteOrder.nativeOrder());
+        this.genes = mapGenes(geneBytes);
+    }
+
+    /**
+     * Creates an empty store, replacing the file if it exists.
+     *
+     * @param file The file backing the store.
+     * @param capacity The maximum number of individuals.
+     * @param geneBytes The initial size of the gene region, which grows when needed.
+     * @return The store.
+     * @throws UncheckedIOException if the file cannot be created or mapped.
+     */
+    public static MappedPopulationStore create(Path file, int capacity, long geneBytes) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            MappedPopulationStore store = new MappedPopulationStore(file, channel, capacity, Math.max(16, geneBytes));
+            store.index.putInt(MAGIC_AT, MAGIC);
+            store.index.putInt(CAPACITY_AT, capacity);
+            store.writeHeader(STATE_WRITING);
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create population store " + file, e);
+        }
+    }
+
+    /**
+     * Maps an existing store back, with the individuals it held when it was last written.
+     *
+     * @param file The file backing the store.
+     * @return The store; see {@link #isCommitted()} to know whether it holds a complete generation.
+     * @throws UncheckedIOException if the file cannot be read or is not a population store.
+     */
+    public static MappedPopulationStore open(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.nativeOrder());
+            if (header.getInt(MAGIC_AT) != MAGIC) {
+                channel.close();
+                throw new IOException("Not a population store");
+            }
+            int capacity = header.getInt(CAPACITY_AT);
+            long geneBytes = channel.size() - HEADER_BYTES - (long) capacity * RECORD_BYTES;
+            MappedPopulationStore store = new MappedPopulationStore(file, channel, capacity, geneBytes);
+            store.size = header.getInt(SIZE_AT);
+            store.used = header.getInt(USED_AT);
+            store.generation = header.getInt(GENERATION_AT);
+            store.committed = header.getInt(STATE_AT) == STATE_COMMITTED;
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open population store " + file, e);
+        }
+    }
+
+    /**
+     * @return Whether the store holds a complete generation, as recorded by {@link #commit(int)}.
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * @return The generation recorded by the last {@link #commit(int)}.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void commit(int generation) {
+        this.generation = generation;
+        writeHeader(STATE_COMMITTED);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        used = 0;
+        writeHeader(STATE_WRITING);
+    }
+
+    @Override
+    public int begin() {
+        if (size == capacity) {
+            throw new IllegalStateException("Population store " + file + " is full: " + capacity + " individuals");
+        }
+        int record = HEADER_BYTES + size * RECORD_BYTES;
+        index.putInt(record + RECORD_OFFSET_AT, used);
+        index.putInt(record + RECORD_LENGTH_AT, 0);
+        index.putDouble(record + RECORD_FITNESS_AT, 0);
+        return size++;
+    }
+
+    @Override
+    public void add(byte gene) {
+        ensureCapacity(used + 1L);
+        genes.put(used++, gene);
+        growOpenRecord(1);
+    }
+
+    @Override
+    public void append(PopulationStore source, int individual, int from, int to) {
+        int count = to - from;
+        ensureCapacity((long) used + count);
+        if (source instanceof MappedPopulationStore mapped) {
+            genes.put(used, mapped.genes, mapped.offset(individual) + from, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                genes.put(used + i, source.gene(individual, from + i));
+            }
+        }
+        used += count;
+        growOpenRecord(count);
+    }
+
+    @Override
+    public void append(Genome genome) {
+        ensureCapacity((long) used + genome.length());
+        for (int i = 0; i < genome.length(); i++) {
+            genes.put(used + i, genome.get(i));
+        }
+        used += genome.length();
+        growOpenRecord(genome.length());
+    }
+
+    @Override
+    public void insert(int index, byte gene) {
+        int length = length(size - 1);
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        ensureCapacity(used + 1L);
+        int at = offset(size - 1) + index;
+        // The open record is the last one, so only its own tail is shifted.
+        for (int i = used; i > at; i--) {
+            genes.put(i, genes.get(i - 1));
+        }
+        genes.put(at, gene);
+        used++;
+        growOpenRecord(1);
+    }
+
+    @Override
+    public void remove(int index) {
+        checkIndex(size - 1, index);
+        int at = offset(size - 1) + index;
+        for (int i = at; i < used - 1; i++) {
+            genes.put(i, genes.get(i + 1));
+        }
+        used--;
+        growOpenRecord(-1);
+    }
+
+    @Override
+    public void set(int index, byte gene) {
+        checkIndex(size - 1, index);
+        genes.put(offset(size - 1) + index, gene);
+    }
+
+    @Override
+    public byte gene(int individual, int index) {
+        checkIndex(individual, index);
+        return genes.get(offset(individual) + index);
+    }
+
+    @Override
+    public int length(int individual) {
+        return index.getInt(HEADER_BYTES + individual * RECORD_BYTES + RECORD_LENGTH_AT);
+    }
+
+    @Override
+    public double fitness(int individual) {
+        return index.getDouble(HEADER_BYTES + individual * RECORD_BYTES + RECORD_FITNESS_AT);
+    }
+
+    @Override
+    public void setFitness(int individual, double value) {
+        index.putDouble(HEADER_BYTES + individual * RECORD_BYTES + RECORD_FITNESS_AT, value);
+    }
+
+    @Override
+    public void copyGenes(int individual, byte[] destination, int offset) {
+        genes.get(offset(individual), destination, offset, length(individual));
+    }
+
+    /**
+     * Forces the content of the store to disk and closes the file.
+     */
+    @Override
+    public void close() {
+        try {
+            index.force();
+            genes.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close population store " + file, e);
+        }
+    }
+
+    private int offset(int individual) {
+        return index.getInt(HEADER_BYTES + individual * RECORD_BYTES + RECORD_OFFSET_AT);
+    }
+
+    private void growOpenRecord(int delta) {
+        int record = HEADER_BYTES + (size - 1) * RECORD_BYTES + RECORD_LENGTH_AT;
+        index.putInt(record, index.getInt(record) + delta);
+    }
+
+    private void writeHeader(int state) {
+        committed = state == STATE_COMMITTED;
+        index.putInt(SIZE_AT, size);
+        index.putInt(USED_AT, used);
+        index.putInt(GENERATION_AT, generation);
+        index.putInt(STATE_AT, state);
+    }
+
+    private void ensureCapacity(long required) {
+        if (required > genes.capacity()) {
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Population store " + file + " exceeds 2 GiB of genes");
+            }
+            try {
+                genes = mapGenes(Math.min(Integer.MAX_VALUE, Math.max(required, genes.capacity() * 2L)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not grow population store " + file, e);
+            }
+        }
+    }
+
+    private MappedByteBuffer mapGenes(long bytes) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) capacity * RECORD_BYTES, bytes);
+    }
+
+    private void checkIndex(int individual, int index) {
+        int length = length(individual);
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+}
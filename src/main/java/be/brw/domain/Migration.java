@@ -0,0 +1,21 @@
+package be.brw.domain;
+
+import java.util.List;
+
+/**
+ * Exchanges individuals between the population of a {@link GeneticAlgorithm} and the outside
+ * world, as the islands of an {@link IslandRunner} do.
+ */
+public interface Migration {
+
+    /**
+     * Called at the start of every generation, once the population is scored and before selection.
+     * Implementations may replace individuals of the list with scored individuals from elsewhere;
+     * the individuals they send away must be copies, since the population keeps evolving.
+     *
+     * @param generation The generation about to be bred from the population.
+     * @param population The individuals of the population.
+     * @return Whether the run goes on; {@code false} ends it as if the last generation was reached.
+     */
+    boolean migrate(int generation, List<Individual> population);
+}
@@ -0,0 +1,19 @@
+package be.brw.domain;
+
+import java.util.List;
+
+/**
+ * Carries emigrants to the islands an {@link IslandRunner} does not run itself, those of other
+ * processes of a distributed run.
+ */
+public interface MigrationTransport {
+
+    /**
+     * Sends emigrants to an island. Called from the thread of the sending island, so implementations
+     * must not wait for the network; they may drop the emigrants when the island is unreachable.
+     *
+     * @param island The global index of the receiving island.
+     * @param emigrants Copies of the emigrants, owned by the transport from now on.
+     */
+    void send(int island, List<Individual> emigrants);
+}
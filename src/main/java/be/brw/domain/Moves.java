@@ -1,5 +1,7 @@
 package be.brw.domain;
 
+import java.util.random.RandomGenerator;
+
 public enum Moves {
     RIGHT((byte)'R'),
     LEFT((byte)'L'),
@@ -7,6 +9,23 @@ public enum Moves {
     JUMP_LEFT((byte)'-'),
     FREEZE((byte)'/');
 
+    /**
+     * The gene of every move, indexed by {@link #ordinal()}; used as a compact code for the move.
+     */
+    private static final byte[] ALPHABET = new byte[values().length];
+    /**
+     * The code of every gene, or -1 for bytes that are not a move.
+     */
+    private static final byte[] CODES = new byte[256];
+
+    static {
+        java.util.Arrays.fill(CODES, (byte) -1);
+        for (Moves move : values()) {
+            ALPHABET[move.ordinal()] = move.text;
+            CODES[move.text & 0xFF] = (byte) move.ordinal();
+        }
+    }
+
     private final byte text;
 
     Moves(final byte text) {
@@ -28,4 +47,47 @@ public enum Moves {
             default -> FREEZE;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The number of distinct moves.
+     */
+    public static int count() {
+        return ALPHABET.length;
+    }
+
+    /**
+     * @param gene A gene.
+     * @return The code (0 to {@link #count()} - 1) of the move, or -1 if the byte is not a move.
+     */
+    public static int toCode(byte gene) {
+        return CODES[gene & 0xFF];
+    }
+
+    /**
+     * @param code A code between 0 and {@link #count()} - 1.
+     * @return The gene of the move with that code.
+     */
+    public static byte fromCode(int code) {
+        return ALPHABET[code];
+    }
+
+    /**
+     * @param random The source of the move.
+     * @return The gene of a random move.
+     */
+    public static byte random(RandomGenerator random) {
+        return ALPHABET[random.nextInt(ALPHABET.length)];
+    }
+
+    /**
+     * Draws a move other than that of a gene, all of them equally likely, without drawing again.
+     *
+     * @param gene The gene to replace.
+     * @param random The source of the move.
+     * @return The gene of a random move other than {@code gene}.
+     */
+    public static byte randomOtherThan(byte gene, RandomGenerator random) {
+        int code = Math.max(0, toCode(gene));
+        return ALPHABET[(code + 1 + random.nextInt(ALPHABET.length - 1)) % ALPHABET.length];
+    }
+}
@@ -0,0 +1,84 @@
+package be.brw.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Streams the individuals of a generation to a {@link FitnessEvaluator} in chunks while
+ * they are still being produced.
+ * <p>
+ * Each full chunk is handed to {@link FitnessEvaluator#evaluateAsync(List)} right away, so
+ * breeding the next children overlaps with the evaluation of the previous ones. The scores
+ * are only written back to the individuals in {@link #await()}, once breeding is over, so the
+ * breeding loop never observes a fitness changing under its feet.
+ * </p>
+ */
+class PipelinedEvaluation {
+
+    private final FitnessEvaluator fitnessEvaluator;
+    private final int chunkSize;
+
+    private final List<List<Individual>> batches = new ArrayList<>();
+    private final List<CompletableFuture<double[]>> futures = new ArrayList<>();
+    private List<Individual> pending;
+
+    /**
+     * @param fitnessEvaluator The evaluator the chunks are sent to.
+     * @param chunkSize The number of individuals sent in one asynchronous request.
+     */
+    PipelinedEvaluation(FitnessEvaluator fitnessEvaluator, int chunkSize) {
+        this.fitnessEvaluator = fitnessEvaluator;
+        this.chunkSize = chunkSize;
+        this.pending = new ArrayList<>(chunkSize);
+    }
+
+    /**
+     * Queues an individual, dispatching the current chunk once it is full.
+     * The individual must not be modified afterwards.
+     *
+     * @param individual The individual to evaluate.
+     */
+    void submit(Individual individual) {
+        pending.add(individual);
+        if (pending.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Queues several individuals.
+     *
+     * @param individuals The individuals to evaluate.
+     */
+    void submitAll(List<Individual> individuals) {
+        for (Individual individual : individuals) {
+            submit(individual);
+        }
+    }
+
+    /**
+     * Dispatches the last partial chunk, waits for every evaluation and assigns the scores.
+     */
+    void await() {
+        flush();
+        for (int i = 0; i < batches.size(); i++) {
+            List<Individual> batch = batches.get(i);
+            double[] fitness = futures.get(i).join();
+            for (int j = 0; j < fitness.length; j++) {
+                batch.get(j).setFitness(fitness[j]);
+            }
+        }
+        batches.clear();
+        futures.clear();
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        batches.add(pending);
+        futures.add(fitnessEvaluator.evaluateAsync(pending));
+        pending = new ArrayList<>(chunkSize);
+    }
+}
@@ -1,12 +1,11 @@
 package be.brw.domain;
 
 
-import be.brw.infrastructure.RemoteFitnessEvaluator;
-
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 
 /**
@@ -29,7 +28,10 @@ public class Population {
      */
     private List<Individual> individuals;
 
-    private FitnessEvaluator fitnessEvaluator;
+    /**
+     * The evaluator shared by every population of a run, used to score the individuals.
+     */
+    private final FitnessEvaluator fitnessEvaluator;
 
     /**
      * Constructs a new population with randomly generated individuals of variable genome length.
@@ -39,6 +41,7 @@ public class Population {
      * @param minGenomeLength The minimum possible length for a randomly generated genome.
      * @param maxGenomeLength The maximum possible length for a randomly generated genome.
      * @param seed The seed for the random number generator to ensure reproducibility.
+     * @param fitnessEvaluator The evaluator used to score the individuals.
      */
     public Population(int size, int minGenomeLength, int maxGenomeLength, int seed, FitnessEvaluator fitnessEvaluator) {
         this.random = new Random(seed);
@@ -54,6 +57,7 @@ public class Population {
      * @param size The number of individuals to create in the population.
      * @param defaultGenomeLength The fixed length for all randomly generated genomes.
      * @param seed The seed for the random number generator to ensure reproducibility.
+     * @param fitnessEvaluator The evaluator used to score the individuals.
      */
     public Population(int size, int defaultGenomeLength, int seed, FitnessEvaluator fitnessEvaluator){
         this.random = new Random(seed);
@@ -69,23 +73,39 @@ public class Population {
      *
      * @param individuals The pre-existing list of individuals to form the population.
      * @param seed The seed for the random number generator.
+     * @param fitnessEvaluator The evaluator used to score the individuals.
      */
     public Population(List<Individual> individuals, int seed, FitnessEvaluator fitnessEvaluator){
+        this(individuals, seed, fitnessEvaluator, true);
+    }
+
+    /**
+     * Constructs a population from an existing list of individuals, optionally skipping the
+     * fitness evaluation when the individuals have already been scored (e.g. by a pipelined run).
+     *
+     * @param individuals The pre-existing list of individuals to form the population.
+     * @param seed The seed for the random number generator.
+     * @param fitnessEvaluator The evaluator used to score the individuals.
+     * @param evaluate Whether the fitness of the individuals must be calculated now.
+     */
+    public Population(List<Individual> individuals, int seed, FitnessEvaluator fitnessEvaluator, boolean evaluate){
         this.random = new Random(seed);
         this.individuals = individuals;
         this.fitnessEvaluator = fitnessEvaluator;
-        this.updateFitness();
+        if (evaluate) {
+            this.updateFitness();
+        }
     }
 
+    /**
+     * Scores every individual of the population with the injected {@link FitnessEvaluator}.
+     */
     public void updateFitness() {
-        FitnessEvaluator fitnessEvaluator = new RemoteFitnessEvaluator("http://localhost:8000/evaluate");
-        List<Double> fitness = fitnessEvaluator.evaluate(individuals);
+        List<Double> fitness = this.fitnessEvaluator.evaluate(individuals);
 
         for (int i = 0; i < fitness.size(); i++) {
             individuals.get(i).setFitness(fitness.get(i));
         }
-
-
     }
 
     /**
@@ -104,10 +124,7 @@ public class Population {
     private void initPopulation(int size, int minGenomeLength, int maxGenomeLength) {
         this.individuals = new ArrayList<>();
         for (int i = 0; i < size; i++) {
-            int targetLength = random.nextInt(maxGenomeLength - minGenomeLength + 1) + minGenomeLength;
-
-            List<Byte> genome = this.generateRandomGenome(targetLength);
-            Individual individual = new Individual(genome);
+            Individual individual = new Individual(randomGenome(random, minGenomeLength, maxGenomeLength));
             this.individuals.add(individual);
         }
     }
@@ -119,21 +136,72 @@ public class Population {
     private void initPopulation(int size, int defaultGenomeLength){
         this.individuals = new ArrayList<>();
         for (int i = 0; i < size; i++) {
-            List<Byte> genome = this.generateRandomGenome(defaultGenomeLength);
+            Genome genome = this.generateRandomGenome(defaultGenomeLength);
             Individual individual = new Individual(genome);
             this.individuals.add(individual);
         }
     }
 
     /**
-     * Generates a random genome (list of bytes) of a specified length.
+     * Fills a store with random individuals, drawing the same genomes as
+     * {@link #Population(int, int, int, int, FitnessEvaluator)} does for the same seed.
+     * The individuals are not evaluated.
+     *
+     * @param store The store to fill, which is cleared first.
+     * @param size The number of individuals to create.
+     * @param minGenomeLength The minimum possible length for a randomly generated genome.
+     * @param maxGenomeLength The maximum possible length for a randomly generated genome.
+     * @param seed The seed for the random number generator.
+     */
+    public static void generateInto(PopulationStore store, int size, int minGenomeLength, int maxGenomeLength, int seed) {
+        Random random = new Random(seed);
+        store.clear();
+        for (int i = 0; i < size; i++) {
+            addRandom(store, random, minGenomeLength, maxGenomeLength);
+        }
+    }
+
+    /**
+     * Generates a random genome of a random length within the given bounds, drawn as the genomes
+     * of a new population are.
+     *
+     * @param random The source of the length and the moves.
+     * @param minGenomeLength The minimum possible length of the genome.
+     * @param maxGenomeLength The maximum possible length of the genome.
+     * @return The genome.
+     */
+    public static Genome randomGenome(RandomGenerator random, int minGenomeLength, int maxGenomeLength) {
+        return randomGenome(random, random.nextInt(maxGenomeLength - minGenomeLength + 1) + minGenomeLength);
+    }
+
+    /**
+     * Appends a random individual to a store, drawn as by {@link #randomGenome(RandomGenerator, int, int)}.
+     * The individual is not evaluated.
+     *
+     * @param store The store.
+     * @param random The source of the length and the moves.
+     * @param minGenomeLength The minimum possible length of the genome.
+     * @param maxGenomeLength The maximum possible length of the genome.
+     */
+    public static void addRandom(PopulationStore store, RandomGenerator random, int minGenomeLength, int maxGenomeLength) {
+        int targetLength = random.nextInt(maxGenomeLength - minGenomeLength + 1) + minGenomeLength;
+        store.begin();
+        for (int j = 0; j < targetLength; j++) {
+            store.add(Moves.random(random));
+        }
+    }
+
+    /**
+     * Generates a random genome of a specified length.
      */
-    private List<Byte> generateRandomGenome(int genomeLength) {
-        List<Byte> genome = new ArrayList<>();
-        Moves randomMove;
+    private Genome generateRandomGenome(int genomeLength) {
+        return randomGenome(this.random, genomeLength);
+    }
+
+    private static Genome randomGenome(RandomGenerator random, int genomeLength) {
+        Genome genome = new Genome(genomeLength);
         for (int j = 0; j < genomeLength; j++) {
-            randomMove = Moves.values()[this.random.nextInt(Moves.values().length)];
-            genome.add(Moves.toByte(randomMove));
+            genome.add(Moves.random(random));
         }
         return genome;
     }
@@ -0,0 +1,176 @@
+package be.brw.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@link PopulationStore} on the heap, as a structure of arrays.
+ * <p>
+ * The genes of every individual live back to back in a single {@code byte[]} slab; the offset,
+ * length and fitness of individual {@code i} are kept at index {@code i} of parallel primitive arrays.
+ * An arena is cleared and refilled every generation instead of being replaced, and its arrays only
+ * grow, so once they have reached their working size no garbage is produced.
+ * </p>
+ */
+public final class PopulationArena implements PopulationStore {
+
+    private byte[] slab;
+    private int[] offsets;
+    private int[] lengths;
+    private double[] fitness;
+
+    private int size;
+    private int used;
+
+    /**
+     * @param individuals The expected number of individuals.
+     * @param genesPerIndividual The expected average genome length.
+     */
+    public PopulationArena(int individuals, int genesPerIndividual) {
+        this.slab = new byte[Math.max(16, individuals * genesPerIndividual)];
+        this.offsets = new int[Math.max(1, individuals)];
+        this.lengths = new int[offsets.length];
+        this.fitness = new double[offsets.length];
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        used = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int begin() {
+        if (size == offsets.length) {
+            int capacity = size + (size >> 1) + 1;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            fitness = Arrays.copyOf(fitness, capacity);
+        }
+        offsets[size] = used;
+        lengths[size] = 0;
+        fitness[size] = 0;
+        return size++;
+    }
+
+    @Override
+    public void add(byte gene) {
+        ensureCapacity(used + 1);
+        slab[used++] = gene;
+        lengths[size - 1]++;
+    }
+
+    @Override
+    public void append(PopulationStore source, int individual, int from, int to) {
+        int count = to - from;
+        ensureCapacity(used + count);
+        if (source instanceof PopulationArena arena) {
+            System.arraycopy(arena.slab, arena.offsets[individual] + from, slab, used, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                slab[used + i] = source.gene(individual, from + i);
+            }
+        }
+        used += count;
+        lengths[size - 1] += count;
+    }
+
+    @Override
+    public void append(Genome genome) {
+        ensureCapacity(used + genome.length());
+        genome.copyTo(slab, used);
+        used += genome.length();
+        lengths[size - 1] += genome.length();
+    }
+
+    @Override
+    public void insert(int index, byte gene) {
+        int length = lengths[size - 1];
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        ensureCapacity(used + 1);
+        int at = offsets[size - 1] + index;
+        System.arraycopy(slab, at, slab, at + 1, used - at);
+        slab[at] = gene;
+        used++;
+        lengths[size - 1]++;
+    }
+
+    @Override
+    public void remove(int index) {
+        checkIndex(size - 1, index);
+        int at = offsets[size - 1] + index;
+        System.arraycopy(slab, at + 1, slab, at, used - at - 1);
+        used--;
+        lengths[size - 1]--;
+    }
+
+    @Override
+    public void set(int index, byte gene) {
+        checkIndex(size - 1, index);
+        slab[offsets[size - 1] + index] = gene;
+    }
+
+    @Override
+    public byte gene(int individual, int index) {
+        checkIndex(individual, index);
+        return slab[offsets[individual] + index];
+    }
+
+    @Override
+    public int length(int individual) {
+        return lengths[individual];
+    }
+
+    @Override
+    public double fitness(int individual) {
+        return fitness[individual];
+    }
+
+    @Override
+    public void setFitness(int individual, double value) {
+        fitness[individual] = value;
+    }
+
+    /**
+     * @return The slab holding the genes, valid until the next write; use with {@link #offset(int)}.
+     */
+    public byte[] slab() {
+        return slab;
+    }
+
+    /**
+     * @return The position of the first gene of an individual in the {@link #slab()}.
+     */
+    public int offset(int individual) {
+        return offsets[individual];
+    }
+
+    @Override
+    public void copyGenes(int individual, byte[] destination, int offset) {
+        System.arraycopy(slab, offsets[individual], destination, offset, lengths[individual]);
+    }
+
+    @Override
+    public String genomeString(int individual) {
+        return new String(slab, offsets[individual], lengths[individual], StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > slab.length) {
+            slab = Arrays.copyOf(slab, Math.max(capacity, slab.length + (slab.length >> 1)));
+        }
+    }
+
+    private void checkIndex(int individual, int index) {
+        if (index < 0 || index >= lengths[individual]) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + lengths[individual]);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package be.brw.domain;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A population stored as primitive genes and fitness values rather than {@link Individual} objects.
+ * <p>
+ * Individual {@code i} is addressed by its index. Individuals are written one at a time:
+ * {@link #begin()} opens a record at the end of the store, genes are appended to it, and the open
+ * record can also be edited in place (insert, remove, set) until the next one is begun.
+ * Records written before are read-only. A store is cleared and refilled every generation.
+ * </p>
+ *
+ * @see PopulationArena
+ * @see MappedPopulationStore
+ */
+public interface PopulationStore extends AutoCloseable {
+
+    /**
+     * @return The number of individuals.
+     */
+    int size();
+
+    /**
+     * Removes every individual, keeping the allocated storage.
+     */
+    void clear();
+
+    /**
+     * Opens a new, empty record at the end of the store.
+     *
+     * @return The index of the new individual.
+     */
+    int begin();
+
+    /**
+     * Appends a gene to the open record.
+     */
+    void add(byte gene);
+
+    /**
+     * Appends a range of genes of an individual, which may live in this store, to the open record.
+     *
+     * @param source The store holding the individual.
+     * @param individual The index of the individual in the source store.
+     * @param from The index of the first gene to copy.
+     * @param to The index after the last gene to copy.
+     */
+    void append(PopulationStore source, int individual, int from, int to);
+
+    /**
+     * Appends the genes of a genome to the open record.
+     */
+    void append(Genome genome);
+
+    /**
+     * Inserts a gene in the open record, shifting the following genes to the right.
+     */
+    void insert(int index, byte gene);
+
+    /**
+     * Removes a gene from the open record, shifting the following genes to the left.
+     */
+    void remove(int index);
+
+    /**
+     * Replaces a gene of the open record.
+     */
+    void set(int index, byte gene);
+
+    byte gene(int individual, int index);
+
+    int length(int individual);
+
+    double fitness(int individual);
+
+    void setFitness(int individual, double value);
+
+    /**
+     * Copies the genes of an individual into an array.
+     *
+     * @param individual The index of the individual.
+     * @param destination The array to copy to, at least {@link #length(int)} long from {@code offset}.
+     * @param offset The position of the first gene in the destination.
+     */
+    void copyGenes(int individual, byte[] destination, int offset);
+
+    /**
+     * Marks the content of the store as a complete, evaluated generation.
+     * Persistent stores record it so a run can be resumed from there; the default does nothing.
+     *
+     * @param generation The number of the generation held by the store.
+     */
+    default void commit(int generation) {
+    }
+
+    /**
+     * @return The genome of an individual as text.
+     */
+    default String genomeString(int individual) {
+        byte[] genes = new byte[length(individual)];
+        copyGenes(individual, genes, 0);
+        return new String(genes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return A copy of an individual as a standalone object.
+     */
+    default Individual toIndividual(int individual) {
+        byte[] genes = new byte[length(individual)];
+        copyGenes(individual, genes, 0);
+        return new Individual(Genome.of(genes), fitness(individual));
+    }
+
+    /**
+     * Releases the resources (files, mappings) held by this store.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,62 @@
+package be.brw.domain;
+
+import be.brw.metrics.GenerationMetrics;
+
+import java.util.List;
+
+/**
+ * Receives the progress of a {@link GeneticAlgorithm} run: every generation, every solution found,
+ * and the result.
+ * <p>
+ * Listeners are called on the thread running the algorithm, so they should hand the events over
+ * rather than write them out; see {@code ProgressLog}. Listeners shared by several runs, like the
+ * islands of an {@link IslandRunner}, are called concurrently.
+ * </p>
+ */
+public interface RunListener {
+
+    /**
+     * @param metrics The metrics of a generation that just ended.
+     */
+    default void onGeneration(GenerationMetrics metrics) {
+    }
+
+    /**
+     * Called once for every distinct solution, in the order they are found.
+     *
+     * @param generation The generation it was found in.
+     * @param genome The genome of the solution.
+     * @param fitness Its fitness.
+     */
+    default void onSolution(int generation, String genome, double fitness) {
+    }
+
+    /**
+     * Called once before the first generation of a run that continues an earlier one, rather than starting from generation 0.
+     *
+     * @param generation The generation the run continues from.
+     * @param from Where that generation was read from: a checkpoint directory or a population file.
+     */
+    default void onResumed(int generation, String from) {
+    }
+
+    /**
+     * Called when a {@link TerminationPolicy} stops the run early, just before {@link #onFinished}.
+     *
+     * @param generation The index of the last generation.
+     * @param reason Why the policy stopped the run.
+     */
+    default void onTerminated(int generation, String reason) {
+    }
+
+    /**
+     * Called once when the run ends, whether it reached its last generation, found enough solutions or was stopped early.
+     *
+     * @param generations The index of the last generation.
+     * @param bestGenome The genome of the fittest individual of the last generation.
+     * @param bestFitness Its fitness.
+     * @param solutions The solutions found.
+     */
+    default void onFinished(int generations, String bestGenome, double bestFitness, List<String> solutions) {
+    }
+}
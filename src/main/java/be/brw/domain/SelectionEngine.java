@@ -0,0 +1,296 @@
+package be.brw.domain;
+
+import be.brw.domain.strategy.SelectionStrategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws individuals from a pool of fitness values in time linear in the size of the pool.
+ * <p>
+ * {@link #prepare(double[], int)} is called once per pool, then any number of
+ * {@link #select(int, int[])} calls draw from it:
+ * </p>
+ * <ul>
+ *     <li>ROULETTE builds a Vose alias table in O(n), after which every pick is O(1).
+ *     Negative fitness values weigh as zero; when every weight is zero the pick is uniform.</li>
+ *     <li>TOURNAMENT draws {@code tournamentSize} distinct random indices with Floyd's algorithm
+ *     and keeps the fittest, in O(t²) per pick whatever the size of the pool.</li>
+ *     <li>ELITISM partitions the pool around the k-th best individual with a three-way quickselect,
+ *     in O(n) on average, and only sorts those k. The ranking is kept for later calls.</li>
+ * </ul>
+ * <p>
+ * Selections are returned as indices into the pool, so nothing is reordered or copied.
+ * The working arrays are reused from one pool to the next.
+ * </p>
+ */
+public final class SelectionEngine {
+
+    private final SelectionStrategy strategy;
+    private final int tournamentSize;
+    private final RandomGenerator random;
+
+    private double[] fitness;
+    private int size;
+
+    // ROULETTE
+    private boolean aliasBuilt;
+    private double[] probability = new double[0];
+    private int[] alias = new int[0];
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+    private boolean uniform;
+
+    // ELITISM
+    private int[] order = new int[0];
+    private int[] scratch = new int[0];
+    private int ranked;
+
+    // TOURNAMENT
+    private int[] players = new int[0];
+
+    /**
+     * @param strategy The selection strategy.
+     * @param tournamentSize The number of players of a tournament, only used by TOURNAMENT.
+     * @param random The random number generator of the run.
+     */
+    public SelectionEngine(SelectionStrategy strategy, int tournamentSize, RandomGenerator random) {
+        this.strategy = strategy;
+        this.tournamentSize = tournamentSize;
+        this.random = random;
+    }
+
+    /**
+     * Sets the pool to select from.
+     *
+     * @param fitness The fitness of the individuals of the pool; it must not change while the pool is used.
+     * @param size The number of individuals in the pool, the first {@code size} entries of {@code fitness}.
+     */
+    public void prepare(double[] fitness, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cannot select from an empty pool");
+        }
+        this.fitness = fitness;
+        this.size = size;
+        this.aliasBuilt = false;
+        this.ranked = 0;
+    }
+
+    /**
+     * Selects individuals from the pool.
+     *
+     * @param count The number of individuals to select.
+     * @param out The array receiving the indices of the selected individuals; for ELITISM the
+     *            fittest first, for the other strategies in drawing order, possibly with repeats.
+     */
+    public void select(int count, int[] out) {
+        switch (strategy) {
+            case ELITISM -> {
+                if (count > size) {
+                    throw new IllegalArgumentException("Cannot select " + count + " out of " + size + " individuals");
+                }
+                rank(count);
+                System.arraycopy(order, 0, out, 0, count);
+            }
+            case ROULETTE -> {
+                if (!aliasBuilt) {
+                    buildAliasTable();
+                }
+                for (int k = 0; k < count; k++) {
+                    out[k] = spin();
+                }
+            }
+            case TOURNAMENT -> {
+                for (int k = 0; k < count; k++) {
+                    out[k] = tournament();
+                }
+            }
+            default -> throw new UnsupportedOperationException("selectionStrategy was not ELITISM, ROULETTE or TOURNAMENT");
+        }
+    }
+
+    // ROULETTE
+
+    /**
+     * Builds the alias table of the pool with Vose's method: every column holds the probability
+     * of its own individual and, for the rest, an alias whose weight overflowed.
+     */
+    private void buildAliasTable() {
+        if (probability.length < size) {
+            probability = new double[size];
+            alias = new int[size];
+            small = new int[size];
+            large = new int[size];
+        }
+        aliasBuilt = true;
+
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += Math.max(0, fitness[i]);
+        }
+        uniform = !(total > 0) || Double.isInfinite(total);
+        if (uniform) {
+            return;
+        }
+
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            probability[i] = Math.max(0, fitness[i]) * size / total;
+            if (probability[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            alias[less] = more;
+            probability[more] = probability[more] + probability[less] - 1.0;
+            if (probability[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // What is left is 1 up to rounding errors.
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    private int spin() {
+        int column = random.nextInt(size);
+        if (uniform) {
+            return column;
+        }
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    // TOURNAMENT
+
+    /**
+     * Plays a tournament between distinct random individuals, drawn with Floyd's algorithm.
+     */
+    private int tournament() {
+        int playerCount = Math.min(tournamentSize, size);
+        if (players.length < playerCount) {
+            players = new int[playerCount];
+        }
+        int drawn = 0;
+        for (int j = size - playerCount; j < size; j++) {
+            int candidate = random.nextInt(j + 1);
+            for (int p = 0; p < drawn; p++) {
+                if (players[p] == candidate) {
+                    candidate = j;
+                    break;
+                }
+            }
+            players[drawn++] = candidate;
+        }
+
+        int winner = players[0];
+        for (int p = 1; p < drawn; p++) {
+            if (fitness[players[p]] > fitness[winner]) {
+                winner = players[p];
+            }
+        }
+        return winner;
+    }
+
+    // ELITISM
+
+    /**
+     * Makes sure the first {@code count} entries of {@link #order} are the fittest individuals, fittest first.
+     */
+    private void rank(int count) {
+        if (count <= ranked) {
+            return;
+        }
+        if (order.length < size) {
+            order = new int[size];
+            scratch = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        quickselect(count);
+        sort(0, count);
+        ranked = count;
+    }
+
+    /**
+     * Partially orders {@link #order} so its first {@code count} entries are the fittest individuals.
+     * Three-way partitioning keeps it linear when many individuals share the same fitness.
+     */
+    private void quickselect(int count) {
+        int from = 0;
+        int to = size;
+        while (to - from > 1) {
+            double pivot = medianOfThree(from, (from + to) >>> 1, to - 1);
+            // [from, lt) fitter than the pivot, [lt, i) equal, [gt, to) less fit.
+            int lt = from;
+            int i = from;
+            int gt = to;
+            while (i < gt) {
+                double value = fitness[order[i]];
+                if (value > pivot) {
+                    swap(lt++, i++);
+                } else if (value < pivot) {
+                    swap(i, --gt);
+                } else {
+                    i++;
+                }
+            }
+            if (count < lt) {
+                to = lt;
+            } else if (count > gt) {
+                from = gt;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double medianOfThree(int a, int b, int c) {
+        double x = fitness[order[a]];
+        double y = fitness[order[b]];
+        double z = fitness[order[c]];
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+
+    private void swap(int i, int j) {
+        int t = order[i];
+        order[i] = order[j];
+        order[j] = t;
+    }
+
+    /**
+     * Merge sort of {@code order[from, to)} by descending fitness, ties by ascending index.
+     */
+    private void sort(int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(from, middle);
+        sort(middle, to);
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && !before(scratch[right], scratch[left]))) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    private boolean before(int a, int b) {
+        return fitness[a] > fitness[b] || (fitness[a] == fitness[b] && a < b);
+    }
+}
@@ -0,0 +1,193 @@
+package be.brw.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The distinct solutions of a run, in the order they were found.
+ * <p>
+ * Solutions are indexed by their genes in an open-addressing hash table, so telling whether an
+ * individual is a new solution costs one hash of its genes, and no text is made of its genome
+ * unless it is new. Every new solution is handed to the {@link SolutionSink} right away, and the
+ * shortest solution is kept up to date as solutions come in.
+ * </p>
+ * <p>
+ * The collector holds at most {@code maxSolutions} solutions; further ones are ignored. It is
+ * thread-safe, so islands may merge their solutions into one collector.
+ * </p>
+ */
+public final class SolutionCollector {
+
+    /**
+     * Receives every new solution as soon as it is collected.
+     */
+    @FunctionalInterface
+    public interface SolutionSink {
+        /**
+         * @param generation The generation the solution was found in, or -1 if unknown.
+         * @param genome The genome of the solution.
+         * @param fitness Its fitness, or {@code NaN} if unknown.
+         */
+        void accept(int generation, String genome, double fitness);
+    }
+
+    private final int maxSolutions;
+    private final SolutionSink sink;
+    /**
+     * The index of a solution plus one, or 0 for a free slot.
+     */
+    private int[] slots = new int[64];
+    private final List<byte[]> genes = new ArrayList<>();
+    private int[] hashes = new int[32];
+    private final List<String> solutions = new ArrayList<>();
+    private int shortest = -1;
+    /**
+     * The genes of the individual being looked up.
+     */
+    private byte[] scratch = new byte[64];
+
+    /**
+     * @param maxSolutions The maximum number of solutions to collect.
+     * @param sink The sink told about every new solution, or {@code null}.
+     */
+    public SolutionCollector(int maxSolutions, SolutionSink sink) {
+        this.maxSolutions = maxSolutions;
+        this.sink = sink;
+    }
+
+    /**
+     * Collects the genome of an individual if it is a new solution.
+     *
+     * @param genome The genome; it is copied if collected.
+     * @param fitness Its fitness.
+     * @param generation The generation it was found in.
+     * @return Whether it was collected.
+     */
+    public synchronized boolean add(Genome genome, double fitness, int generation) {
+        int length = genome.length();
+        genome.copyTo(scratch(length), 0);
+        return add(length, fitness, generation, true);
+    }
+
+    /**
+     * Collects the genome of an individual of a store if it is a new solution.
+     *
+     * @param store The store.
+     * @param individual The index of the individual in the store.
+     * @param generation The generation it was found in.
+     * @return Whether it was collected.
+     */
+    public synchronized boolean add(PopulationStore store, int individual, int generation) {
+        int length = store.length(individual);
+        store.copyGenes(individual, scratch(length), 0);
+        return add(length, store.fitness(individual), generation, true);
+    }
+
+    /**
+     * Merges solutions collected elsewhere, or restored from a checkpoint, without telling the sink.
+     *
+     * @param genomes The genomes of the solutions.
+     */
+    public synchronized void addAll(Collection<String> genomes) {
+        for (String genome : genomes) {
+            byte[] bytes = genome.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, scratch(bytes.length), 0, bytes.length);
+            add(bytes.length, Double.NaN, -1, false);
+        }
+    }
+
+    public synchronized int size() {
+        return solutions.size();
+    }
+
+    /**
+     * @return Whether {@code maxSolutions} solutions were collected.
+     */
+    public synchronized boolean isFull() {
+        return solutions.size() >= maxSolutions;
+    }
+
+    /**
+     * @return A copy of the solutions, in the order they were collected.
+     */
+    public synchronized List<String> getSolutions() {
+        return new ArrayList<>(solutions);
+    }
+
+    /**
+     * @return The shortest solution, the first one collected among equally short ones; or {@code null} if there is none.
+     */
+    public synchronized String getShortest() {
+        return shortest < 0 ? null : solutions.get(shortest);
+    }
+
+    private boolean add(int length, double fitness, int generation, boolean notify) {
+        if (solutions.size() >= maxSolutions) {
+            return false;
+        }
+        int hash = hash(scratch, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        for (int entry = slots[slot]; entry != 0; entry = slots[slot]) {
+            byte[] known = genes.get(entry - 1);
+            if (hashes[entry - 1] == hash && Arrays.equals(known, 0, known.length, scratch, 0, length)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int index = solutions.size();
+        byte[] copy = Arrays.copyOf(scratch, length);
+        String genome = new String(copy, StandardCharsets.UTF_8);
+        genes.add(copy);
+        solutions.add(genome);
+        if (index == hashes.length) {
+            hashes = Arrays.copyOf(hashes, index * 2);
+        }
+        hashes[index] = hash;
+        slots[slot] = index + 1;
+        if (shortest < 0 || length < genes.get(shortest).length) {
+            shortest = index;
+        }
+        if (solutions.size() * 2 > slots.length) {
+            rehash();
+        }
+        if (notify && sink != null) {
+            sink.accept(generation, genome, fitness);
+        }
+        return true;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int index = 0; index < solutions.size(); index++) {
+            int slot = hashes[index] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+
+    /**
+     * @return A hash of the genes, with its bits spread so that the low bits index the table well.
+     */
+    private static int hash(byte[] genes, int length) {
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + genes[i];
+        }
+        return h ^ (h >>> 16) ^ (h >>> 7);
+    }
+}
@@ -0,0 +1,47 @@
+package be.brw.domain;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} whose state can be read and restored, to checkpoint a run.
+ * <p>
+ * It implements the same linear congruential generator as {@link Random}, so it draws the same
+ * numbers for the same seed, but keeps the 48-bit state in a plain field. Unlike {@link Random}
+ * it is not thread-safe, and {@link #nextGaussian()}'s spare value is not part of the state.
+ * </p>
+ */
+final class StatefulRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Set by setSeed, which the constructor of Random calls before the fields of this class are initialized.
+    private long state;
+
+    StatefulRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state & MASK;
+    }
+}
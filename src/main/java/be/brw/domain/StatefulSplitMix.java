@@ -0,0 +1,81 @@
+package be.brw.domain;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link java.util.SplittableRandom} whose state can be read and restored, to checkpoint a run.
+ * <p>
+ * It implements the same SplitMix64 generator, so it draws the same numbers, and splits off the
+ * same streams, for the same seed.
+ * </p>
+ */
+final class StatefulSplitMix implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private long gamma;
+
+    StatefulSplitMix(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private StatefulSplitMix(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * @return A new generator whose stream is independent of this one's.
+     */
+    StatefulSplitMix split() {
+        return new StatefulSplitMix(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    long getGamma() {
+        return gamma;
+    }
+
+    void setState(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        // Gammas with too few bit transitions make poor streams.
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,119 @@
+package be.brw.domain;
+
+import be.brw.config.TerminationConfig;
+import be.brw.metrics.GenerationMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a run should stop early, after each of its generations.
+ * <p>
+ * A policy is asked once per generation, after its metrics are published, and its answer is
+ * reported as the reason the run stopped. The standard policies are built from a
+ * {@link TerminationConfig} by {@link #of(TerminationConfig)}; others can be added to a
+ * {@link GeneticAlgorithm}. A policy that keeps state, like {@link #stagnation(int)}, serves one run.
+ * </p>
+ */
+@FunctionalInterface
+public interface TerminationPolicy {
+
+    /**
+     * @param metrics The metrics of the generation that just ended.
+     * @param evaluations The number of individuals the run evaluated so far, its initial population included.
+     * @param elapsedNanos The time since the run started.
+     * @return Why the run should stop, or {@code null} to go on.
+     */
+    String check(GenerationMetrics metrics, long evaluations, long elapsedNanos);
+
+    /**
+     * @return The policies turned on by a configuration, new for one run.
+     */
+    static List<TerminationPolicy> of(TerminationConfig config) {
+        return of(config, Double.NEGATIVE_INFINITY, 0);
+    }
+
+    /**
+     * Builds the policies of a run that continues from a checkpoint, which stagnates since the generation it last improved in.
+     *
+     * @param bestFitnessOverall The best fitness of the run so far.
+     * @param lastImprovement The generation that raised it to that.
+     * @return The policies turned on by a configuration, new for one run.
+     */
+    static List<TerminationPolicy> of(TerminationConfig config, double bestFitnessOverall, int lastImprovement) {
+        List<TerminationPolicy> policies = new ArrayList<>(4);
+        if (config.getStagnationGenerations() > 0) {
+            policies.add(stagnation(config.getStagnationGenerations(), bestFitnessOverall, lastImprovement));
+        }
+        if (config.getMinDiversity() > 0.0) {
+            policies.add(diversityCollapse(config.getMinDiversity()));
+        }
+        if (config.getMaxWallClockMs() > 0) {
+            policies.add(wallClock(config.getMaxWallClockMs()));
+        }
+        if (config.getMaxEvaluations() > 0) {
+            policies.add(evaluationBudget(config.getMaxEvaluations()));
+        }
+        return policies;
+    }
+
+    /**
+     * Stops a run whose best fitness did not rise for {@code generations} generations.
+     */
+    static TerminationPolicy stagnation(int generations) {
+        return stagnation(generations, Double.NEGATIVE_INFINITY, 0);
+    }
+
+    /**
+     * Stops a run whose best fitness did not rise for {@code generations} generations, counted from
+     * generation {@code lastImprovement}, which raised it to {@code bestFitness}.
+     */
+    static TerminationPolicy stagnation(int generations, double bestFitness, int lastImprovement) {
+        return new TerminationPolicy() {
+            private double best = bestFitness;
+            private int improvedAt = lastImprovement;
+
+            @Override
+            public String check(GenerationMetrics metrics, long evaluations, long elapsedNanos) {
+                if (metrics.getBestFitnessOverall() > best) {
+                    best = metrics.getBestFitnessOverall();
+                    improvedAt = metrics.getGeneration();
+                    return null;
+                }
+                int stagnant = metrics.getGeneration() - improvedAt;
+                return stagnant >= generations
+                        ? "stagnation: best fitness " + best + " unchanged for " + stagnant + " generations"
+                        : null;
+            }
+        };
+    }
+
+    /**
+     * Stops a run once the share of distinct genomes in its population drops below {@code minDiversity}.
+     */
+    static TerminationPolicy diversityCollapse(double minDiversity) {
+        return (metrics, evaluations, elapsedNanos) -> metrics.getDiversity() < minDiversity
+                ? "diversity collapse: " + metrics.getDiversity() + " distinct genomes, below " + minDiversity
+                : null;
+    }
+
+    /**
+     * Stops a run that ran for {@code maxMillis} milliseconds.
+     */
+    static TerminationPolicy wallClock(long maxMillis) {
+        long maxNanos = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        return (metrics, evaluations, elapsedNanos) -> elapsedNanos >= maxNanos
+                ? "wall-clock budget: " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms of " + maxMillis + " ms spent"
+                : null;
+    }
+
+    /**
+     * Stops a run that evaluated {@code maxEvaluations} individuals.
+     */
+    static TerminationPolicy evaluationBudget(long maxEvaluations) {
+        return (metrics, evaluations, elapsedNanos) -> evaluations >= maxEvaluations
+                ? "evaluation budget: " + evaluations + " of " + maxEvaluations + " evaluations spent"
+                : null;
+    }
+}
@@ -0,0 +1,191 @@
+package be.brw.domain.game;
+
+/**
+ * Plays a move string on a {@link Level} and scores the outcome, entirely on primitives.
+ * <p>
+ * The player occupies one cell and every gene is one tick of the game:
+ * </p>
+ * <ul>
+ *     <li>{@code R} / {@code L} move one cell right / left, unless the cell is solid;</li>
+ *     <li>{@code +} / {@code -} do the same and, when standing on ground, start a jump
+ *     that rises one cell per tick for {@link Level#getJumpHeight()} ticks;</li>
+ *     <li>{@code /} (or any other byte) does nothing.</li>
+ * </ul>
+ * After the horizontal move the player rises while a jump lasts, otherwise falls one cell if
+ * nothing solid is below. Touching spikes or falling out of the level ends the game; reaching a
+ * goal cell wins it.
+ * <p>
+ * The whole game state fits in a {@code long} (see {@link #initialState()}), so it can be
+ * snapshotted and resumed without allocating anything.
+ * </p>
+ * <p>
+ * Scores: a win is worth {@value #WIN_SCORE} plus one point for every tick under
+ * {@value #TIME_BONUS} it took. Otherwise the score is the horizontal progress towards the
+ * goal, scaled to {@value #PROGRESS_SCORE}, and halved when the player died.
+ * </p>
+ * <p>
+ * This is a stand-in game, not the game of the fitness service: the source of the service is not
+ * part of this repository, so these rules, and the levels under {@code levels/}, were made up.
+ * Only the threshold of a win, {@value #WIN_SCORE}, is taken from what the algorithm expects. No
+ * scores recorded from the service are checked in, so {@code LocalFitnessEvaluatorParityTest}
+ * skips; record some with {@code be.brw.FitnessRecorder} into {@code src/test/resources/parity}
+ * before treating local scores as the service's. Likewise, the speedups of incremental evaluation
+ * and of the prefix cache were measured on this game and say nothing about the service.
+ * </p>
+ */
+public final class GameSimulator {
+
+    public static final int RUNNING = 0;
+    public static final int WON = 1;
+    public static final int DEAD = 2;
+
+    public static final double WIN_SCORE = 3500.0;
+    public static final double PROGRESS_SCORE = 3000.0;
+    public static final int TIME_BONUS = 500;
+    private static final double DEATH_FACTOR = 0.5;
+
+    // Layout of the packed state: x | y | remaining jump ticks | best x | status
+    private static final int Y_SHIFT = 16;
+    private static final int JUMP_SHIFT = 32;
+    private static final int BEST_X_SHIFT = 40;
+    private static final int STATUS_SHIFT = 56;
+    private static final long MASK_16 = 0xFFFF;
+    private static final long MASK_8 = 0xFF;
+
+    private final Level level;
+
+    public GameSimulator(Level level) {
+        if (level.getWidth() > MASK_16 || level.getHeight() >= MASK_16 || level.getJumpHeight() > MASK_8) {
+            throw new IllegalArgumentException("Level too large for the packed game state");
+        }
+        this.level = level;
+    }
+
+    /**
+     * @return The state of a game that has not started yet: the player on the start cell.
+     */
+    public long initialState() {
+        return pack(level.getStartX(), level.getStartY(), 0, level.getStartX(), RUNNING);
+    }
+
+    /**
+     * Plays one move.
+     *
+     * @param state The packed state before the move; must be {@link #RUNNING}.
+     * @param move The gene to play.
+     * @return The packed state after the move.
+     */
+    public long step(long state, byte move) {
+        int x = x(state);
+        int y = y(state);
+        int jump = (int) ((state >>> JUMP_SHIFT) & MASK_8);
+        int bestX = (int) ((state >>> BEST_X_SHIFT) & MASK_16);
+
+        int dx = switch (move) {
+            case 'R', '+' -> 1;
+            case 'L', '-' -> -1;
+            default -> 0;
+        };
+        if ((move == '+' || move == '-') && jump == 0 && level.cell(x, y + 1) == Level.SOLID) {
+            jump = level.getJumpHeight();
+        }
+        if (dx != 0 && level.cell(x + dx, y) != Level.SOLID) {
+            x += dx;
+        }
+        if (jump > 0) {
+            if (level.cell(x, y - 1) != Level.SOLID) {
+                y--;
+                jump--;
+            } else {
+                jump = 0;
+            }
+        } else if (level.cell(x, y + 1) != Level.SOLID) {
+            y++;
+        }
+
+        int status = RUNNING;
+        if (y >= level.getHeight() || level.cell(x, y) == Level.SPIKES) {
+            status = DEAD;
+            y = Math.min(y, level.getHeight());
+        } else if (level.cell(x, y) == Level.GOAL) {
+            status = WON;
+        }
+        return pack(x, y, jump, Math.max(bestX, x), status);
+    }
+
+    /**
+     * Plays moves from a given state until they run out or the game ends.
+     *
+     * @param state The packed state to start from.
+     * @param genome The genes.
+     * @param from The index of the first gene to play.
+     * @param to The index after the last gene to play.
+     * @return The packed state after the last played move.
+     */
+    public long run(long state, byte[] genome, int from, int to) {
+        for (int i = from; i < to && status(state) == RUNNING; i++) {
+            state = step(state, genome[i]);
+        }
+        return state;
+    }
+
+    /**
+     * Plays a whole genome and scores it.
+     *
+     * @param genome The buffer holding the genes.
+     * @param offset The index of the first gene.
+     * @param length The number of genes.
+     * @return The fitness of the genome.
+     */
+    public double evaluate(byte[] genome, int offset, int length) {
+        long state = initialState();
+        int ticks = 0;
+        for (int i = offset; i < offset + length && status(state) == RUNNING; i++) {
+            state = step(state, genome[i]);
+            ticks++;
+        }
+        return score(state, ticks);
+    }
+
+    /**
+     * Scores a final game state.
+     *
+     * @param state The packed state after the last played move.
+     * @param ticks The number of moves played to reach it.
+     * @return The fitness of the game.
+     */
+    public double score(long state, int ticks) {
+        int status = status(state);
+        if (status == WON) {
+            return WIN_SCORE + Math.max(0, TIME_BONUS - ticks);
+        }
+        int bestX = (int) ((state >>> BEST_X_SHIFT) & MASK_16);
+        int distance = Math.max(1, level.getGoalX() - level.getStartX());
+        double progress = PROGRESS_SCORE * Math.max(0, bestX - level.getStartX()) / distance;
+        return status == DEAD ? progress * DEATH_FACTOR : progress;
+    }
+
+    public static int status(long state) {
+        return (int) (state >>> STATUS_SHIFT);
+    }
+
+    public static int x(long state) {
+        return (int) (state & MASK_16);
+    }
+
+    public static int y(long state) {
+        return (int) ((state >>> Y_SHIFT) & MASK_16);
+    }
+
+    private static long pack(int x, int y, int jump, int bestX, int status) {
+        return (x & MASK_16)
+                | (y & MASK_16) << Y_SHIFT
+                | (jump & MASK_8) << JUMP_SHIFT
+                | (bestX & MASK_16) << BEST_X_SHIFT
+                | (long) status << STATUS_SHIFT;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,181 @@
+package be.brw.domain.game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable side view of a level of the move-string game.
+ * <p>
+ * A level file contains optional {@code key=value} settings followed by a grid of cells,
+ * one text line per row, the top row first. Lines starting with {@code ;} are comments.
+ * </p>
+ * <ul>
+ *     <li>{@code .} empty space</li>
+ *     <li>{@code #} solid ground the player can stand on and cannot walk through</li>
+ *     <li>{@code ^} spikes, touching them ends the game</li>
+ *     <li>{@code S} the start position of the player (exactly one)</li>
+ *     <li>{@code G} the goal, reaching it wins the game</li>
+ * </ul>
+ * The only setting is {@code jump}, the number of cells a jump rises (3 by default).
+ */
+public class Level {
+
+    public static final byte EMPTY = '.';
+    public static final byte SOLID = '#';
+    public static final byte SPIKES = '^';
+    public static final byte START = 'S';
+    public static final byte GOAL = 'G';
+
+    private static final int DEFAULT_JUMP_HEIGHT = 3;
+
+    private final int width;
+    private final int height;
+    /**
+     * The cells, row by row, top row first.
+     */
+    private final byte[] cells;
+    private final int startX;
+    private final int startY;
+    /**
+     * The leftmost column containing a goal cell, used to measure progress.
+     */
+    private final int goalX;
+    private final int jumpHeight;
+
+    private Level(int width, int height, byte[] cells, int startX, int startY, int goalX, int jumpHeight) {
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+        this.startX = startX;
+        this.startY = startY;
+        this.goalX = goalX;
+        this.jumpHeight = jumpHeight;
+    }
+
+    /**
+     * Loads a level description file.
+     *
+     * @param path The path of the level file.
+     * @return The parsed level.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid level.
+     */
+    public static Level load(Path path) throws IOException {
+        return parse(Files.readAllLines(path));
+    }
+
+    /**
+     * Parses the lines of a level description.
+     *
+     * @param lines The settings and grid lines.
+     * @return The parsed level.
+     * @throws IllegalArgumentException if the lines do not describe a valid level.
+     */
+    public static Level parse(List<String> lines) {
+        int jumpHeight = DEFAULT_JUMP_HEIGHT;
+        List<String> rows = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith(";")) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator > 0) {
+                String key = trimmed.substring(0, separator).strip();
+                String value = trimmed.substring(separator + 1).strip();
+                if (!key.equals("jump")) {
+                    throw new IllegalArgumentException("Unknown level setting: " + key);
+                }
+                jumpHeight = Integer.parseInt(value);
+                continue;
+            }
+            rows.add(trimmed);
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Level has no rows");
+        }
+
+        int height = rows.size();
+        int width = rows.getFirst().length();
+        byte[] cells = new byte[width * height];
+        int startX = -1;
+        int startY = -1;
+        int goalX = Integer.MAX_VALUE;
+        for (int y = 0; y < height; y++) {
+            String row = rows.get(y);
+            if (row.length() != width) {
+                throw new IllegalArgumentException("Row " + y + " has " + row.length() + " cells instead of " + width);
+            }
+            for (int x = 0; x < width; x++) {
+                byte cell = (byte) row.charAt(x);
+                switch (cell) {
+                    case START -> {
+                        if (startX >= 0) {
+                            throw new IllegalArgumentException("Level has more than one start");
+                        }
+                        startX = x;
+                        startY = y;
+                        cell = EMPTY;
+                    }
+                    case GOAL -> goalX = Math.min(goalX, x);
+                    case EMPTY, SOLID, SPIKES -> {
+                    }
+                    default -> throw new IllegalArgumentException("Unknown cell '" + (char) cell + "' at " + x + "," + y);
+                }
+                cells[y * width + x] = cell;
+            }
+        }
+        if (startX < 0) {
+            throw new IllegalArgumentException("Level has no start");
+        }
+        if (goalX == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Level has no goal");
+        }
+        return new Level(width, height, cells, startX, startY, goalX, jumpHeight);
+    }
+
+    /**
+     * Returns the cell at a position; everything left, right or above the grid is solid,
+     * everything below it is empty (the player falls out of the level).
+     *
+     * @param x The column.
+     * @param y The row, 0 being the top row.
+     * @return The cell type.
+     */
+    public byte cell(int x, int y) {
+        if (x < 0 || x >= width || y < 0) {
+            return SOLID;
+        }
+        if (y >= height) {
+            return EMPTY;
+        }
+        return cells[y * width + x];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    public int getGoalX() {
+        return goalX;
+    }
+
+    public int getJumpHeight() {
+        return jumpHeight;
+    }
+}
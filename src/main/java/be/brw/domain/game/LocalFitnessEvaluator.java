@@ -0,0 +1,176 @@
+package be.brw.domain.game;
+
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Individual;
+import be.brw.domain.PopulationArena;
+import be.brw.domain.PopulationStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Evaluates genomes in-process with a {@link GameSimulator}, without any network hop.
+ * <p>
+ * Genes are copied into a per-thread scratch buffer that only grows, so scoring a genome
+ * allocates nothing once the buffer is large enough. The asynchronous variant scores the
+ * genomes right away on the calling thread: it is cheaper than handing them to another thread.
+ * </p>
+ * <p>
+ * Individuals are evaluated incrementally: every evaluation leaves a {@link SimulationTrace} on
+ * the individual, with a snapshot of the game every {@code snapshotInterval} genes. After a
+ * mutation, or for a crossover child carrying its first parent's trace, the game resumes from the
+ * last snapshot before the first changed gene, so the cost of scoring a long genome grows with
+ * the changed suffix rather than with its length.
+ * </p>
+ * <p>
+ * With a prefix cache, the states reached after every {@value PrefixStateTrie#CHUNK} genes are
+ * also kept in a {@link PrefixStateTrie} shared by all threads, so a genome whose first genes were
+ * already played by any other genome starts from there. It covers what traces do not: genomes
+ * scored from a {@link PopulationStore} or a plain buffer, the initial population, migrants, and
+ * children differing from their first parent right from the start.
+ * </p>
+ */
+public class LocalFitnessEvaluator implements FitnessEvaluator {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+
+    private final GameSimulator simulator;
+    private final int snapshotInterval;
+    private final PrefixStateTrie trie;
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[256]);
+
+    public LocalFitnessEvaluator(Level level) {
+        this(level, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * @param level The level to play.
+     * @param snapshotInterval The number of genes between two snapshots of an individual's game, 0 to always play genomes in full.
+     */
+    public LocalFitnessEvaluator(Level level, int snapshotInterval) {
+        this(level, snapshotInterval, 0);
+    }
+
+    /**
+     * @param level The level to play.
+     * @param snapshotInterval The number of genes between two snapshots of an individual's game, 0 to always play genomes in full.
+     * @param prefixCacheMaxBytes The memory budget of the prefix cache, 0 to disable it.
+     * @throws IllegalArgumentException if the prefix cache is enabled and {@code snapshotInterval} is not a multiple of {@value PrefixStateTrie#CHUNK}.
+     */
+    public LocalFitnessEvaluator(Level level, int snapshotInterval, long prefixCacheMaxBytes) {
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("snapshotInterval must not be negative, was " + snapshotInterval);
+        }
+        if (prefixCacheMaxBytes > 0 && snapshotInterval % PrefixStateTrie.CHUNK != 0) {
+            throw new IllegalArgumentException("snapshotInterval must be a multiple of " + PrefixStateTrie.CHUNK
+                    + " with a prefix cache, was " + snapshotInterval);
+        }
+        this.simulator = new GameSimulator(level);
+        this.snapshotInterval = snapshotInterval;
+        this.trie = prefixCacheMaxBytes > 0 ? new PrefixStateTrie(simulator, prefixCacheMaxBytes) : null;
+    }
+
+    @Override
+    public List<Double> evaluate(List<Individual> genomes) {
+        List<Double> fitnessScores = new ArrayList<>(genomes.size());
+        for (Individual genome : genomes) {
+            fitnessScores.add(evaluate(genome));
+        }
+        return fitnessScores;
+    }
+
+    @Override
+    public CompletableFuture<double[]> evaluateAsync(List<Individual> genomes) {
+        double[] fitnessScores = new double[genomes.size()];
+        for (int i = 0; i < fitnessScores.length; i++) {
+            fitnessScores[i] = evaluate(genomes.get(i));
+        }
+        return CompletableFuture.completedFuture(fitnessScores);
+    }
+
+    /**
+     * Plays the genomes straight from the slab of a {@link PopulationArena}, and through the
+     * per-thread scratch buffer for other stores.
+     */
+    @Override
+    public void evaluate(PopulationStore population) {
+        if (population instanceof PopulationArena arena) {
+            for (int i = 0; i < arena.size(); i++) {
+                arena.setFitness(i, play(arena.slab(), arena.offset(i), arena.length(i)));
+            }
+            return;
+        }
+        for (int i = 0; i < population.size(); i++) {
+            byte[] buffer = scratch(population.length(i));
+            population.copyGenes(i, buffer, 0);
+            population.setFitness(i, play(buffer, 0, population.length(i)));
+        }
+    }
+
+    /**
+     * Scores a single individual, resuming from its evaluation trace where it still applies,
+     * and leaves the trace of this evaluation on it.
+     *
+     * @param individual The individual to score.
+     * @return Its fitness.
+     */
+    public double evaluate(Individual individual) {
+        int length = individual.getGenomeLength();
+        byte[] buffer = scratch(length);
+        individual.getGenes().copyTo(buffer, 0);
+        if (snapshotInterval == 0) {
+            return play(buffer, 0, length);
+        }
+        SimulationTrace trace = SimulationTrace.record(simulator, snapshotInterval, buffer, length, individual.getEvaluationTrace(), trie);
+        individual.setEvaluationTrace(trace);
+        return trace.getScore();
+    }
+
+    /**
+     * @return The scratch buffer of the calling thread, grown to hold at least {@code length} genes.
+     */
+    private byte[] scratch(int length) {
+        byte[] buffer = scratch.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            scratch.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Scores genes stored in a primitive buffer.
+     *
+     * @param genome The buffer holding the genes.
+     * @param offset The index of the first gene.
+     * @param length The number of genes.
+     * @return The fitness of the genome.
+     */
+    public double evaluate(byte[] genome, int offset, int length) {
+        return play(genome, offset, length);
+    }
+
+    /**
+     * Plays a genome from the deepest state of the prefix cache that starts it, if there is a cache.
+     */
+    private double play(byte[] genome, int offset, int length) {
+        if (trie == null) {
+            return simulator.evaluate(genome, offset, length);
+        }
+        PrefixStateTrie.Node node = trie.find(genome, offset, length);
+        long state = node.state;
+        int tick = node.ticks();
+        while (tick < length && GameSimulator.status(state) == GameSimulator.RUNNING) {
+            state = simulator.step(state, genome[offset + tick++]);
+            if (node != null && tick % PrefixStateTrie.CHUNK == 0) {
+                node = GameSimulator.status(state) == GameSimulator.RUNNING ? trie.insert(node, genome, offset, state) : null;
+            }
+        }
+        return simulator.score(state, tick);
+    }
+
+    public GameSimulator getSimulator() {
+        return simulator;
+    }
+}
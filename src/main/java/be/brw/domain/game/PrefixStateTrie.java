@@ -0,0 +1,234 @@
+package be.brw.domain.game;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Game states shared by all the genomes a {@link LocalFitnessEvaluator} plays, keyed by move prefix.
+ * <p>
+ * Every node holds the packed state after a prefix of {@link #CHUNK} genes times its depth, and its
+ * children are keyed by the next {@link #CHUNK} genes packed in a {@code long}. Playing a genome
+ * walks down the trie as far as its prefix is known, plays on from the deepest node, and adds a
+ * node for every further chunk played while the game is running, so genomes that share a prefix
+ * with any genome played before skip it.
+ * </p>
+ * <p>
+ * Readers and writers need no lock: children live in concurrent maps, and a state is a function
+ * of its prefix, so two threads adding the same node store the same value and either one wins.
+ * When the trie holds more nodes than its memory budget allows, the thread that crossed the
+ * budget drops the least recently used half of it, whole branches at a time, while other threads
+ * keep playing. The budget is approximate: node sizes are estimated, and nodes added to a branch
+ * while it is being dropped are not counted.
+ * </p>
+ */
+final class PrefixStateTrie {
+
+    /**
+     * Number of genes per level of the trie; they are packed in one {@code long} key.
+     */
+    static final int CHUNK = Long.BYTES;
+    /**
+     * Rough size of a node with its entry in the parent's map and its own map.
+     */
+    static final int NODE_BYTES = 160;
+
+    private final Node root;
+    private final int maxNodes;
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * Counts added nodes; used as the clock of the least recently used eviction.
+     */
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param simulator The simulator whose states are stored.
+     * @param maxBytes The memory budget of the trie.
+     */
+    PrefixStateTrie(GameSimulator simulator, long maxBytes) {
+        this.root = new Node(null, 0, simulator.initialState(), 0);
+        this.maxNodes = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / NODE_BYTES));
+    }
+
+    /**
+     * Walks down the longest known prefix of a genome.
+     *
+     * @param genome The buffer holding the genes.
+     * @param offset The index of the first gene.
+     * @param length The number of genes.
+     * @return The deepest node whose prefix starts the genome; the root if none does.
+     */
+    Node find(byte[] genome, int offset, int length) {
+        long now = clock.get();
+        Node node = root;
+        for (int from = offset; from + CHUNK <= offset + length; from += CHUNK) {
+            ConcurrentHashMap<Long, Node> children = node.children;
+            Node child = children == null ? null : children.get(key(genome, from));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            node.touch(now);
+        }
+        return node;
+    }
+
+    /**
+     * Adds the node reached by playing the chunk after a node, unless it is already known.
+     *
+     * @param parent The node the chunk was played from.
+     * @param genome The buffer holding the genes.
+     * @param offset The index of the first gene of the genome.
+     * @param state The state after the chunk; the game must still be running.
+     * @return The child node.
+     */
+    Node insert(Node parent, byte[] genome, int offset, long state) {
+        long key = key(genome, offset + parent.depth * CHUNK);
+        ConcurrentHashMap<Long, Node> children = parent.children();
+        Node child = children.get(key);
+        if (child == null) {
+            Node created = new Node(parent, parent.depth + 1, state, clock.incrementAndGet());
+            child = children.putIfAbsent(key, created);
+            if (child == null) {
+                if (size.incrementAndGet() > maxNodes) {
+                    evict();
+                }
+                return created;
+            }
+        }
+        child.touch(clock.get());
+        return child;
+    }
+
+    /**
+     * @return The number of nodes, without the root.
+     */
+    int size() {
+        return size.get();
+    }
+
+    Node root() {
+        return root;
+    }
+
+    /**
+     * Drops the least recently used branches until about half of the budget is used.
+     * Parents are used whenever their children are, so dropping a branch never drops a more recently used node.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long[] used = new long[size.get() + 64];
+            int count = 0;
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                ConcurrentHashMap<Long, Node> children = pending.pop().children;
+                if (children == null) {
+                    continue;
+                }
+                for (Node child : children.values()) {
+                    if (count == used.length) {
+                        used = Arrays.copyOf(used, count * 2);
+                    }
+                    used[count++] = child.lastUsed;
+                    pending.push(child);
+                }
+            }
+            int keep = maxNodes / 2;
+            if (count <= keep) {
+                size.set(count);
+                return;
+            }
+            Arrays.sort(used, 0, count);
+            long cutoff = used[count - keep];
+
+            int kept = 0;
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                ConcurrentHashMap<Long, Node> children = pending.pop().children;
+                if (children == null) {
+                    continue;
+                }
+                for (Iterator<Map.Entry<Long, Node>> it = children.entrySet().iterator(); it.hasNext(); ) {
+                    Node child = it.next().getValue();
+                    if (child.lastUsed < cutoff) {
+                        it.remove();
+                    } else {
+                        kept++;
+                        pending.push(child);
+                    }
+                }
+            }
+            size.set(kept);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * @return The {@link #CHUNK} genes from {@code from} on, packed in a key.
+     */
+    private static long key(byte[] genome, int from) {
+        long key = 0;
+        for (int i = 0; i < CHUNK; i++) {
+            key |= (genome[from + i] & 0xFFL) << (i * Byte.SIZE);
+        }
+        return key;
+    }
+
+    /**
+     * The state after the prefix of {@code depth} chunks leading to this node.
+     */
+    static final class Node {
+        final Node parent;
+        final int depth;
+        final long state;
+        private volatile long lastUsed;
+        private volatile ConcurrentHashMap<Long, Node> children;
+
+        private Node(Node parent, int depth, long state, long lastUsed) {
+            this.parent = parent;
+            this.depth = depth;
+            this.state = state;
+            this.lastUsed = lastUsed;
+        }
+
+        /**
+         * @return The number of genes of the prefix leading to this node.
+         */
+        int ticks() {
+            return depth * CHUNK;
+        }
+
+        private void touch(long now) {
+            // Skipping the write when nothing changes keeps the nodes near the root from bouncing between caches.
+            if (lastUsed < now) {
+                lastUsed = now;
+            }
+        }
+
+        private ConcurrentHashMap<Long, Node> children() {
+            ConcurrentHashMap<Long, Node> map = children;
+            if (map == null) {
+                synchronized (this) {
+                    map = children;
+                    if (map == null) {
+                        map = new ConcurrentHashMap<>(2);
+                        children = map;
+                    }
+                }
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package be.brw.domain.game;
+
+import be.brw.domain.EvaluationTrace;
+
+import java.util.Arrays;
+
+/**
+ * The game states a genome went through, kept so that a changed genome is only played from
+ * its first changed gene on.
+ * <p>
+ * The trace holds the genes that were played, the packed state before every
+ * {@code interval}-th of them, and the final state. Playing a new genome starts from the last
+ * snapshot before the first gene where it differs from the played genes. Genes after the end of
+ * the game are not kept: when the game ended and the new genome starts with all the played
+ * genes, the score is the same and nothing is played at all.
+ * </p>
+ * <p>
+ * Snapshots before the resume point are shared with the trace it resumes from, so recording a new
+ * trace copies them but never replays them.
+ * </p>
+ * <p>
+ * A genome without a usable trace, or that changed in its first genes, starts from the deepest
+ * state the evaluator's {@link PrefixStateTrie} knows for its prefix instead, and adds the states it
+ * goes through to the trie. The snapshots up to there are taken from the trie, which is why the
+ * interval must then be a multiple of {@link PrefixStateTrie#CHUNK}.
+ * </p>
+ */
+final class SimulationTrace implements EvaluationTrace {
+
+    private final GameSimulator simulator;
+    private final int interval;
+    /**
+     * The genes that were played, one per tick.
+     */
+    private final byte[] genes;
+    /**
+     * {@code snapshots[i]} is the state before gene {@code i * interval}, for every such gene played.
+     */
+    private final long[] snapshots;
+    private final long finalState;
+    private final double score;
+
+    private SimulationTrace(GameSimulator simulator, int interval, byte[] genes, long[] snapshots, long finalState) {
+        this.simulator = simulator;
+        this.interval = interval;
+        this.genes = genes;
+        this.snapshots = snapshots;
+        this.finalState = finalState;
+        this.score = simulator.score(finalState, genes.length);
+    }
+
+    /**
+     * Plays a genome, resuming from a previous trace where the genome still matches it.
+     *
+     * @param simulator The simulator playing the genome.
+     * @param interval The number of genes between two snapshots.
+     * @param genome The buffer holding the genes, from index 0.
+     * @param length The number of genes.
+     * @param previous The trace of an earlier evaluation, or {@code null}; ignored if made by another simulator.
+     * @param trie The states shared by all genomes of the simulator, or {@code null}.
+     * @return The trace of the genome.
+     */
+    static SimulationTrace record(GameSimulator simulator, int interval, byte[] genome, int length, EvaluationTrace previous, PrefixStateTrie trie) {
+        long[] snapshots = new long[Math.max(1, (length + interval - 1) / interval)];
+        long state = simulator.initialState();
+        int tick = 0;
+
+        if (previous instanceof SimulationTrace trace && trace.simulator == simulator && trace.interval == interval) {
+            int played = trace.genes.length;
+            int common = Arrays.mismatch(genome, 0, length, trace.genes, 0, played);
+            if (common < 0) {
+                common = Math.min(length, played);
+            }
+            boolean ended = GameSimulator.status(trace.finalState) != GameSimulator.RUNNING;
+            if (common == played && (ended || length == played)) {
+                return trace;
+            }
+            if (common == played) {
+                state = trace.finalState;
+                tick = played;
+            } else {
+                state = trace.snapshots[common / interval];
+                tick = common / interval * interval;
+            }
+            // Every snapshot before the resume point; the one at it, if any, is stored again below.
+            System.arraycopy(trace.snapshots, 0, snapshots, 0, (tick + interval - 1) / interval);
+        }
+
+        PrefixStateTrie.Node node = null;
+        if (trie != null && tick == 0) {
+            node = trie.find(genome, 0, length);
+            tick = node.ticks();
+            state = node.state;
+            for (PrefixStateTrie.Node prefix = node.parent; prefix != null; prefix = prefix.parent) {
+                if (prefix.ticks() % interval == 0) {
+                    snapshots[prefix.ticks() / interval] = prefix.state;
+                }
+            }
+        }
+
+        while (tick < length && GameSimulator.status(state) == GameSimulator.RUNNING) {
+            if (tick % interval == 0) {
+                snapshots[tick / interval] = state;
+            }
+            state = simulator.step(state, genome[tick++]);
+            if (node != null && tick % PrefixStateTrie.CHUNK == 0) {
+                node = GameSimulator.status(state) == GameSimulator.RUNNING ? trie.insert(node, genome, 0, state) : null;
+            }
+        }
+        return new SimulationTrace(simulator, interval, Arrays.copyOf(genome, tick), snapshots, state);
+    }
+
+    double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,90 @@
+package be.brw.domain.strategy;
+
+/**
+ * Adapts the mutation rate of a run to the diversity of its population.
+ * <p>
+ * After every generation the run reports the share of distinct genomes in it. Below
+ * {@code minDiversity} the population has converged and further generations would mostly
+ * re-evaluate near-clones: the mutation rate is multiplied by {@code boostFactor}, up to
+ * {@code maxRate}, and the next generation restarts a {@code restartFraction} of its individuals
+ * from random genomes. Above it, the rate eases back by the same factor to the base rate.
+ * </p>
+ * <p>
+ * A controller with a {@code minDiversity} of 0 never adapts: its rate stays the base rate and
+ * it asks for no restarts.
+ * </p>
+ */
+public final class AdaptiveMutationController {
+
+    private final double baseRate;
+    private final double minDiversity;
+    private final double maxRate;
+    private final double boostFactor;
+    private final double restartFraction;
+
+    private double rate;
+    private boolean converged;
+
+    /**
+     * @param baseRate The mutation rate of a diverse population.
+     * @param minDiversity The share of distinct genomes below which the population has converged, 0 to never adapt.
+     * @param maxRate The highest mutation rate.
+     * @param boostFactor The factor the rate is raised by after a converged generation, and lowered by after a diverse one.
+     * @param restartFraction The share of the population restarted after a converged generation.
+     */
+    public AdaptiveMutationController(double baseRate, double minDiversity, double maxRate, double boostFactor, double restartFraction) {
+        this.baseRate = baseRate;
+        this.minDiversity = minDiversity;
+        this.maxRate = Math.max(baseRate, maxRate);
+        this.boostFactor = boostFactor;
+        this.restartFraction = restartFraction;
+        this.rate = baseRate;
+    }
+
+    /**
+     * Adapts the rate to the diversity of the generation that just ended.
+     *
+     * @param diversity The share of distinct genomes in it, between 0 and 1.
+     */
+    public void update(double diversity) {
+        converged = diversity < minDiversity;
+        if (converged) {
+            rate = Math.min(maxRate, rate * boostFactor);
+        } else if (rate > baseRate) {
+            rate = Math.max(baseRate, rate / boostFactor);
+        }
+    }
+
+    /**
+     * Puts the controller back in a state it had, as saved in a checkpoint of a run.
+     *
+     * @param rate The mutation rate it had.
+     * @param converged Whether the last generation it was told about was converged.
+     */
+    public void restore(double rate, boolean converged) {
+        this.rate = rate;
+        this.converged = converged;
+    }
+
+    /**
+     * @return The mutation rate for the next generation.
+     */
+    public double getMutationRate() {
+        return rate;
+    }
+
+    /**
+     * @return Whether the last generation reported was converged.
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * @param childCount The number of children the next generation breeds.
+     * @return How many of them to replace by random genomes: none unless the last generation was converged.
+     */
+    public int restarts(int childCount) {
+        return converged ? (int) Math.round(childCount * restartFraction) : 0;
+    }
+}
@@ -1,5 +1,23 @@
 package be.brw.domain.strategy;
 
+/**
+ * The leftover operators that can be configured, each backed by its {@link LeftoverOperator}.
+ */
 public enum CrossoverLeftoverStrategy {
-    KEEP_ALL_OR_NOTHING_RANDOMLY, KEEP_ONE_OR_NOT_RANDOMLY, KEEP_ONLY_FROM_FITTEST_PARENT
+    KEEP_ALL_OR_NOTHING_RANDOMLY(new KeepAllOrNothingLeftovers()),
+    KEEP_ONE_OR_NOT_RANDOMLY(new KeepOneOrNotLeftovers()),
+    KEEP_ONLY_FROM_FITTEST_PARENT(new FittestParentLeftovers());
+
+    private final LeftoverOperator operator;
+
+    CrossoverLeftoverStrategy(LeftoverOperator operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * @return The operator, which keeps no state and may be shared by threads.
+     */
+    public LeftoverOperator operator() {
+        return operator;
+    }
 }
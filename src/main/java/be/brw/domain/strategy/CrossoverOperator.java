@@ -0,0 +1,18 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Writes the genes of a child of two parents; see {@link CrossoverStrategy} for the operators of the configuration.
+ */
+@FunctionalInterface
+public interface CrossoverOperator {
+
+    /**
+     * @param parents The parents, with at least 2 genes each, and the child to write.
+     * @param random The random number generator of the calling thread.
+     * @return Whether the child stops at the length of the shorter parent, leaving the genes of the
+     * longer one past it to a {@link LeftoverOperator}.
+     */
+    boolean cross(Recombination parents, RandomGenerator random);
+}
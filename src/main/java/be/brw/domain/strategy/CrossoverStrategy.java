@@ -1,5 +1,23 @@
 package be.brw.domain.strategy;
 
+/**
+ * The crossover operators that can be configured, each backed by its {@link CrossoverOperator}.
+ */
 public enum CrossoverStrategy {
-    ONE_POINT, TWO_POINT, UNIFORM
+    ONE_POINT(new OnePointCrossover()),
+    TWO_POINT(new TwoPointCrossover()),
+    UNIFORM(new UniformCrossover());
+
+    private final CrossoverOperator operator;
+
+    CrossoverStrategy(CrossoverOperator operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * @return The operator, which keeps no state and may be shared by threads.
+     */
+    public CrossoverOperator operator() {
+        return operator;
+    }
 }
@@ -0,0 +1,17 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Keeps the leftover genes only if they belong to the fittest parent, the first one on a tie.
+ */
+public final class FittestParentLeftovers implements LeftoverOperator {
+
+    @Override
+    public void keep(Recombination parents, int longer, int minLength, RandomGenerator random) {
+        int fittest = parents.fitness(Recombination.FIRST) >= parents.fitness(Recombination.SECOND)
+                ? Recombination.FIRST
+                : Recombination.SECOND;
+        parents.append(fittest, minLength, parents.length(fittest));
+    }
+}
@@ -0,0 +1,16 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Keeps all leftover genes, or none, at random.
+ */
+public final class KeepAllOrNothingLeftovers implements LeftoverOperator {
+
+    @Override
+    public void keep(Recombination parents, int longer, int minLength, RandomGenerator random) {
+        if (random.nextBoolean()) {
+            parents.append(longer, minLength, parents.length(longer));
+        }
+    }
+}
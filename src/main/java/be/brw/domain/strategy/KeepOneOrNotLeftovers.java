@@ -0,0 +1,19 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Keeps each leftover gene, or not, at random.
+ */
+public final class KeepOneOrNotLeftovers implements LeftoverOperator {
+
+    @Override
+    public void keep(Recombination parents, int longer, int minLength, RandomGenerator random) {
+        int length = parents.length(longer);
+        for (int i = minLength; i < length; i++) {
+            if (random.nextBoolean()) {
+                parents.add(parents.gene(longer, i));
+            }
+        }
+    }
+}
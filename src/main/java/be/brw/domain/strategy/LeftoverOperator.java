@@ -0,0 +1,19 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides which genes of the longer parent, past the length of the shorter one, a child keeps;
+ * see {@link CrossoverLeftoverStrategy} for the operators of the configuration.
+ */
+@FunctionalInterface
+public interface LeftoverOperator {
+
+    /**
+     * @param parents The parents and the child, which holds {@code minLength} genes so far.
+     * @param longer The longer parent.
+     * @param minLength The length of the shorter parent.
+     * @param random The random number generator of the calling thread.
+     */
+    void keep(Recombination parents, int longer, int minLength, RandomGenerator random);
+}
@@ -0,0 +1,13 @@
+package be.brw.domain.strategy;
+
+/**
+ * Which islands receive the emigrants of an island in an island run.
+ * <ul>
+ *     <li>RING: the next island, the last one sending to the first.</li>
+ *     <li>FULLY_CONNECTED: every other island.</li>
+ *     <li>RANDOM: one other island, drawn anew at every migration.</li>
+ * </ul>
+ */
+public enum MigrationTopology {
+    RING, FULLY_CONNECTED, RANDOM
+}
@@ -0,0 +1,18 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The genes of the first parent up to a random cut, then those of the second parent from it to its end.
+ */
+public final class OnePointCrossover implements CrossoverOperator {
+
+    @Override
+    public boolean cross(Recombination parents, RandomGenerator random) {
+        int minLength = Math.min(parents.length(Recombination.FIRST), parents.length(Recombination.SECOND));
+        int cut = random.nextInt(minLength - 1);
+        parents.append(Recombination.FIRST, 0, cut);
+        parents.append(Recombination.SECOND, cut, parents.length(Recombination.SECOND));
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Two parents being recombined into a child, as seen by {@link CrossoverOperator}s and
+ * {@link LeftoverOperator}s.
+ * <p>
+ * Operators read the genes of the parents and write those of the child through this view, so the
+ * same operator breeds individuals held as {@code Genome}s and individuals held in a
+ * {@code PopulationStore}, writing straight into the child's storage. Parents are
+ * {@link #FIRST} and {@link #SECOND}.
+ * </p>
+ */
+public interface Recombination {
+
+    int FIRST = 0;
+    int SECOND = 1;
+
+    /**
+     * @return The number of genes of a parent.
+     */
+    int length(int parent);
+
+    /**
+     * @return A gene of a parent.
+     */
+    byte gene(int parent, int index);
+
+    /**
+     * @return The fitness of a parent.
+     */
+    double fitness(int parent);
+
+    /**
+     * Appends the genes {@code [from, to)} of a parent to the child.
+     */
+    void append(int parent, int from, int to);
+
+    /**
+     * Appends one gene to the child.
+     */
+    void add(byte gene);
+
+    /**
+     * Breeds the child of the parents, which have at least 2 genes each: crosses them over, then
+     * lets the leftover operator handle the genes of the longer parent past the length of the
+     * shorter one, if the crossover left them.
+     */
+    default void breed(CrossoverOperator crossover, LeftoverOperator leftovers, RandomGenerator random) {
+        if (!crossover.cross(this, random)) {
+            return;
+        }
+        int len1 = length(FIRST);
+        int len2 = length(SECOND);
+        if (len1 != len2) {
+            leftovers.keep(this, len1 > len2 ? FIRST : SECOND, Math.min(len1, len2), random);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The genes of the second parent between two random cuts, those of the first parent around them,
+ * up to the length of the shorter parent.
+ */
+public final class TwoPointCrossover implements CrossoverOperator {
+
+    @Override
+    public boolean cross(Recombination parents, RandomGenerator random) {
+        int minLength = Math.min(parents.length(Recombination.FIRST), parents.length(Recombination.SECOND));
+        int cut1 = random.nextInt(minLength - 1) + 1; // [1, minLength - 1]
+        int cut2 = random.nextInt(minLength - cut1) + cut1; // [cut1, minLength - 1]
+        parents.append(Recombination.FIRST, 0, cut1);
+        parents.append(Recombination.SECOND, cut1, cut2);
+        parents.append(Recombination.FIRST, cut2, minLength);
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package be.brw.domain.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Every gene up to the length of the shorter parent drawn from either parent, half of them from each.
+ */
+public final class UniformCrossover implements CrossoverOperator {
+
+    @Override
+    public boolean cross(Recombination parents, RandomGenerator random) {
+        int minLength = Math.min(parents.length(Recombination.FIRST), parents.length(Recombination.SECOND));
+        int pickA = minLength / 2 + (random.nextBoolean() ? minLength % 2 : 0);
+        int pickB = minLength - pickA;
+        for (int i = 0; i < minLength; i++) {
+            boolean chooseA = pickB == 0 || (pickA > 0 && random.nextBoolean());
+            parents.add(parents.gene(chooseA ? Recombination.FIRST : Recombination.SECOND, i));
+            if (chooseA) pickA--; else pickB--;
+        }
+        return true;
+    }
+}
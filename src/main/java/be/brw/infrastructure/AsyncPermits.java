@@ -0,0 +1,57 @@
+package be.brw.infrastructure;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A non-blocking counting semaphore.
+ * <p>
+ * {@link #acquire()} returns a future instead of parking the caller, so a limited number of
+ * HTTP requests can be kept in flight without dedicating a thread to every waiting chunk.
+ * </p>
+ */
+class AsyncPermits {
+
+    private final Object lock = new Object();
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    /**
+     * @param permits The number of permits, or a value {@code <= 0} for an unlimited number.
+     */
+    AsyncPermits(int permits) {
+        this.available = permits > 0 ? permits : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return A future completed as soon as a permit has been granted to the caller.
+     */
+    CompletableFuture<Void> acquire() {
+        synchronized (lock) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    /**
+     * Hands the permit over to the oldest waiter, or returns it to the pool if nobody waits.
+     */
+    void release() {
+        CompletableFuture<Void> next;
+        synchronized (lock) {
+            next = waiters.poll();
+            if (next == null) {
+                available++;
+            }
+        }
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+}
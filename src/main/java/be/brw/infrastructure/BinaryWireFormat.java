@@ -0,0 +1,157 @@
+package be.brw.infrastructure;
+
+import be.brw.domain.FitnessEvaluationException;
+import be.brw.domain.Individual;
+import be.brw.domain.Moves;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Compact binary encoding of fitness requests and responses.
+ * <p>
+ * A request is a little-endian {@code int32} genome count followed, for every genome, by its
+ * {@code int32} length and its moves packed at 3 bits each (least significant bits first),
+ * padded to a whole byte. A response is one little-endian {@code float64} per genome.
+ * </p>
+ * <p>
+ * Request buffers come from a small pool and go back to it once their request is done,
+ * so steady-state encoding does not allocate.
+ * </p>
+ */
+final class BinaryWireFormat {
+
+    static final String REQUEST_CONTENT_TYPE = "application/x-ga-genomes";
+    static final String RESPONSE_CONTENT_TYPE = "application/x-ga-scores";
+
+    private static final int BITS_PER_MOVE = 3;
+    private static final int MIN_BUFFER_SIZE = 4096;
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    private BinaryWireFormat() {
+    }
+
+    /**
+     * Encodes a range of genomes into a pooled buffer.
+     *
+     * @param genomes The genomes.
+     * @param from The index of the first genome to encode.
+     * @param to The index after the last genome to encode.
+     * @return A buffer ready to be read, or {@code null} if a gene is not a move and cannot be packed.
+     */
+    static ByteBuffer encode(List<Individual> genomes, int from, int to) {
+        int size = Integer.BYTES;
+        for (int i = from; i < to; i++) {
+            size += Integer.BYTES + packedLength(genomes.get(i).getGenomeLength());
+        }
+
+        ByteBuffer buffer = borrow(size);
+        buffer.putInt(to - from);
+        for (int i = from; i < to; i++) {
+            Individual genome = genomes.get(i);
+            int length = genome.getGenomeLength();
+            buffer.putInt(length);
+            int bits = 0;
+            int pending = 0;
+            for (int j = 0; j < length; j++) {
+                int code = Moves.toCode(genome.getGene(j));
+                if (code < 0) {
+                    release(buffer);
+                    return null;
+                }
+                bits |= code << pending;
+                pending += BITS_PER_MOVE;
+                if (pending >= Byte.SIZE) {
+                    buffer.put((byte) bits);
+                    bits >>>= Byte.SIZE;
+                    pending -= Byte.SIZE;
+                }
+            }
+            if (pending > 0) {
+                buffer.put((byte) bits);
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a request back to genome strings, e.g. to resend it as JSON.
+     *
+     * @param request A buffer produced by {@link #encode}; its position is left untouched.
+     * @return The genomes as strings.
+     */
+    static List<String> decode(ByteBuffer request) {
+        ByteBuffer buffer = request.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int count = buffer.getInt();
+        List<String> genomes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            byte[] genes = new byte[length];
+            int bits = 0;
+            int available = 0;
+            for (int j = 0; j < length; j++) {
+                if (available < BITS_PER_MOVE) {
+                    bits |= (buffer.get() & 0xFF) << available;
+                    available += Byte.SIZE;
+                }
+                genes[j] = Moves.fromCode(bits & 0b111);
+                bits >>>= BITS_PER_MOVE;
+                available -= BITS_PER_MOVE;
+            }
+            genomes.add(new String(genes, java.nio.charset.StandardCharsets.US_ASCII));
+        }
+        return genomes;
+    }
+
+    /**
+     * @param body A binary response body.
+     * @param expected The number of genomes of the request.
+     * @return The scores.
+     * @throws FitnessEvaluationException if the body does not hold exactly one score per genome.
+     */
+    static double[] decodeScores(byte[] body, int expected) {
+        if (body.length != expected * Double.BYTES) {
+            throw new FitnessEvaluationException("Expected " + expected + " scores but the service returned "
+                    + body.length + " bytes");
+        }
+        double[] scores = new double[expected];
+        ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(scores);
+        return scores;
+    }
+
+    /**
+     * @param scores The scores to send.
+     * @return A binary response body, as produced by a service speaking this format.
+     */
+    static byte[] encodeScores(double[] scores) {
+        ByteBuffer buffer = ByteBuffer.allocate(scores.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(scores);
+        return buffer.array();
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #encode} to the pool.
+     */
+    static void release(ByteBuffer buffer) {
+        if (POOL.size() < MAX_POOLED_BUFFERS) {
+            POOL.offer(buffer.clear());
+        }
+    }
+
+    private static int packedLength(int genes) {
+        return (genes * BITS_PER_MOVE + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    private static ByteBuffer borrow(int size) {
+        ByteBuffer buffer = POOL.poll();
+        if (buffer == null || buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, MIN_BUFFER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,314 @@
+package be.brw.infrastructure;
+
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Individual;
+import be.brw.metrics.Counter;
+import be.brw.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link FitnessEvaluator} decorator that memoizes fitness scores by genome.
+ * <p>
+ * Elite survivors and unmutated clones are carried over from one generation to the next with
+ * exactly the same genome, so re-evaluating them is wasted work. This decorator keys every score
+ * on the raw genome bytes and only forwards the cache misses of a batch to the delegate, in a
+ * single call. Duplicate genomes inside the same batch are sent only once.
+ * </p>
+ * <p>
+ * The cache is bounded both by a number of entries and by an estimated memory footprint.
+ * When either limit is exceeded the least recently used entries are evicted.
+ * The delegate is never called while the internal lock is held, so concurrent callers
+ * only contend on the (cheap) lookups and inserts.
+ * </p>
+ * <p>
+ * Hits and misses are also counted in the default {@link MetricsRegistry}, as
+ * {@code evaluator.cache.hits}, {@code evaluator.cache.misses} and {@code evaluator.cache.hitRatio}
+ * over every cache of the process.
+ * </p>
+ */
+public class CachingFitnessEvaluator implements FitnessEvaluator {
+
+    /**
+     * Rough per-entry overhead (map node, key object, boxed score) used for the memory estimate.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final FitnessEvaluator delegate;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    /**
+     * Access-ordered map, so iteration starts at the least recently used entry.
+     */
+    private final LinkedHashMap<GenomeKey, Double> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Object lock = new Object();
+
+    private long usedBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Creates a cache bounded only by its number of entries.
+     *
+     * @param delegate The evaluator used for genomes that are not cached yet.
+     * @param maxEntries The maximum number of genomes kept in the cache.
+     */
+    public CachingFitnessEvaluator(FitnessEvaluator delegate, int maxEntries) {
+        this(delegate, maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a cache bounded by its number of entries and by an estimated memory footprint.
+     *
+     * @param delegate The evaluator used for genomes that are not cached yet.
+     * @param maxEntries The maximum number of genomes kept in the cache.
+     * @param maxBytes The maximum estimated number of bytes used by the cached entries.
+     */
+    public CachingFitnessEvaluator(FitnessEvaluator delegate, int maxEntries, long maxBytes) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.hits = metrics.counter("evaluator.cache.hits");
+        this.misses = metrics.counter("evaluator.cache.misses");
+        metrics.gauge("evaluator.cache.hitRatio", () -> {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0.0 : (double) hits.get() / total;
+        });
+    }
+
+    @Override
+    public List<Double> evaluate(List<Individual> genomes) {
+        if (genomes == null || genomes.isEmpty()) {
+            return List.of();
+        }
+
+        Lookup lookup = lookup(genomes);
+        if (!lookup.missingIndividuals.isEmpty()) {
+            lookup.complete(FitnessEvaluator.toArray(delegate.evaluate(lookup.missingIndividuals)));
+        }
+        return Arrays.asList(lookup.scores);
+    }
+
+    /**
+     * Answers the cached genomes immediately and forwards the misses to
+     * {@link FitnessEvaluator#evaluateAsync(List)} of the delegate, as a single batch.
+     */
+    @Override
+    public CompletableFuture<double[]> evaluateAsync(List<Individual> genomes) {
+        if (genomes == null || genomes.isEmpty()) {
+            return CompletableFuture.completedFuture(new double[0]);
+        }
+
+        Lookup lookup = lookup(genomes);
+        if (lookup.missingIndividuals.isEmpty()) {
+            return CompletableFuture.completedFuture(lookup.unboxedScores());
+        }
+        return delegate.evaluateAsync(lookup.missingIndividuals)
+                .thenApply(fresh -> {
+                    lookup.complete(fresh);
+                    return lookup.unboxedScores();
+                });
+    }
+
+    /**
+     * Looks every genome up in the cache and groups the misses by key, so duplicates are only evaluated once.
+     */
+    private Lookup lookup(List<Individual> genomes) {
+        Lookup lookup = new Lookup(genomes.size());
+        long batchHits = 0;
+        synchronized (lock) {
+            for (int i = 0; i < genomes.size(); i++) {
+                GenomeKey key = GenomeKey.of(genomes.get(i));
+                Double cached = cache.get(key);
+                if (cached != null) {
+                    lookup.scores[i] = cached;
+                    hitCount++;
+                    batchHits++;
+                    continue;
+                }
+                missCount++;
+                List<Integer> positions = lookup.missingPositions.get(key);
+                if (positions == null) {
+                    positions = new ArrayList<>(1);
+                    lookup.missingPositions.put(key, positions);
+                    lookup.missingIndividuals.add(genomes.get(i));
+                }
+                positions.add(i);
+            }
+        }
+        hits.add(batchHits);
+        misses.add(genomes.size() - batchHits);
+        return lookup;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * Removes least recently used entries until both the entry and the memory limit are respected.
+     * Must be called while holding {@link #lock}.
+     */
+    private void evictIfNeeded() {
+        Iterator<GenomeKey> eldest = cache.keySet().iterator();
+        while ((cache.size() > maxEntries || usedBytes > maxBytes) && eldest.hasNext()) {
+            GenomeKey key = eldest.next();
+            eldest.remove();
+            usedBytes -= key.estimatedSize();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * @return The number of genome lookups that were answered from the cache.
+     */
+    public long getHitCount() {
+        synchronized (lock) {
+            return hitCount;
+        }
+    }
+
+    /**
+     * @return The number of genome lookups that had to be forwarded to the delegate.
+     */
+    public long getMissCount() {
+        synchronized (lock) {
+            return missCount;
+        }
+    }
+
+    /**
+     * @return The number of entries removed to stay within the configured limits.
+     */
+    public long getEvictionCount() {
+        synchronized (lock) {
+            return evictionCount;
+        }
+    }
+
+    /**
+     * @return The fraction of lookups answered from the cache, or 0 if nothing was looked up yet.
+     */
+    public double getHitRatio() {
+        synchronized (lock) {
+            long total = hitCount + missCount;
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+
+    /**
+     * @return The number of genomes currently cached.
+     */
+    public int size() {
+        synchronized (lock) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return The estimated number of bytes used by the cached entries.
+     */
+    public long getEstimatedBytes() {
+        synchronized (lock) {
+            return usedBytes;
+        }
+    }
+
+    /**
+     * The outcome of looking a batch up in the cache: the scores known so far and the genomes still to evaluate.
+     */
+    private final class Lookup {
+        private final Double[] scores;
+        private final Map<GenomeKey, List<Integer>> missingPositions = new LinkedHashMap<>();
+        private final List<Individual> missingIndividuals = new ArrayList<>();
+
+        private Lookup(int size) {
+            this.scores = new Double[size];
+        }
+
+        /**
+         * Fills in the freshly evaluated scores, one per missing genome, and stores them in the cache.
+         */
+        private void complete(double[] fresh) {
+            if (fresh.length != missingIndividuals.size()) {
+                throw new IllegalStateException("Delegate returned " + fresh.length
+                        + " scores for " + missingIndividuals.size() + " genomes");
+            }
+
+            int next = 0;
+            for (Map.Entry<GenomeKey, List<Integer>> entry : missingPositions.entrySet()) {
+                Double score = fresh[next++];
+                for (int position : entry.getValue()) {
+                    scores[position] = score;
+                }
+            }
+
+            synchronized (lock) {
+                next = 0;
+                for (GenomeKey key : missingPositions.keySet()) {
+                    if (cache.put(key, fresh[next++]) == null) {
+                        usedBytes += key.estimatedSize();
+                    }
+                }
+                evictIfNeeded();
+            }
+        }
+
+        private double[] unboxedScores() {
+            return FitnessEvaluator.toArray(Arrays.asList(scores));
+        }
+    }
+
+    /**
+     * Immutable cache key wrapping a copy of the genome bytes with a precomputed hash.
+     */
+    private static final class GenomeKey {
+        private final byte[] bytes;
+        private final int hash;
+
+        private GenomeKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        static GenomeKey of(Individual individual) {
+            return new GenomeKey(individual.getGenes().toByteArray());
+        }
+
+        long estimatedSize() {
+            return bytes.length + ENTRY_OVERHEAD_BYTES;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof GenomeKey other)) return false;
+            return hash == other.hash && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package be.brw.infrastructure;
+
+import be.brw.domain.Individual;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONObject;
+
+/**
+ * A chunk of genomes serialized once, when the evaluation is requested, so the genomes may be
+ * modified while the chunk is in flight, retried or rerouted.
+ * <p>
+ * A chunk is encoded in the {@link BinaryWireFormat} when possible; its JSON form is derived
+ * lazily from it if the service turns out not to accept the binary format.
+ * </p>
+ */
+final class EncodedChunk {
+
+    private final int size;
+    private final ByteBuffer binary;
+    private String json;
+
+    private EncodedChunk(int size, ByteBuffer binary, String json) {
+        this.size = size;
+        this.binary = binary;
+        this.json = json;
+    }
+
+    /**
+     * @param genomes The genomes.
+     * @param from The index of the first genome of the chunk.
+     * @param to The index after the last genome of the chunk.
+     * @param binary Whether the binary format should be prepared.
+     * @return The encoded chunk.
+     */
+    static EncodedChunk of(List<Individual> genomes, int from, int to, boolean binary) {
+        if (binary) {
+            ByteBuffer buffer = BinaryWireFormat.encode(genomes, from, to);
+            if (buffer != null) {
+                return new EncodedChunk(to - from, buffer, null);
+            }
+        }
+        return new EncodedChunk(to - from, null, toJson(RemoteFitnessEvaluator.toGenomeStrings(genomes.subList(from, to))));
+    }
+
+    /**
+     * @return The number of genomes in the chunk.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean hasBinary() {
+        return binary != null;
+    }
+
+    /**
+     * @return A view of the binary request body, positioned at its start.
+     */
+    ByteBuffer binary() {
+        return binary.duplicate();
+    }
+
+    /**
+     * @return The JSON request body expected by the service.
+     */
+    synchronized String json() {
+        if (json == null) {
+            json = toJson(BinaryWireFormat.decode(binary));
+        }
+        return json;
+    }
+
+    /**
+     * Returns the binary buffer to its pool; the chunk must not be sent anymore.
+     */
+    void release() {
+        if (binary != null) {
+            BinaryWireFormat.release(binary);
+        }
+    }
+
+    /**
+     * Serializes the genomes into the JSON request body expected by the service.
+     */
+    private static String toJson(List<String> genomeStrings) {
+        Map<String, List<String>> requestPayload = Map.of("solutions", new ArrayList<>(genomeStrings));
+        return new JSONObject(requestPayload).toString();
+    }
+}
@@ -0,0 +1,63 @@
+package be.brw.infrastructure;
+
+import be.brw.config.EvaluatorConfig;
+import be.brw.config.EvaluatorType;
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Builds the {@link FitnessEvaluator} used for a run from its {@link EvaluatorConfig}.
+ * <p>
+ * The returned evaluator is meant to be created once and shared by the
+ * {@link be.brw.domain.GeneticAlgorithm} and every {@link be.brw.domain.Population} it creates,
+ * so that the HTTP connection pool and the score cache live for the whole run.
+ * Callers own the evaluator and should {@link FitnessEvaluator#close() close} it when done.
+ * </p>
+ */
+public final class FitnessEvaluatorFactory {
+
+    private FitnessEvaluatorFactory() {
+    }
+
+    /**
+     * Creates the evaluator described by the configuration. The {@link EvaluatorType#LOCAL local}
+     * evaluator is returned as is, since simulating a genome is cheaper than a cache lookup.
+     *
+     * @param config The evaluator settings.
+     * @return A new evaluator owned by the caller.
+     * @throws UncheckedIOException if the level file of a local evaluator cannot be read.
+     */
+    public static FitnessEvaluator create(EvaluatorConfig config) {
+        if (config.getType() == EvaluatorType.LOCAL) {
+            try {
+                return new LocalFitnessEvaluator(Level.load(Path.of(config.getLevel())), config.getSnapshotInterval(), config.getPrefixCacheMaxBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read level " + config.getLevel(), e);
+            }
+        }
+        return createRemote(config);
+    }
+
+    /**
+     * Creates the remote evaluator described by the configuration, a {@link ShardedFitnessEvaluator}
+     * when several endpoints are configured, wrapped in a {@link CachingFitnessEvaluator} unless
+     * the cache is disabled ({@code cacheSize: 0}).
+     *
+     * @param config The evaluator settings.
+     * @return A new evaluator owned by the caller.
+     */
+    public static FitnessEvaluator createRemote(EvaluatorConfig config) {
+        FitnessEvaluator evaluator = config.isSharded()
+                ? new ShardedFitnessEvaluator(config)
+                : new RemoteFitnessEvaluator(config);
+        if (config.getCacheSize() > 0) {
+            evaluator = new CachingFitnessEvaluator(evaluator, config.getCacheSize(), config.getCacheMaxBytes());
+        }
+        return evaluator;
+    }
+}
@@ -0,0 +1,456 @@
+package be.brw.infrastructure;
+
+import be.brw.config.GAConfig;
+import be.brw.config.IslandConfig;
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Individual;
+import be.brw.domain.IslandRunner;
+import be.brw.domain.MigrationTransport;
+import be.brw.domain.RunListener;
+import be.brw.domain.SolutionCollector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One process of a distributed island run: runs {@link IslandConfig#getIslands()} islands and
+ * exchanges migrants with the other nodes over TCP.
+ * <p>
+ * Node {@code k} runs the islands {@code k * islands} to {@code (k + 1) * islands - 1} of the run
+ * and listens on {@code nodes[k]}. Every node opens one connection to each node it sends to, and
+ * writes frames on it: a byte giving the type of the frame, then its fields.
+ * </p>
+ * <ul>
+ *     <li>HELLO: the id of the sending node, first on every connection.</li>
+ *     <li>MIGRANTS: the global index of the receiving island, then the migrants as written by {@link MigrantCodec}.</li>
+ *     <li>RESULT: sent to the coordinator at the end of a run: the id of the node, the fitness
+ *     and genome of its fittest individual, and its solutions.</li>
+ *     <li>STOP: sent by the coordinator once {@code maxSolutions} solutions were found.</li>
+ * </ul>
+ * <p>
+ * Every connection is written by a thread of its own from a small bounded queue, so islands never
+ * wait for the network, and the oldest frames are dropped when a peer cannot keep up. A peer that
+ * cannot be reached is retried after a back-off; what is sent to it in the meantime is dropped.
+ * </p>
+ * <p>
+ * Node 0 is the coordinator. Once its own islands are done it waits for the RESULT of every
+ * other node, merges the solutions and keeps the global best. A node whose connection closes
+ * before it sent its RESULT has dropped out and is not waited for, nor is any node after
+ * {@link IslandConfig#getResultTimeoutMs()}.
+ * </p>
+ */
+public final class IslandNode implements MigrationTransport {
+
+    static final int COORDINATOR = 0;
+
+    private static final byte HELLO = 0;
+    private static final byte MIGRANTS = 1;
+    private static final byte RESULT = 2;
+    private static final byte STOP = 3;
+
+    private static final int MAX_QUEUED_FRAMES = 64;
+    private static final long RECONNECT_BACKOFF_MS = 1000;
+
+    private final GAConfig config;
+    private final IslandConfig islandConfig;
+    private final int nodeId;
+    private final List<InetSocketAddress> nodes;
+    private final IslandRunner runner;
+    private final PeerLink[] links;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    // Coordinator
+    private final Set<Integer> finished = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch pending;
+    private final SolutionCollector winners;
+    private String bestGenome;
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param config The configuration of the run, with the nodes and the id of this node.
+     * @param fitnessEvaluator The evaluator shared by the islands of this node; it must be thread-safe.
+     */
+    public IslandNode(GAConfig config, FitnessEvaluator fitnessEvaluator) {
+        this.config = config;
+        this.islandConfig = config.getIslandConfig();
+        this.nodeId = islandConfig.getNodeId();
+        this.nodes = new ArrayList<>();
+        for (String node : islandConfig.getNodes()) {
+            nodes.add(parseAddress(node));
+        }
+        this.links = new PeerLink[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            links[i] = i == nodeId ? null : new PeerLink(i);
+        }
+        this.winners = new SolutionCollector(config.getMaxSolutions(), null);
+        this.finished.add(nodeId);
+        this.pending = new CountDownLatch(nodes.size() - 1);
+        // Last, as the runner sends its migrants through this node.
+        int islands = islandConfig.getIslands();
+        this.runner = new IslandRunner(config, fitnessEvaluator, nodeId * islands, nodes.size() * islands, this);
+    }
+
+    /**
+     * Adds a listener told about the progress of every island of this node.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(RunListener listener) {
+        runner.addListener(listener);
+    }
+
+    /**
+     * Runs the islands of this node. On the coordinator, also waits for the other nodes.
+     *
+     * @return On the coordinator, the distinct solutions of all nodes, at most {@code maxSolutions};
+     * on the other nodes, the solutions of this node.
+     * @throws UncheckedIOException if the node cannot listen on its address.
+     */
+    public List<String> run() {
+        try (ServerSocket server = new ServerSocket()) {
+            server.setReuseAddress(true);
+            server.bind(nodes.get(nodeId));
+            Thread.ofPlatform().daemon().name("island-node-" + nodeId + "-accept").start(() -> accept(server));
+            if (nodeId != COORDINATOR && !links[COORDINATOR].connectWithin(islandConfig.getConnectTimeoutMs())) {
+                System.err.println("Coordinator " + nodes.get(COORDINATOR) + " is unreachable, running on");
+            }
+
+            List<String> own = runner.run();
+            Individual fittest = runner.getFittest();
+            if (nodeId == COORDINATOR) {
+                return gather(own, fittest);
+            }
+            links[COORDINATOR].send(resultFrame(own, fittest));
+            return own;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not listen on " + nodes.get(nodeId), e);
+        } finally {
+            // Closing the links flushes what is queued, the RESULT frame included.
+            for (PeerLink link : links) {
+                if (link != null) {
+                    link.close();
+                }
+            }
+            for (Socket socket : connections) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * @return On the coordinator after {@link #run()}, the genome of the fittest individual of all nodes.
+     */
+    public synchronized String getBestGenome() {
+        return bestGenome;
+    }
+
+    /**
+     * @return On the coordinator after {@link #run()}, the fitness of the fittest individual of all nodes.
+     */
+    public synchronized double getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * @return After {@link #run()}, the shortest of the solutions it returned, or {@code null} if there are none.
+     */
+    public String getShortestSolution() {
+        return nodeId == COORDINATOR ? winners.getShortest() : runner.getShortestSolution();
+    }
+
+    @Override
+    public void send(int island, List<Individual> emigrants) {
+        int node = island / islandConfig.getIslands();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MIGRANTS);
+            out.writeInt(island);
+            MigrantCodec.write(out, emigrants);
+            links[node].send(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits for the other nodes and merges their results with those of the coordinator.
+     */
+    private List<String> gather(List<String> own, Individual fittest) {
+        record(nodeId, own, fittest == null ? null : fittest.getGenomeString(), fittest == null ? Double.NEGATIVE_INFINITY : fittest.getFitness());
+        try {
+            if (!pending.await(islandConfig.getResultTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                System.err.println("Gave up waiting for the results of the other nodes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        broadcastStop();
+        synchronized (this) {
+            return winners.getSolutions();
+        }
+    }
+
+    /**
+     * Merges the result of a node, and stops the whole run once enough solutions were found.
+     */
+    private void record(int node, List<String> nodeWinners, String genome, double fitness) {
+        boolean enough;
+        synchronized (this) {
+            winners.addAll(nodeWinners);
+            if (genome != null && fitness > bestFitness) {
+                bestFitness = fitness;
+                bestGenome = genome;
+            }
+            enough = winners.isFull();
+        }
+        if (node != nodeId && finished.add(node)) {
+            pending.countDown();
+        }
+        if (enough) {
+            runner.stop();
+            broadcastStop();
+        }
+    }
+
+    private void dropped(int node) {
+        if (finished.add(node)) {
+            System.err.println("Node " + node + " dropped out");
+            pending.countDown();
+        }
+    }
+
+    private void broadcastStop() {
+        for (PeerLink link : links) {
+            if (link != null) {
+                link.send(new byte[]{STOP});
+            }
+        }
+    }
+
+    private byte[] resultFrame(List<String> own, Individual fittest) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(RESULT);
+            out.writeInt(nodeId);
+            out.writeBoolean(fittest != null);
+            if (fittest != null) {
+                out.writeDouble(fittest.getFitness());
+                out.writeUTF(fittest.getGenomeString());
+            }
+            out.writeInt(own.size());
+            for (String winner : own) {
+                out.writeUTF(winner);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.add(socket);
+                Thread.ofPlatform().daemon().name("island-node-" + nodeId + "-read").start(() -> read(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("Could not accept a peer: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the frames of an incoming connection until it closes.
+     */
+    private void read(Socket socket) {
+        int peer = -1;
+        boolean reported = false;
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (true) {
+                byte type = in.readByte();
+                switch (type) {
+                    case HELLO -> peer = in.readInt();
+                    case MIGRANTS -> {
+                        int island = in.readInt();
+                        runner.deliver(island, MigrantCodec.read(in));
+                    }
+                    case RESULT -> {
+                        int node = in.readInt();
+                        double fitness = Double.NEGATIVE_INFINITY;
+                        String genome = null;
+                        if (in.readBoolean()) {
+                            fitness = in.readDouble();
+                            genome = in.readUTF();
+                        }
+                        int count = in.readInt();
+                        List<String> nodeWinners = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            nodeWinners.add(in.readUTF());
+                        }
+                        reported = true;
+                        record(node, nodeWinners, genome, fitness);
+                    }
+                    case STOP -> runner.stop();
+                    default -> throw new IOException("Unknown frame type " + type);
+                }
+            }
+        } catch (EOFException e) {
+            // The peer closed the connection.
+        } catch (IOException | IllegalArgumentException e) {
+            if (!socket.isClosed()) {
+                System.err.println("Dropping connection from node " + peer + ": " + e.getMessage());
+            }
+        } finally {
+            connections.remove(socket);
+            if (nodeId == COORDINATOR && peer >= 0 && !reported) {
+                dropped(peer);
+            }
+        }
+    }
+
+    private static InetSocketAddress parseAddress(String node) {
+        int colon = node.lastIndexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Node address must be host:port, was " + node);
+        }
+        return new InetSocketAddress(node.substring(0, colon), Integer.parseInt(node.substring(colon + 1)));
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Closing anyway.
+        }
+    }
+
+    /**
+     * The outgoing connection to another node, written by a thread of its own.
+     */
+    private final class PeerLink implements AutoCloseable {
+        private final int node;
+        private final ThreadPoolExecutor writer;
+        private Socket socket;
+        private DataOutputStream out;
+        private long retryAt;
+
+        private PeerLink(int node) {
+            this.node = node;
+            this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(MAX_QUEUED_FRAMES),
+                    runnable -> Thread.ofPlatform().daemon().name("island-node-" + nodeId + "-to-" + node).unstarted(runnable),
+                    new ThreadPoolExecutor.DiscardOldestPolicy());
+        }
+
+        /**
+         * Queues a frame, dropping the oldest queued one if the queue is full.
+         */
+        void send(byte[] frame) {
+            writer.execute(() -> write(frame));
+        }
+
+        /**
+         * Connects, retrying until the timeout.
+         *
+         * @return Whether the connection is up.
+         */
+        boolean connectWithin(long timeoutMs) {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            try {
+                return writer.submit(() -> {
+                    while (!connect()) {
+                        if (System.currentTimeMillis() >= deadline) {
+                            return false;
+                        }
+                        Thread.sleep(50);
+                        retryAt = 0;
+                    }
+                    return true;
+                }).get();
+            } catch (ExecutionException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void write(byte[] frame) {
+            if (out == null && !connect()) {
+                return;
+            }
+            try {
+                out.write(frame);
+                out.flush();
+            } catch (IOException e) {
+                System.err.println("Lost connection to node " + node + ": " + e.getMessage());
+                disconnect();
+            }
+        }
+
+        private boolean connect() {
+            if (System.currentTimeMillis() < retryAt) {
+                return false;
+            }
+            Socket candidate = new Socket();
+            try {
+                candidate.connect(nodes.get(node), islandConfig.getConnectTimeoutMs());
+                candidate.setTcpNoDelay(true);
+                out = new DataOutputStream(new BufferedOutputStream(candidate.getOutputStream()));
+                socket = candidate;
+                out.writeByte(HELLO);
+                out.writeInt(nodeId);
+                out.flush();
+                return true;
+            } catch (IOException e) {
+                closeQuietly(candidate);
+                disconnect();
+                return false;
+            }
+        }
+
+        private void disconnect() {
+            if (socket != null) {
+                closeQuietly(socket);
+            }
+            socket = null;
+            out = null;
+            retryAt = System.currentTimeMillis() + RECONNECT_BACKOFF_MS;
+        }
+
+        /**
+         * Writes what is still queued, then closes the connection.
+         */
+        @Override
+        public void close() {
+            writer.execute(() -> {
+                if (socket != null) {
+                    closeQuietly(socket);
+                }
+            });
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package be.brw.infrastructure;
+
+import be.brw.domain.Genome;
+import be.brw.domain.Individual;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the migrants exchanged by {@link IslandNode}s.
+ * <p>
+ * The genomes are packed as in a {@link BinaryWireFormat} request, prefixed with its length in
+ * bytes, and followed by the fitness of every migrant, so a migrant of {@code n} genes takes
+ * {@code 12 + ceil(3n / 8)} bytes.
+ * </p>
+ */
+final class MigrantCodec {
+
+    /**
+     * Larger payloads are taken for a corrupted stream rather than allocated.
+     */
+    private static final int MAX_GENOME_BYTES = 64 * 1024 * 1024;
+
+    private MigrantCodec() {
+    }
+
+    /**
+     * @param out The stream to write to.
+     * @param migrants The migrants, whose genes must all be moves.
+     * @throws IOException if the stream cannot be written.
+     * @throws IllegalArgumentException if a gene is not a move.
+     */
+    static void write(DataOutput out, List<Individual> migrants) throws IOException {
+        ByteBuffer genomes = BinaryWireFormat.encode(migrants, 0, migrants.size());
+        if (genomes == null) {
+            throw new IllegalArgumentException("Migrants can only carry moves");
+        }
+        try {
+            out.writeInt(genomes.remaining());
+            out.write(genomes.array(), genomes.arrayOffset() + genomes.position(), genomes.remaining());
+        } finally {
+            BinaryWireFormat.release(genomes);
+        }
+        for (Individual migrant : migrants) {
+            out.writeDouble(migrant.getFitness());
+        }
+    }
+
+    /**
+     * @param in The stream to read from.
+     * @return The migrants, with their fitness.
+     * @throws IOException if the stream cannot be read or does not hold migrants.
+     */
+    static List<Individual> read(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < Integer.BYTES || length > MAX_GENOME_BYTES) {
+            throw new IOException("Invalid migrant payload of " + length + " bytes");
+        }
+        byte[] packed = new byte[length];
+        in.readFully(packed);
+        List<String> genomes = BinaryWireFormat.decode(ByteBuffer.wrap(packed));
+        List<Individual> migrants = new ArrayList<>(genomes.size());
+        for (String genome : genomes) {
+            migrants.add(new Individual(Genome.of(genome.getBytes(StandardCharsets.US_ASCII)), in.readDouble()));
+        }
+        return migrants;
+    }
+}
@@ -0,0 +1,380 @@
+package be.brw.infrastructure;
+
+import be.brw.config.LogConfig;
+import be.brw.config.LogFormat;
+import be.brw.domain.RunListener;
+import be.brw.metrics.Counter;
+import be.brw.metrics.GenerationMetrics;
+import be.brw.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the progress of runs on a background thread, as text, CSV or JSON lines.
+ * <p>
+ * The listener methods only decide whether an event is logged and drop it in a {@link RingBuffer};
+ * formatting and writing happen on the writer thread, which drains the buffer in batches and
+ * flushes once per batch. The algorithm never waits for the console or the disk, except for
+ * solutions and results when the buffer is full: generations are dropped then, and counted in the
+ * {@code log.dropped} counter of the default {@link MetricsRegistry}.
+ * </p>
+ * <p>
+ * Generations are sampled as set by the {@link LogConfig}. A log shared by several runs, like the
+ * islands of an island run, logs the generations that raised the best fitness of all of them.
+ * </p>
+ */
+public final class ProgressLog implements RunListener, AutoCloseable {
+
+    /**
+     * How long the writer sleeps when it finds the buffer empty.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String CSV_HEADER = "event,generation,bestFitness,bestFitnessOverall,meanFitness,diversity,meanGenomeLength,"
+            + "selectionMs,crossoverMs,mutationMs,evaluationMs,genome";
+
+    private final Writer out;
+    private final boolean closeOut;
+    private final LogFormat format;
+    private final int sampleEvery;
+    private final boolean onImprovement;
+    private final RingBuffer<Object> buffer;
+    private final Thread writer;
+    private final Counter droppedTotal = MetricsRegistry.getDefault().counter("log.dropped");
+    private final AtomicLong dropped = new AtomicLong();
+    /**
+     * The bits of the highest fitness logged by {@link #onImprovement}.
+     */
+    private final AtomicLong bestFitnessBits = new AtomicLong(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+    private final StringBuilder line = new StringBuilder(256);
+    private volatile boolean closed;
+    private IOException failure;
+
+    /**
+     * @param out Where the log is written.
+     * @param closeOut Whether {@link #close()} closes {@code out}, or only flushes it.
+     * @param config The format, sampling and buffer size of the log; its file is ignored.
+     */
+    public ProgressLog(Writer out, boolean closeOut, LogConfig config) {
+        this.out = out;
+        this.closeOut = closeOut;
+        this.format = config.getFormat();
+        this.sampleEvery = config.getSampleEvery();
+        this.onImprovement = config.isOnImprovement();
+        this.buffer = new RingBuffer<>(config.getBufferSize());
+        if (format == LogFormat.CSV) {
+            buffer.offer(CSV_HEADER);
+        }
+        this.writer = new Thread(this::drainUntilClosed, "progress-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens the log described by a configuration: its file, created or truncated, or the standard output.
+     *
+     * @param config The configuration of the log.
+     * @return The log, to be closed when the runs are done.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static ProgressLog open(LogConfig config) throws IOException {
+        if (config.hasFile()) {
+            Path file = Path.of(config.getFile());
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            return new ProgressLog(Files.newBufferedWriter(file), true, config);
+        }
+        return new ProgressLog(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), false, config);
+    }
+
+    @Override
+    public void onGeneration(GenerationMetrics metrics) {
+        boolean sampled = sampleEvery > 0 && metrics.getGeneration() % sampleEvery == 0;
+        boolean improved = onImprovement && raiseBestFitness(metrics.getBestFitnessOverall());
+        if ((sampled || improved) && !buffer.offer(metrics)) {
+            dropped.incrementAndGet();
+            droppedTotal.increment();
+        }
+    }
+
+    @Override
+    public void onSolution(int generation, String genome, double fitness) {
+        put(new Solution(generation, genome, fitness));
+    }
+
+    @Override
+    public void onResumed(int generation, String from) {
+        put(new Resumed(generation, from));
+    }
+
+    @Override
+    public void onTerminated(int generation, String reason) {
+        put(new Terminated(generation, reason));
+    }
+
+    @Override
+    public void onFinished(int generations, String bestGenome, double bestFitness, List<String> solutions) {
+        put(new Finished(generations, bestGenome, bestFitness, solutions.size()));
+    }
+
+    /**
+     * @return The number of generations this log dropped because its buffer was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the events still buffered and stops the writer thread.
+     *
+     * @throws IOException if the log could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (closeOut) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Adds an event that must not be dropped, waiting for the writer while the buffer is full.
+     */
+    private void put(Object event) {
+        while (!buffer.offer(event)) {
+            if (closed) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_NANOS / 10);
+        }
+    }
+
+    /**
+     * @return Whether {@code fitness} is higher than every fitness seen before, which it then becomes.
+     */
+    private boolean raiseBestFitness(double fitness) {
+        long bits = bestFitnessBits.get();
+        while (fitness > Double.longBitsToDouble(bits)) {
+            if (bestFitnessBits.compareAndSet(bits, Double.doubleToLongBits(fitness))) {
+                return true;
+            }
+            bits = bestFitnessBits.get();
+        }
+        return false;
+    }
+
+    /**
+     * The loop of the writer thread.
+     */
+    private void drainUntilClosed() {
+        while (true) {
+            // Read before draining, so that every event added before close() is written.
+            boolean last = closed;
+            int written = 0;
+            for (Object event = buffer.poll(); event != null; event = buffer.poll()) {
+                write(event);
+                written++;
+            }
+            if (written > 0 && failure == null) {
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (last) {
+                return;
+            }
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    private void write(Object event) {
+        if (failure != null) {
+            // The events are still drained, so that producers never wait for a broken log.
+            return;
+        }
+        line.setLength(0);
+        switch (format) {
+            case TEXT -> text(event);
+            case CSV -> csv(event);
+            case JSONL -> json(event);
+        }
+        line.append(System.lineSeparator());
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void text(Object event) {
+        switch (event) {
+            case GenerationMetrics metrics -> line
+                    .append("Best fitness for generation ").append(metrics.getGeneration()).append(" = ").append(metrics.getBestFitness())
+                    .append(System.lineSeparator())
+                    .append("Best fitness overall = ").append(metrics.getBestFitnessOverall());
+            case Solution solution -> line
+                    .append("Solution found in generation ").append(solution.generation).append(": ").append(solution.genome);
+            case Resumed resumed -> line
+                    .append("Resuming generation ").append(resumed.generation).append(" from ").append(resumed.from);
+            case Terminated terminated -> line
+                    .append("Stopped after generation ").append(terminated.generation).append(": ").append(terminated.reason);
+            case Finished finished -> line
+                    .append("Best genome found: ").append(finished.bestGenome).append(" with fitness ").append(finished.bestFitness);
+            default -> line.append(event);
+        }
+    }
+
+    private void csv(Object event) {
+        switch (event) {
+            case GenerationMetrics metrics -> line
+                    .append("generation,").append(metrics.getGeneration())
+                    .append(',').append(metrics.getBestFitness())
+                    .append(',').append(metrics.getBestFitnessOverall())
+                    .append(',').append(metrics.getMeanFitness())
+                    .append(',').append(metrics.getDiversity())
+                    .append(',').append(metrics.getMeanGenomeLength())
+                    .append(',').append(millis(metrics.getSelectionNanos()))
+                    .append(',').append(millis(metrics.getCrossoverNanos()))
+                    .append(',').append(millis(metrics.getMutationNanos()))
+                    .append(',').append(millis(metrics.getEvaluationNanos()))
+                    .append(',');
+            case Solution solution -> line
+                    .append("solution,").append(solution.generation).append(',').append(solution.fitness)
+                    .append(",,,,,,,,,").append(solution.genome);
+            // The source and the reason go in the last column, whose commas a CSV reader would split on.
+            case Resumed resumed -> line
+                    .append("resumed,").append(resumed.generation)
+                    .append(",,,,,,,,,,").append(resumed.from.replace(',', ';'));
+            case Terminated terminated -> line
+                    .append("terminated,").append(terminated.generation)
+                    .append(",,,,,,,,,,").append(terminated.reason.replace(',', ';'));
+            case Finished finished -> line
+                    .append("finished,").append(finished.generations).append(',').append(finished.bestFitness)
+                    .append(",,,,,,,,,").append(finished.bestGenome);
+            // The header.
+            default -> line.append(event);
+        }
+    }
+
+    private void json(Object event) {
+        switch (event) {
+            case GenerationMetrics metrics -> {
+                line.append("{\"event\":\"generation\",\"generation\":").append(metrics.getGeneration());
+                jsonNumber("bestFitness", metrics.getBestFitness());
+                jsonNumber("bestFitnessOverall", metrics.getBestFitnessOverall());
+                jsonNumber("meanFitness", metrics.getMeanFitness());
+                jsonNumber("diversity", metrics.getDiversity());
+                line.append(",\"minGenomeLength\":").append(metrics.getMinGenomeLength());
+                jsonNumber("meanGenomeLength", metrics.getMeanGenomeLength());
+                line.append(",\"maxGenomeLength\":").append(metrics.getMaxGenomeLength());
+                jsonNumber("selectionMs", millis(metrics.getSelectionNanos()));
+                jsonNumber("crossoverMs", millis(metrics.getCrossoverNanos()));
+                jsonNumber("mutationMs", millis(metrics.getMutationNanos()));
+                jsonNumber("evaluationMs", millis(metrics.getEvaluationNanos()));
+                line.append('}');
+            }
+            case Solution solution -> {
+                line.append("{\"event\":\"solution\",\"generation\":").append(solution.generation);
+                jsonNumber("fitness", solution.fitness);
+                jsonString("genome", solution.genome);
+                line.append('}');
+            }
+            case Resumed resumed -> {
+                line.append("{\"event\":\"resumed\",\"generation\":").append(resumed.generation);
+                jsonString("from", resumed.from);
+                line.append('}');
+            }
+            case Terminated terminated -> {
+                line.append("{\"event\":\"terminated\",\"generation\":").append(terminated.generation);
+                jsonString("reason", terminated.reason);
+                line.append('}');
+            }
+            case Finished finished -> {
+                line.append("{\"event\":\"finished\",\"generation\":").append(finished.generations);
+                jsonNumber("bestFitness", finished.bestFitness);
+                jsonString("bestGenome", finished.bestGenome);
+                line.append(",\"solutions\":").append(finished.solutions).append('}');
+            }
+            default -> line.append(event);
+        }
+    }
+
+    /**
+     * Appends a number field; JSON has no infinities, written as {@code null}.
+     */
+    private void jsonNumber(String name, double value) {
+        line.append(",\"").append(name).append("\":");
+        if (Double.isFinite(value)) {
+            line.append(value);
+        } else {
+            line.append("null");
+        }
+    }
+
+    /**
+     * Appends a string field. Genomes are made of moves that need no escaping, but quotes and backslashes are escaped anyway.
+     */
+    private void jsonString(String name, String value) {
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private record Solution(int generation, String genome, double fitness) {
+    }
+
+    private record Resumed(int generation, String from) {
+    }
+
+    private record Terminated(int generation, String reason) {
+    }
+
+    private record Finished(int generations, String bestGenome, double bestFitness, int solutions) {
+    }
+}
@@ -1,7 +1,13 @@
 package be.brw.infrastructure;
 
+import be.brw.config.EvaluatorConfig;
+import be.brw.config.WireProtocol;
+import be.brw.domain.FitnessEvaluationException;
 import be.brw.domain.FitnessEvaluator;
 import be.brw.domain.Individual;
+import be.brw.metrics.Counter;
+import be.brw.metrics.MetricsRegistry;
+import be.brw.metrics.Timer;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -11,69 +17,331 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Evaluates genomes with the HTTP fitness service.
+ * <p>
+ * A batch is split into chunks of at most {@code chunkSize} genomes, which are posted concurrently
+ * over a single shared {@link HttpClient}, with at most {@code maxInFlight} requests outstanding.
+ * The scores are reassembled in input order. A chunk that fails because of a connection problem or
+ * an unavailable service (502, 503, 504) is retried on its own with an exponential backoff; when it
+ * keeps failing a {@link FitnessEvaluationException} is raised rather than scoring it as zero.
+ * </p>
+ * <p>
+ * With the {@link WireProtocol#BINARY} protocol, genomes are sent 3 bits per move and scores come
+ * back as raw doubles (see {@link BinaryWireFormat}). A service that rejects that format
+ * (400, 415 or 422) gets the same chunk again as JSON, and JSON is used from then on.
+ * </p>
+ * <p>
+ * Every request is timed in the default {@link MetricsRegistry} as {@code evaluator.request},
+ * from the moment it is sent, after waiting for a free slot, until its response arrived.
+ * Genomes, retries and failed chunks are counted as {@code evaluator.genomes},
+ * {@code evaluator.retries} and {@code evaluator.failures}.
+ * </p>
+ */
 public class RemoteFitnessEvaluator  implements FitnessEvaluator {
-    private static final HttpClient client = HttpClient.newHttpClient();
+    private final HttpClient client;
     private final URI serviceUri;
+    private final Duration requestTimeout;
+    /**
+     * Executor owned by this evaluator, or {@code null} when the client's default one is used.
+     */
+    private final ExecutorService executor;
+
+    private final int chunkSize;
+    private final int maxRetries;
+    private final int retryBackoffMs;
+    private final AsyncPermits inFlight;
+    /**
+     * Whether binary requests are sent; cleared for good once the service rejected one.
+     */
+    private volatile boolean binaryAccepted;
+
+    private final Timer requestTimer;
+    private final Counter genomeCounter;
+    private final Counter retryCounter;
+    private final Counter failureCounter;
 
     public RemoteFitnessEvaluator(String baseUrl) {
+        this(EvaluatorConfig.forEndpoint(baseUrl));
+    }
+
+    public RemoteFitnessEvaluator(EvaluatorConfig config) {
+        String baseUrl = config.getEndpoint();
         this.serviceUri = URI.create(baseUrl)
                              .resolve(baseUrl.endsWith("/") ? "" : "/")
                              .resolve("evaluate");
+        this.requestTimeout = Duration.ofMillis(config.getRequestTimeoutMs());
+        this.chunkSize = config.getChunkSize();
+        this.maxRetries = config.getMaxRetries();
+        this.retryBackoffMs = config.getRetryBackoffMs();
+        this.inFlight = new AsyncPermits(config.getMaxInFlight());
+        this.binaryAccepted = config.getProtocol() == WireProtocol.BINARY;
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.requestTimer = metrics.timer("evaluator.request");
+        this.genomeCounter = metrics.counter("evaluator.genomes");
+        this.retryCounter = metrics.counter("evaluator.retries");
+        this.failureCounter = metrics.counter("evaluator.failures");
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()));
+        if (config.getPoolSize() > 0) {
+            this.executor = Executors.newFixedThreadPool(config.getPoolSize(), runnable -> {
+                Thread thread = new Thread(runnable, "fitness-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+            builder.executor(executor);
+        } else {
+            this.executor = null;
+        }
+        this.client = builder.build();
     }
 
+    /**
+     * @throws FitnessEvaluationException if a chunk could not be evaluated after all retries.
+     */
     @Override
     public List<Double> evaluate(List<Individual> genomes) {
         if (genomes == null || genomes.isEmpty()) {
             return Collections.emptyList();
         }
-        // Convert to a List<String>
-        List<String> genomeStrings = genomes.stream()
-                .map(genome -> {
-                    byte[] genomeBytes = new byte[genome.getGenomeLength()];
-                    for (int i = 0; i < genome.getGenomeLength(); i++) {
-                        genomeBytes[i] = genome.getGene(i);
+
+        double[] fitnessScores = join(evaluateAsync(genomes));
+        List<Double> result = new ArrayList<>(fitnessScores.length);
+        for (double fitnessScore : fitnessScores) {
+            result.add(fitnessScore);
+        }
+        return result;
+    }
+
+    /**
+     * Sends the genomes with {@link HttpClient#sendAsync}, so the calling thread can keep
+     * breeding while the service evaluates them. The request bodies are built before this
+     * method returns, so the genomes may be modified as soon as it does.
+     * The future fails with a {@link FitnessEvaluationException} if a chunk could not be evaluated.
+     */
+    @Override
+    public CompletableFuture<double[]> evaluateAsync(List<Individual> genomes) {
+        if (genomes == null || genomes.isEmpty()) {
+            return CompletableFuture.completedFuture(new double[0]);
+        }
+
+        int size = genomes.size();
+        int chunk = chunkSize > 0 ? chunkSize : size;
+        genomeCounter.add(size);
+
+        double[] fitnessScores = new double[size];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>((size + chunk - 1) / chunk);
+        for (int start = 0; start < size; start += chunk) {
+            int offset = start;
+            EncodedChunk part = encode(genomes, start, Math.min(start + chunk, size));
+            chunks.add(sendChunk(part)
+                    .whenComplete((scores, error) -> part.release())
+                    .thenAccept(scores -> System.arraycopy(scores, 0, fitnessScores, offset, part.size())));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> fitnessScores);
+    }
+
+    /**
+     * Serializes a range of genomes in the format this evaluator currently sends.
+     *
+     * @param genomes The genomes.
+     * @param from The index of the first genome of the chunk.
+     * @param to The index after the last genome of the chunk.
+     * @return The chunk, to be {@link EncodedChunk#release() released} once it is evaluated.
+     */
+    EncodedChunk encode(List<Individual> genomes, int from, int to) {
+        return EncodedChunk.of(genomes, from, to, binaryAccepted);
+    }
+
+    /**
+     * Posts one chunk of genomes, retrying it on transport failures and unavailable-service responses.
+     *
+     * @param chunk The genomes of the chunk.
+     * @return A future completed with one score per genome, or failed with a {@link FitnessEvaluationException}.
+     */
+    CompletableFuture<double[]> sendChunk(EncodedChunk chunk) {
+        CompletableFuture<double[]> result = new CompletableFuture<>();
+        attempt(chunk, 0, result);
+        return result;
+    }
+
+    private void attempt(EncodedChunk chunk, int attempt, CompletableFuture<double[]> result) {
+        int size = chunk.size();
+        boolean binary = binaryAccepted && chunk.hasBinary();
+        inFlight.acquire()
+                .thenCompose(ignored -> send(chunk, binary))
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    Throwable cause = unwrap(error);
+                    if (cause == null && binary && isRejected(response.statusCode())) {
+                        System.err.println("Fitness service rejected the binary protocol (status "
+                                + response.statusCode() + "), falling back to JSON");
+                        binaryAccepted = false;
+                        attempt(chunk, attempt, result);
+                        return;
+                    }
+                    if (cause == null && !isUnavailable(response.statusCode())) {
+                        try {
+                            result.complete(parseResponse(response, size));
+                        } catch (RuntimeException e) {
+                            result.completeExceptionally(e);
+                        }
+                        return;
+                    }
+                    if (cause != null && !(cause instanceof IOException)) {
+                        result.completeExceptionally(cause);
+                        return;
                     }
-                    return new String(genomeBytes, StandardCharsets.UTF_8);
-                })
+
+                    String reason = cause != null ? cause.toString() : "status " + response.statusCode();
+                    if (attempt < maxRetries) {
+                        System.err.println("Retrying chunk of " + size + " genomes after " + reason);
+                        retryCounter.increment();
+                        long delay = (long) retryBackoffMs << attempt;
+                        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                                .execute(() -> attempt(chunk, attempt + 1, result));
+                    } else {
+                        failureCounter.increment();
+                        result.completeExceptionally(new FitnessEvaluationException(
+                                "Could not evaluate " + size + " genomes at " + serviceUri
+                                        + " after " + (attempt + 1) + " attempts: " + reason, cause));
+                    }
+                });
+    }
+
+    /**
+     * Sends one request, timing it until its response or failure.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(EncodedChunk chunk, boolean binary) {
+        long start = System.nanoTime();
+        return client.sendAsync(buildRequest(chunk, binary), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> requestTimer.recordSince(start));
+    }
+
+    private static boolean isUnavailable(int statusCode) {
+        return statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * @return Whether the status tells that the service does not understand the request format.
+     */
+    private static boolean isRejected(int statusCode) {
+        return statusCode == 400 || statusCode == 415 || statusCode == 422;
+    }
+
+    static List<String> toGenomeStrings(List<Individual> genomes) {
+        return genomes.stream()
+                .map(Individual::getGenomeString)
                 .toList();
+    }
+
+    private HttpRequest buildRequest(EncodedChunk chunk, boolean binary) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(serviceUri)
+                .version(HttpClient.Version.HTTP_1_1)
+                .timeout(requestTimeout);
+        if (binary) {
+            // The pooled buffer is sent as is: it is only released once the chunk is done.
+            ByteBuffer body = chunk.binary();
+            builder.header("Content-Type", BinaryWireFormat.REQUEST_CONTENT_TYPE)
+                    .header("Accept", BinaryWireFormat.RESPONSE_CONTENT_TYPE + ", application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body.array(), body.arrayOffset() + body.position(), body.remaining()));
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(chunk.json()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses the scores from a service response, in the format given by its {@code Content-Type}.
+     * Other non-200 responses mean the service rejected the genomes; they are logged and scored as zeros.
+     */
+    private static double[] parseResponse(HttpResponse<byte[]> response, int size) {
+        if (response.statusCode() == 200) {
+            boolean binary = response.headers().firstValue("Content-Type")
+                    .filter(type -> type.startsWith(BinaryWireFormat.RESPONSE_CONTENT_TYPE))
+                    .isPresent();
+            if (binary) {
+                return BinaryWireFormat.decodeScores(response.body(), size);
+            }
+            return decodeJson(response.body(), size);
+        }
+        // Handle non-200 responses or unexpected response format
+        System.err.println("Error evaluating fitness. Status: " + response.statusCode()
+                + ", Body: " + new String(response.body(), StandardCharsets.UTF_8));
+        return new double[size];
+    }
 
+    /**
+     * Parses the scores of a JSON response body, {@code {"fitness_scores": [...]}}.
+     *
+     * @param body     The UTF-8 encoded body.
+     * @param expected The number of genomes that were sent.
+     * @return The scores.
+     * @throws FitnessEvaluationException if the service returned a score count other than {@code expected}.
+     */
+    static double[] decodeJson(byte[] body, int expected) {
+        JSONObject responseBody = new JSONObject(new String(body, StandardCharsets.UTF_8));
+        JSONArray responseBodyJSONArray = responseBody.getJSONArray("fitness_scores");
+        if (responseBodyJSONArray.length() != expected) {
+            throw new FitnessEvaluationException("Expected " + expected + " scores but the service returned "
+                    + responseBodyJSONArray.length());
+        }
+        double[] fitnessScores = new double[responseBodyJSONArray.length()];
+        for (int i = 0; i < fitnessScores.length; i++) {
+            fitnessScores[i] = responseBodyJSONArray.getDouble(i);
+        }
+        return fitnessScores;
+    }
+
+    /**
+     * Waits for a future, rethrowing the exception it failed with.
+     */
+    static <T> T join(CompletableFuture<T> future) {
         try {
-            // Prepare the request JSON & send it
-            Map<String, List<String>> requestPayload = Map.of("solutions", genomeStrings);
-            JSONObject jsonObject = new JSONObject(requestPayload);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(serviceUri)
-                    .header("Content-Type", "application/json")
-                    .version(HttpClient.Version.HTTP_1_1)
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonObject.toString()))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                // Parse the response
-                JSONObject responseBody = new JSONObject(response.body());
-                JSONArray responseBodyJSONArray = responseBody.getJSONArray("fitness_scores");
-                List<Double> fitnessScores = new ArrayList<>();
-                for (int i = 0; i < responseBodyJSONArray.length(); i++) {
-                    fitnessScores.add(responseBodyJSONArray.getDouble(i));
-                }
-                return fitnessScores;
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            // Handle non-200 responses or unexpected response format
-            System.err.println("Error evaluating fitness. Status: " + response.statusCode() + ", Body: " + response.body());
-        } catch (IOException | InterruptedException e) {
-            System.err.println("Exception during remote fitness evaluation: " + e.getMessage());
-            Thread.currentThread().interrupt();
+            throw new FitnessEvaluationException("Remote fitness evaluation failed", e.getCause());
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * @return The full URI of the {@code /evaluate} endpoint this evaluator posts to.
+     */
+    public URI getServiceUri() {
+        return serviceUri;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
         }
-        // In case of any error, return a list of zeros with the same size as the input.
-        return Collections.nCopies(genomes.size(), 0.0);
     }
 }
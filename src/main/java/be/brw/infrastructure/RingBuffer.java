@@ -0,0 +1,92 @@
+package be.brw.infrastructure;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded queue of many producers and a single consumer that never blocks.
+ * <p>
+ * Slots are claimed by advancing a shared tail with a compare-and-set, and every slot carries a
+ * sequence number that tells whether it is free for the producer of a given position or filled
+ * for the consumer. A full buffer makes {@link #offer(Object)} fail at once instead of waiting.
+ * Only one thread may call {@link #poll()}.
+ * </p>
+ *
+ * @param <T> The type of the elements.
+ */
+final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> elements;
+    /**
+     * {@code sequences[i]} is the position slot {@code i} is free for, or that position plus one once it is filled.
+     */
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * The position of the next element to poll; only used by the consumer.
+     */
+    private long head;
+
+    /**
+     * @param capacity The minimum number of elements the buffer holds; rounded up to a power of two.
+     */
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room for it.
+     *
+     * @param element The element, not {@code null}.
+     * @return Whether it was added.
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long available = sequences.get(slot) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false;
+            } else {
+                // Another producer claimed the slot first.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element; only called by the consumer thread.
+     *
+     * @return The element, or {@code null} if the buffer is empty or its oldest slot is still being filled.
+     */
+    T poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return null;
+        }
+        T element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,262 @@
+package be.brw.infrastructure;
+
+import be.brw.config.EvaluatorConfig;
+import be.brw.config.RoutingStrategy;
+import be.brw.domain.FitnessEvaluationException;
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Individual;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads fitness evaluations over several instances of the fitness service.
+ * <p>
+ * A batch is split into chunks (of {@code chunkSize} genomes, or one chunk per instance when no
+ * chunk size is configured) and every chunk is routed to one instance, either the one with the
+ * fewest requests in flight or the one with the best latency-to-load ratio. Instances whose error
+ * rate exceeds the configured threshold are ejected for a while, after which they are put back in
+ * rotation. A failed chunk is sent again to another instance, up to {@code maxRetries} times.
+ * </p>
+ */
+public class ShardedFitnessEvaluator implements FitnessEvaluator {
+
+    /**
+     * Weight of the newest sample in the moving average of the latency.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final List<Shard> shards;
+    private final RoutingStrategy routing;
+    private final int chunkSize;
+    private final int maxRetries;
+    private final int retryBackoffMs;
+    private final double ejectionErrorRate;
+    private final int ejectionMinRequests;
+    private final long ejectionNanos;
+    /**
+     * Rotates the starting point of the routing scan so ties are spread evenly.
+     */
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    /**
+     * Creates one {@link RemoteFitnessEvaluator} per endpoint of the configuration.
+     *
+     * @param config The evaluator settings, with at least one endpoint.
+     */
+    public ShardedFitnessEvaluator(EvaluatorConfig config) {
+        List<Shard> shards = new ArrayList<>();
+        for (String endpoint : config.getEndpoints()) {
+            // Retries are handled here, by rerouting to another instance.
+            shards.add(new Shard(endpoint, new RemoteFitnessEvaluator(config.withEndpoint(endpoint, 0))));
+        }
+        this.shards = Collections.unmodifiableList(shards);
+        this.routing = config.getRouting();
+        this.chunkSize = config.getChunkSize();
+        this.maxRetries = config.getMaxRetries();
+        this.retryBackoffMs = config.getRetryBackoffMs();
+        this.ejectionErrorRate = config.getEjectionErrorRate();
+        this.ejectionMinRequests = Math.max(1, config.getEjectionMinRequests());
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(config.getEjectionMs());
+    }
+
+    /**
+     * @throws FitnessEvaluationException if a chunk could not be evaluated by any instance.
+     */
+    @Override
+    public List<Double> evaluate(List<Individual> genomes) {
+        if (genomes == null || genomes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        double[] fitnessScores = RemoteFitnessEvaluator.join(evaluateAsync(genomes));
+        List<Double> result = new ArrayList<>(fitnessScores.length);
+        for (double fitnessScore : fitnessScores) {
+            result.add(fitnessScore);
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<double[]> evaluateAsync(List<Individual> genomes) {
+        if (genomes == null || genomes.isEmpty()) {
+            return CompletableFuture.completedFuture(new double[0]);
+        }
+
+        int size = genomes.size();
+        int chunk = chunkSize > 0 ? chunkSize : (size + shards.size() - 1) / shards.size();
+
+        double[] fitnessScores = new double[size];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunk) {
+            int offset = start;
+            // Every shard is configured alike, so any of them can encode the chunk.
+            EncodedChunk part = shards.getFirst().evaluator.encode(genomes, start, Math.min(start + chunk, size));
+            CompletableFuture<double[]> result = new CompletableFuture<>();
+            dispatch(part, 0, null, result);
+            chunks.add(result.whenComplete((scores, error) -> part.release()).thenAccept(scores -> System.arraycopy(scores, 0, fitnessScores, offset, part.size())));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> fitnessScores);
+    }
+
+    /**
+     * Sends a chunk to the best instance, rerouting it to another one when it fails.
+     */
+    private void dispatch(EncodedChunk part, int attempt, Shard previous, CompletableFuture<double[]> result) {
+        Shard shard = pick(previous);
+        shard.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        shard.evaluator.sendChunk(part).whenComplete((scores, error) -> {
+            shard.outstanding.decrementAndGet();
+            shard.record(error == null, System.nanoTime() - start);
+            if (error == null) {
+                result.complete(scores);
+                return;
+            }
+            if (attempt >= maxRetries) {
+                result.completeExceptionally(new FitnessEvaluationException(
+                        "Could not evaluate " + part.size() + " genomes on any instance", error));
+                return;
+            }
+            System.err.println("Rerouting chunk of " + part.size() + " genomes after failure on " + shard.endpoint);
+            Shard next = pick(shard);
+            if (next == shard) {
+                // No other instance to fall back to: give the failing one some time.
+                long delay = (long) retryBackoffMs << attempt;
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                        .execute(() -> dispatch(part, attempt + 1, shard, result));
+            } else {
+                dispatch(part, attempt + 1, shard, result);
+            }
+        });
+    }
+
+    /**
+     * Picks the instance for the next chunk according to the routing strategy, preferring healthy
+     * instances other than {@code avoid}. When every instance is ejected, the one that comes back first is used.
+     */
+    private Shard pick(Shard avoid) {
+        long now = System.nanoTime();
+        int offset = Math.floorMod(roundRobin.getAndIncrement(), shards.size());
+        Shard best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < shards.size(); i++) {
+            Shard shard = shards.get((offset + i) % shards.size());
+            if (shard.isEjected(now) || (shard == avoid && shards.size() > 1)) {
+                continue;
+            }
+            double score = score(shard);
+            if (score < bestScore) {
+                best = shard;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+
+        Shard soonest = shards.getFirst();
+        for (Shard shard : shards) {
+            if (shard != avoid && shard.ejectedUntil - soonest.ejectedUntil < 0) {
+                soonest = shard;
+            }
+        }
+        return soonest;
+    }
+
+    private double score(Shard shard) {
+        int outstanding = shard.outstanding.get();
+        return switch (routing) {
+            case LEAST_OUTSTANDING -> outstanding;
+            // An instance without samples yet has a zero latency, so it gets tried early.
+            case LATENCY_WEIGHTED -> (shard.latencyNanos + 1.0) * (outstanding + 1);
+        };
+    }
+
+    /**
+     * @return The base URLs of the instances, in configuration order.
+     */
+    public List<String> getEndpoints() {
+        return shards.stream().map(shard -> shard.endpoint).toList();
+    }
+
+    /**
+     * @param index The position of the instance in {@link #getEndpoints()}.
+     * @return The number of chunks the instance evaluated successfully.
+     */
+    public long getServedCount(int index) {
+        synchronized (shards.get(index)) {
+            return shards.get(index).served;
+        }
+    }
+
+    /**
+     * @param index The position of the instance in {@link #getEndpoints()}.
+     * @return Whether the instance is currently out of rotation because of its error rate.
+     */
+    public boolean isEjected(int index) {
+        return shards.get(index).isEjected(System.nanoTime());
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.evaluator.close();
+        }
+    }
+
+    /**
+     * One instance of the service with its load and health statistics.
+     */
+    private final class Shard {
+        private final String endpoint;
+        private final RemoteFitnessEvaluator evaluator;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private volatile double latencyNanos;
+        private volatile long ejectedUntil = System.nanoTime();
+        // Guarded by this
+        private int requests;
+        private int failures;
+        private long served;
+
+        private Shard(String endpoint, RemoteFitnessEvaluator evaluator) {
+            this.endpoint = endpoint;
+            this.evaluator = evaluator;
+        }
+
+        private boolean isEjected(long now) {
+            return now - ejectedUntil < 0;
+        }
+
+        /**
+         * Updates the latency average and error rate, ejecting the instance when it fails too often.
+         */
+        private synchronized void record(boolean success, long elapsedNanos) {
+            requests++;
+            if (success) {
+                served++;
+                latencyNanos = latencyNanos == 0
+                        ? elapsedNanos
+                        : LATENCY_SMOOTHING * elapsedNanos + (1 - LATENCY_SMOOTHING) * latencyNanos;
+            } else {
+                failures++;
+            }
+
+            if (requests >= ejectionMinRequests && (double) failures / requests >= ejectionErrorRate) {
+                ejectedUntil = System.nanoTime() + ejectionNanos;
+                requests = 0;
+                failures = 0;
+                System.err.println("Ejecting unhealthy fitness service " + endpoint);
+            } else if (requests >= 4 * ejectionMinRequests) {
+                // Let old outcomes fade out, so the rate reflects the recent health of the instance.
+                requests /= 2;
+                failures /= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package be.brw.infrastructure;
+
+import be.brw.config.LogConfig;
+import be.brw.domain.RunListener;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Writes every distinct solution to a file as soon as it is found, one genome per line.
+ * <p>
+ * Each line is flushed as it is written, so the file holds every solution found so far even if the
+ * run is cut short. Solutions are rare, so they are written on the thread that found them. A
+ * file shared by several runs, like the islands of an island run, holds every solution once.
+ * </p>
+ */
+public final class SolutionFile implements RunListener, AutoCloseable {
+
+    private final Writer out;
+    private final Set<String> written = new HashSet<>();
+    private IOException failure;
+
+    /**
+     * @param out Where the solutions are written; closed by {@link #close()}.
+     */
+    public SolutionFile(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Opens the solutions file of a log configuration, created or truncated.
+     *
+     * @param config The configuration of the log.
+     * @return The file, to be closed when the runs are done; or {@code null} if the configuration names none.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static SolutionFile open(LogConfig config) throws IOException {
+        if (!config.hasSolutionsFile()) {
+            return null;
+        }
+        Path file = Path.of(config.getSolutionsFile());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        return new SolutionFile(Files.newBufferedWriter(file));
+    }
+
+    @Override
+    public synchronized void onSolution(int generation, String genome, double fitness) {
+        if (failure != null || !written.add(genome)) {
+            return;
+        }
+        try {
+            out.write(genome);
+            out.write(System.lineSeparator());
+            out.flush();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if a solution could not be written, or the file could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package be.brw.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, cheap to update from many threads at once.
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * @param amount The amount to add, not negative.
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
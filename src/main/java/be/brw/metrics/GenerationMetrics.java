@@ -0,0 +1,138 @@
+package be.brw.metrics;
+
+/**
+ * What happened in one generation of a run: the state of its population, and where the time
+ * went while breeding the next one.
+ * <p>
+ * Times are in nanoseconds. Crossover and mutation are summed over the breeding threads, so with
+ * parallel breeding they may add up to more than the wall-clock time of the generation.
+ * Evaluation is the time the algorithm waited for the scores of the next generation.
+ * </p>
+ */
+public final class GenerationMetrics {
+
+    private final int generation;
+    private final int populationSize;
+    private final double bestFitness;
+    private final double meanFitness;
+    private final double bestFitnessOverall;
+    private final double diversity;
+    private final int minGenomeLength;
+    private final double meanGenomeLength;
+    private final int maxGenomeLength;
+    private final long selectionNanos;
+    private final long crossoverNanos;
+    private final long mutationNanos;
+    private final long evaluationNanos;
+
+    /**
+     * @param generation The index of the generation.
+     * @param populationSize The number of individuals.
+     * @param bestFitness The highest fitness of the generation.
+     * @param meanFitness The mean fitness of the generation.
+     * @param bestFitnessOverall The highest fitness of the run so far.
+     * @param diversity The share of distinct genomes in the population, between 0 and 1.
+     * @param minGenomeLength The length of the shortest genome.
+     * @param meanGenomeLength The mean length of the genomes.
+     * @param maxGenomeLength The length of the longest genome.
+     * @param selectionNanos The time spent selecting survivors and parents.
+     * @param crossoverNanos The time spent in crossover.
+     * @param mutationNanos The time spent in mutation.
+     * @param evaluationNanos The time spent waiting for the evaluation of the next generation.
+     */
+    public GenerationMetrics(int generation, int populationSize, double bestFitness, double meanFitness, double bestFitnessOverall, double diversity,
+                             int minGenomeLength, double meanGenomeLength, int maxGenomeLength,
+                             long selectionNanos, long crossoverNanos, long mutationNanos, long evaluationNanos) {
+        this.generation = generation;
+        this.populationSize = populationSize;
+        this.bestFitness = bestFitness;
+        this.meanFitness = meanFitness;
+        this.bestFitnessOverall = bestFitnessOverall;
+        this.diversity = diversity;
+        this.minGenomeLength = minGenomeLength;
+        this.meanGenomeLength = meanGenomeLength;
+        this.maxGenomeLength = maxGenomeLength;
+        this.selectionNanos = selectionNanos;
+        this.crossoverNanos = crossoverNanos;
+        this.mutationNanos = mutationNanos;
+        this.evaluationNanos = evaluationNanos;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    public double getMeanFitness() {
+        return meanFitness;
+    }
+
+    public double getBestFitnessOverall() {
+        return bestFitnessOverall;
+    }
+
+    public double getDiversity() {
+        return diversity;
+    }
+
+    public int getMinGenomeLength() {
+        return minGenomeLength;
+    }
+
+    public double getMeanGenomeLength() {
+        return meanGenomeLength;
+    }
+
+    public int getMaxGenomeLength() {
+        return maxGenomeLength;
+    }
+
+    public long getSelectionNanos() {
+        return selectionNanos;
+    }
+
+    public long getCrossoverNanos() {
+        return crossoverNanos;
+    }
+
+    public long getMutationNanos() {
+        return mutationNanos;
+    }
+
+    public long getEvaluationNanos() {
+        return evaluationNanos;
+    }
+
+    /**
+     * @return The time spent breeding: selection, crossover and mutation.
+     */
+    public long getBreedingNanos() {
+        return selectionNanos + crossoverNanos + mutationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationMetrics{" +
+                "generation=" + generation +
+                ", populationSize=" + populationSize +
+                ", bestFitness=" + bestFitness +
+                ", meanFitness=" + meanFitness +
+                ", bestFitnessOverall=" + bestFitnessOverall +
+                ", diversity=" + diversity +
+                ", minGenomeLength=" + minGenomeLength +
+                ", meanGenomeLength=" + meanGenomeLength +
+                ", maxGenomeLength=" + maxGenomeLength +
+                ", selectionNanos=" + selectionNanos +
+                ", crossoverNanos=" + crossoverNanos +
+                ", mutationNanos=" + mutationNanos +
+                ", evaluationNanos=" + evaluationNanos +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package be.brw.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The distribution of non-negative {@code long} values, with a fixed relative precision and a
+ * fixed footprint, in the manner of HdrHistogram.
+ * <p>
+ * Values below {@value #SUB_BUCKETS} are counted exactly. Larger values fall in one of
+ * {@value #HALF_SUB_BUCKETS} buckets per power of two, so a reported percentile is at most about
+ * 1.6% above the recorded value, whatever its magnitude: nanoseconds and hours are recorded with
+ * the same precision in the same 30 KB. Recording is lock-free; readers see a consistent enough
+ * view for monitoring, not an atomic snapshot.
+ * </p>
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value The value to record; negative values are recorded as 0.
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return The mean of the recorded values, 0 if there are none.
+     */
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0.0 : (double) getSum() / n;
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     * @return The highest value equivalent to the given percentile of the recorded values, 0 if there are none.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + subBucket - HALF_SUB_BUCKETS;
+    }
+
+    static long highestEquivalent(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
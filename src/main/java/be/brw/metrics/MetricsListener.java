@@ -0,0 +1,17 @@
+package be.brw.metrics;
+
+/**
+ * Receives the metrics of every generation of the runs reporting to a {@link MetricsRegistry}.
+ * <p>
+ * Listeners are called on the thread running the generation, before the next one starts, so they
+ * should return quickly. Runs of several algorithms at once (islands, sweeps) call them concurrently.
+ * </p>
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+    /**
+     * @param metrics The metrics of a generation that just ended.
+     */
+    void onGeneration(GenerationMetrics metrics);
+}
@@ -0,0 +1,98 @@
+package be.brw.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Exposes a {@link MetricsRegistry} through JMX, one read-only attribute per value of its
+ * {@link MetricsRegistry#snapshot() snapshot}.
+ * <p>
+ * The attributes follow the metrics as they are created, so JConsole or VisualVM show the metrics
+ * of the running process under {@value #OBJECT_NAME}.
+ * </p>
+ */
+public final class MetricsMBean implements DynamicMBean {
+
+    public static final String OBJECT_NAME = "be.brw:type=Metrics";
+
+    private final MetricsRegistry registry;
+
+    public MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the default registry with the platform MBean server, unless it already is.
+     *
+     * @throws IllegalStateException if the MBean cannot be registered.
+     */
+    public static void registerDefault() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsMBean(MetricsRegistry.getDefault()), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by an earlier run of the same process.
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Double value = registry.snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Double> values = registry.snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Double value = values.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("No operations: " + actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Double> values = registry.snapshot();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+        int i = 0;
+        for (String name : values.keySet()) {
+            attributes[i++] = new MBeanAttributeInfo(name, Double.class.getName(), name, true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "Metrics of the genetic algorithm and its evaluators",
+                attributes, null, null, null);
+    }
+}
@@ -0,0 +1,132 @@
+package be.brw.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Named counters, timers, histograms and gauges, updated by the algorithm and the evaluators,
+ * plus the listeners of the per-generation metrics.
+ * <p>
+ * Metrics are created on first use and live as long as the registry. Everything in the process
+ * reports to the {@link #getDefault() default registry}, so runs going on at the same time (islands,
+ * sweeps) add up in the same metrics; per-run figures are in the {@link GenerationMetrics} each
+ * run publishes. The registry is exposed through JMX by {@link MetricsMBean}.
+ * </p>
+ * <p>
+ * Names are dotted, prefixed by the component: {@code ga.*} for the algorithm, {@code evaluator.*}
+ * for the evaluators.
+ * </p>
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile GenerationMetrics lastGeneration;
+
+    /**
+     * @return The registry the algorithm and the evaluators report to.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, ignored -> new Counter());
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, ignored -> new Timer());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, ignored -> new Histogram());
+    }
+
+    /**
+     * Registers a value read whenever the metrics are read. The first gauge registered under a name is kept.
+     *
+     * @param name The name of the gauge.
+     * @param value The function computing its value.
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.putIfAbsent(name, value);
+    }
+
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Hands the metrics of a generation to every listener, and keeps them as the last generation.
+     *
+     * @param metrics The metrics of a generation that just ended.
+     */
+    public void publish(GenerationMetrics metrics) {
+        lastGeneration = metrics;
+        for (MetricsListener listener : listeners) {
+            listener.onGeneration(metrics);
+        }
+    }
+
+    /**
+     * @return The metrics of the last generation published by any run, or {@code null}.
+     */
+    public GenerationMetrics getLastGeneration() {
+        return lastGeneration;
+    }
+
+    /**
+     * Reads every metric as a flat map of values, sorted by name.
+     * <p>
+     * Timers are in milliseconds, with the suffixes {@code .count}, {@code .totalMs},
+     * {@code .meanMs}, {@code .p50Ms}, {@code .p99Ms} and {@code .maxMs}; histograms have
+     * {@code .count}, {@code .mean}, {@code .p50}, {@code .p99} and {@code .max}. The last published
+     * generation is under {@code generation.*}.
+     * </p>
+     *
+     * @return The values by name.
+     */
+    public Map<String, Double> snapshot() {
+        Map<String, Double> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, (double) counter.get()));
+        timers.forEach((name, timer) -> {
+            values.put(name + ".count", (double) timer.getCount());
+            values.put(name + ".totalMs", timer.getTotalMillis());
+            values.put(name + ".meanMs", timer.getMeanMillis());
+            values.put(name + ".p50Ms", timer.getPercentileMillis(50));
+            values.put(name + ".p99Ms", timer.getPercentileMillis(99));
+            values.put(name + ".maxMs", timer.getMaxMillis());
+        });
+        histograms.forEach((name, histogram) -> {
+            values.put(name + ".count", (double) histogram.getCount());
+            values.put(name + ".mean", histogram.getMean());
+            values.put(name + ".p50", (double) histogram.getPercentile(50));
+            values.put(name + ".p99", (double) histogram.getPercentile(99));
+            values.put(name + ".max", (double) histogram.getMax());
+        });
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsDouble()));
+        GenerationMetrics last = lastGeneration;
+        if (last != null) {
+            values.put("generation.index", (double) last.getGeneration());
+            values.put("generation.bestFitness", last.getBestFitness());
+            values.put("generation.meanFitness", last.getMeanFitness());
+            values.put("generation.bestFitnessOverall", last.getBestFitnessOverall());
+            values.put("generation.diversity", last.getDiversity());
+            values.put("generation.meanGenomeLength", last.getMeanGenomeLength());
+        }
+        return values;
+    }
+}
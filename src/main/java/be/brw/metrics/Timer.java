@@ -0,0 +1,58 @@
+package be.brw.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The distribution of the durations of an operation, in nanoseconds.
+ */
+public final class Timer {
+
+    private final Histogram histogram = new Histogram();
+
+    /**
+     * @param nanos The duration of one operation.
+     */
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}.
+     *
+     * @param startNanos A value of {@link System#nanoTime()} taken when the operation started.
+     * @return The current value of {@link System#nanoTime()}, to start timing the next operation.
+     */
+    public long recordSince(long startNanos) {
+        long now = System.nanoTime();
+        histogram.record(now - startNanos);
+        return now;
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public double getTotalMillis() {
+        return toMillis(histogram.getSum());
+    }
+
+    public double getMeanMillis() {
+        return histogram.getMean() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMillis() {
+        return toMillis(histogram.getMax());
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     * @return The duration at that percentile, in milliseconds.
+     */
+    public double getPercentileMillis(double percentile) {
+        return toMillis(histogram.getPercentile(percentile));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,70 @@
+package be.brw;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SweepRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void run_shouldOnlyRunTheConfigsMissingFromTheResults_whenResuming() throws IOException {
+        // Arrange: three configs, one of which already has a result and one that failed.
+        Path level = directory.resolve("level.txt");
+        Files.write(level, List.of("jump=2", "......", "...#..", "S..#.G", "######"));
+        List<Path> configs = List.of(config("a.yaml", level), config("b.yaml", level), config("c.yaml", level));
+        Path results = directory.resolve("results.log");
+        Files.write(results, List.of(
+                "===== Genetic Algorithm Benchmark =====",
+                "[a.yaml] Fitness=3512.000000  Genomes=RR+RR  Generations=3",
+                "[b.yaml] FAILED: Connection refused"
+        ));
+
+        // Act
+        new SweepRunner(results, 2, true).run(configs);
+
+        // Assert
+        List<String> lines = Files.readAllLines(results);
+        assertThat(lines).filteredOn(line -> line.startsWith("[a.yaml]")).hasSize(1);
+        assertThat(lines).filteredOn(line -> line.startsWith("[b.yaml] Fitness=")).hasSize(1);
+        assertThat(lines).filteredOn(line -> line.startsWith("[c.yaml] Fitness=")).hasSize(1);
+        assertThat(SweepRunner.completedConfigs(results)).containsExactlyInAnyOrder("a.yaml", "b.yaml", "c.yaml");
+    }
+
+    private Path config(String name, Path level) throws IOException {
+        Path config = directory.resolve(name);
+        Files.write(config, List.of(
+                "seed: 42",
+                "solution: \"LR+-/\"",
+                "minGenomeLength: 5",
+                "maxGenomeLength: 20",
+                "maxGeneration: 20",
+                "populationSize: 50",
+                "selectionStrategy: \"TOURNAMENT\"",
+                "tournamentSize: 4",
+                "mutationTargetStrategy: \"CHILDREN\"",
+                "mutationRate: 0.3",
+                "bitFlipRate: 0.7",
+                "bitAddRate: 0.2",
+                "bitRemoveRate: 0.1",
+                "crossoverStrategy: \"UNIFORM\"",
+                "crossoverRate: 0.9",
+                "crossoverLeftoverStrategy: \"KEEP_ONE_OR_NOT_RANDOMLY\"",
+                "lengthPunishingStrategy: \"LINEAR\"",
+                "lengthPunishingFactor: 0.5",
+                "maxSolutions: 3",
+                "evaluator:",
+                "  type: \"LOCAL\"",
+                "  level: \"" + level.toString().replace("\\", "/") + "\""
+        ));
+        return config;
+    }
+}
@@ -0,0 +1,45 @@
+package be.brw.config;
+
+import be.brw.domain.strategy.CrossoverLeftoverStrategy;
+import be.brw.domain.strategy.CrossoverStrategy;
+import be.brw.domain.strategy.LengthPunishingStrategy;
+import be.brw.domain.strategy.MutationTargetStrategy;
+import be.brw.domain.strategy.SelectionStrategy;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The configuration shared by the tests that run the algorithm.
+ */
+public final class TestConfigs {
+
+    private TestConfigs() {
+    }
+
+    /**
+     * @return A builder for 10 generations of 100 genomes of 10 to 30 moves, which tests change
+     * where they need to; its sections are the defaults.
+     */
+    public static GAConfig.Builder small() {
+        return GAConfig.builder()
+                .seed(5)
+                .solution("LR+-/".getBytes(StandardCharsets.UTF_8))
+                .minGenomeLength(10)
+                .maxGenomeLength(30)
+                .maxGeneration(10)
+                .populationSize(100)
+                .selectionStrategy(SelectionStrategy.TOURNAMENT)
+                .tournamentSize(4)
+                .mutationTargetStrategy(MutationTargetStrategy.BOTH)
+                .mutationRate(0.3)
+                .bitFlipRate(0.7)
+                .bitAddRate(0.2)
+                .bitRemoveRate(0.1)
+                .crossoverStrategy(CrossoverStrategy.UNIFORM)
+                .crossoverRate(0.9)
+                .crossoverLeftoverStrategy(CrossoverLeftoverStrategy.KEEP_ONE_OR_NOT_RANDOMLY)
+                .lengthPunishingStrategy(LengthPunishingStrategy.EXPONENTIAL)
+                .lengthPunishingFactor(0.5)
+                .maxSolutions(1000);
+    }
+}
@@ -0,0 +1,194 @@
+package be.brw.domain;
+
+import be.brw.config.AdaptiveMutationConfig;
+import be.brw.config.ExecutionConfig;
+import be.brw.config.GAConfig;
+import be.brw.config.PopulationStorage;
+import be.brw.config.TerminationConfig;
+import be.brw.config.TestConfigs;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+import be.brw.domain.strategy.AdaptiveMutationController;
+import be.brw.metrics.GenerationMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckpointTest {
+
+    private static final Level LEVEL = Level.parse(List.of(
+            "jump=1",
+            "...........#....",
+            "S......#...#...G",
+            "################"
+    ));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void runAlgorithm_shouldFollowTheSameCourse_whenResumedFromACheckpoint() {
+        // Adaptive mutation that counts every generation with a duplicate genome as converged.
+        AdaptiveMutationConfig adaptive = new AdaptiveMutationConfig(1.0, 0.9, 2.0, 0.2);
+        for (PopulationStorage storage : new PopulationStorage[]{PopulationStorage.OBJECTS, PopulationStorage.ARENA}) {
+            for (AdaptiveMutationConfig mutation : new AdaptiveMutationConfig[]{AdaptiveMutationConfig.defaults(), adaptive}) {
+                // Arrange: an uninterrupted run, and a run stopped after generation 12 with checkpoints every 5 generations.
+                String name = storage + (mutation.isEnabled() ? " adaptive" : "");
+                Path checkpoints = directory.resolve(name);
+                RunRecorder uninterrupted = run(config(storage, 20, checkpoints.resolve("other"), false).adaptiveMutationConfig(mutation).build());
+                run(config(storage, 12, checkpoints, false).adaptiveMutationConfig(mutation).build());
+
+                // Act
+                RunRecorder resumed = run(config(storage, 20, checkpoints, true).adaptiveMutationConfig(mutation).build());
+
+                // Assert
+                assertThat(resumed.resumedAt).as(name + " resumed at").isEqualTo(10);
+                assertThat(resumed.generations.getFirst()).as(name + " resumed at").startsWith("10:");
+                assertThat(resumed.generations).as(name).isEqualTo(uninterrupted.generations.subList(10, 21));
+                assertThat(resumed.result).as(name).isEqualTo(uninterrupted.result);
+            }
+        }
+    }
+
+    @Test
+    void runAlgorithm_shouldStopWhereTheUninterruptedRunStops_whenResumedFromACheckpoint() {
+        TerminationConfig stagnation = new TerminationConfig(5, 0.0, 0, 0);
+        TerminationConfig budget = new TerminationConfig(0, 0.0, 0, 1_600);
+        for (PopulationStorage storage : new PopulationStorage[]{PopulationStorage.OBJECTS, PopulationStorage.ARENA}) {
+            for (TerminationConfig termination : new TerminationConfig[]{stagnation, budget}) {
+                // Arrange: a run stopped by a policy after generation 12, and the same run stopped by maxGeneration at 12.
+                String name = storage + (termination == stagnation ? " stagnation" : " budget");
+                Path checkpoints = directory.resolve(name);
+                RunRecorder uninterrupted = run(config(storage, 40, checkpoints.resolve("other"), false).terminationConfig(termination).build());
+                run(config(storage, 12, checkpoints, false).terminationConfig(termination).build());
+
+                // Act
+                RunRecorder resumed = run(config(storage, 40, checkpoints, true).terminationConfig(termination).build());
+
+                // Assert
+                assertThat(uninterrupted.stopReason).as(name).isNotNull();
+                assertThat(resumed.stopReason).as(name).isEqualTo(uninterrupted.stopReason);
+                assertThat(resumed.result).as(name).isEqualTo(uninterrupted.result);
+            }
+        }
+    }
+
+    @Test
+    void read_shouldReturnTheWrittenCheckpoint_andRejectACorruptFile() throws IOException {
+        // Arrange
+        List<Individual> population = List.of(
+                new Individual(Genome.of("LR+-/".getBytes(StandardCharsets.UTF_8)), 12.5),
+                new Individual(Genome.of("//RR".getBytes(StandardCharsets.UTF_8)), 3.0));
+        StatefulRandom random = new StatefulRandom(7);
+        random.nextInt();
+        StatefulSplitMix[] breeders = {new StatefulSplitMix(1).split(), new StatefulSplitMix(2).split()};
+        AdaptiveMutationController mutation = new AdaptiveMutationController(0.1, 0.5, 0.8, 2.0, 0.1);
+        mutation.update(0.2);
+        Path file = directory.resolve(CheckpointWriter.FILE_NAME);
+
+        // Act
+        Checkpoint.of(42, random, breeders, mutation, 99.0, 37, 4_200, List.of("RR/"), population).write(file);
+        Checkpoint read = Checkpoint.read(file);
+
+        // Assert
+        assertThat(read.generation).isEqualTo(42);
+        assertThat(read.bestFitnessOverall).isEqualTo(99.0);
+        assertThat(read.improvedAt).isEqualTo(37);
+        assertThat(read.evaluations).isEqualTo(4_200);
+        assertThat(read.winners).containsExactly("RR/");
+        assertThat(read.individuals()).extracting(Individual::getGenomeString).containsExactly("LR+-/", "//RR");
+        assertThat(read.individuals()).extracting(Individual::getFitness).containsExactly(12.5, 3.0);
+        StatefulRandom restored = new StatefulRandom(0);
+        StatefulSplitMix[] restoredBreeders = {new StatefulSplitMix(0), new StatefulSplitMix(0)};
+        read.restore(restored, restoredBreeders);
+        assertThat(restored.nextLong()).isEqualTo(random.nextLong());
+        assertThat(restoredBreeders[1].nextLong()).isEqualTo(breeders[1].nextLong());
+        AdaptiveMutationController restoredMutation = new AdaptiveMutationController(0.1, 0.5, 0.8, 2.0, 0.1);
+        read.restore(restoredMutation);
+        assertThat(restoredMutation.getMutationRate()).isEqualTo(0.2);
+        assertThat(restoredMutation.isConverged()).isTrue();
+        assertThat(directory.resolve(CheckpointWriter.FILE_NAME + ".tmp")).doesNotExist();
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThatThrownBy(() -> CheckpointWriter.latest(directory)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void statefulRandoms_shouldDrawTheSameNumbersAsTheJdkGenerators() {
+        // Arrange
+        Random jdk = new Random(11);
+        StatefulRandom stateful = new StatefulRandom(11);
+        SplittableRandom jdkSplit = new SplittableRandom(11).split();
+        StatefulSplitMix statefulSplit = new StatefulSplitMix(11).split();
+
+        // Act / Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(stateful.nextInt(i + 1)).isEqualTo(jdk.nextInt(i + 1));
+            assertThat(stateful.nextDouble()).isEqualTo(jdk.nextDouble());
+            assertThat(stateful.nextBoolean()).isEqualTo(jdk.nextBoolean());
+            assertThat(statefulSplit.nextInt(i + 1)).isEqualTo(jdkSplit.nextInt(i + 1));
+            assertThat(statefulSplit.nextDouble()).isEqualTo(jdkSplit.nextDouble());
+            assertThat(statefulSplit.nextBoolean()).isEqualTo(jdkSplit.nextBoolean());
+        }
+    }
+
+    private static RunRecorder run(GAConfig config) {
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(config, new LocalFitnessEvaluator(LEVEL));
+        RunRecorder recorder = new RunRecorder();
+        geneticAlgorithm.addListener(recorder);
+        geneticAlgorithm.runAlgorithm();
+        return recorder;
+    }
+
+    private static GAConfig.Builder config(PopulationStorage storage, int maxGeneration, Path checkpoints, boolean resume) {
+        int breedingThreads = storage == PopulationStorage.OBJECTS ? 3 : 1;
+        return TestConfigs.small()
+                .maxGeneration(maxGeneration)
+                .executionConfig(new ExecutionConfig(0, storage, ExecutionConfig.DEFAULT_STORAGE_DIRECTORY, resume, breedingThreads, 5, checkpoints.toString()));
+    }
+
+    /**
+     * Records where a run resumed, a summary of every generation, why it stopped early and the result of the run.
+     */
+    private static class RunRecorder implements RunListener {
+        private final List<String> generations = new ArrayList<>();
+        private String result;
+        private int resumedAt = -1;
+        private String stopReason;
+
+        @Override
+        public void onResumed(int generation, String from) {
+            resumedAt = generation;
+        }
+
+        @Override
+        public void onGeneration(GenerationMetrics metrics) {
+            generations.add(metrics.getGeneration() + ": " + metrics.getBestFitness() + " " + metrics.getMeanFitness()
+                    + " " + metrics.getMeanGenomeLength() + " " + metrics.getDiversity() + " " + metrics.getBestFitnessOverall());
+        }
+
+        @Override
+        public void onTerminated(int generation, String reason) {
+            stopReason = generation + ": " + reason;
+        }
+
+        @Override
+        public void onFinished(int generations, String bestGenome, double bestFitness, List<String> solutions) {
+            result = generations + " " + bestGenome + " " + bestFitness + " " + solutions;
+        }
+    }
+}
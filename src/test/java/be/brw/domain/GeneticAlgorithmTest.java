@@ -0,0 +1,173 @@
+package be.brw.domain;
+
+import be.brw.config.AdaptiveMutationConfig;
+import be.brw.config.ExecutionConfig;
+import be.brw.config.GAConfig;
+import be.brw.config.PopulationStorage;
+import be.brw.config.TerminationConfig;
+import be.brw.config.TestConfigs;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+import be.brw.metrics.GenerationMetrics;
+import be.brw.metrics.MetricsListener;
+import be.brw.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneticAlgorithmTest {
+
+    private static final Level LEVEL = Level.parse(List.of(
+            "jump=1",
+            "...........#....",
+            "S......#...#...G",
+            "################"
+    ));
+
+    @Test
+    void runAlgorithm_shouldBreedTheSamePopulations_forTheSameSeedAndBreedingThreads() {
+        // Arrange
+        RecordingEvaluator first = new RecordingEvaluator();
+        RecordingEvaluator second = new RecordingEvaluator();
+
+        // Act
+        new GeneticAlgorithm(config(4), first).runAlgorithm();
+        new GeneticAlgorithm(config(4), second).runAlgorithm();
+
+        // Assert: the initial population and 11 bred generations, with the same genomes in the same order.
+        assertThat(first.generations).hasSize(12);
+        assertThat(second.generations).isEqualTo(first.generations);
+    }
+
+    @Test
+    void runAlgorithm_shouldPublishTheMetricsOfEveryGeneration() {
+        // Arrange
+        List<GenerationMetrics> published = new CopyOnWriteArrayList<>();
+        MetricsListener listener = published::add;
+        MetricsRegistry.getDefault().addListener(listener);
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(config(2), new LocalFitnessEvaluator(LEVEL));
+
+        // Act
+        try {
+            geneticAlgorithm.runAlgorithm();
+        } finally {
+            MetricsRegistry.getDefault().removeListener(listener);
+        }
+
+        // Assert
+        assertThat(published).extracting(GenerationMetrics::getGeneration).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        for (GenerationMetrics metrics : published) {
+            assertThat(metrics.getPopulationSize()).isEqualTo(200);
+            assertThat(metrics.getMeanFitness()).isBetween(0.0, metrics.getBestFitness());
+            assertThat(metrics.getBestFitnessOverall()).isGreaterThanOrEqualTo(metrics.getBestFitness());
+            assertThat(metrics.getDiversity()).isBetween(0.0, 1.0);
+            assertThat(metrics.getMinGenomeLength()).isLessThanOrEqualTo(metrics.getMaxGenomeLength());
+            assertThat(metrics.getCrossoverNanos()).isPositive();
+            assertThat(metrics.getEvaluationNanos()).isPositive();
+        }
+    }
+
+    @Test
+    void runAlgorithm_shouldStopAndSayWhy_whenATerminationPolicyFires() {
+        // Arrange: a budget of the initial population and three bred generations of 200 individuals.
+        GAConfig config = config(1, new TerminationConfig(0, 0.0, 0, 800), AdaptiveMutationConfig.defaults());
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(config, new LocalFitnessEvaluator(LEVEL));
+        List<String> terminations = new ArrayList<>();
+        geneticAlgorithm.addListener(new RunListener() {
+            @Override
+            public void onTerminated(int generation, String reason) {
+                terminations.add(generation + " " + reason);
+            }
+        });
+
+        // Act
+        geneticAlgorithm.runAlgorithm();
+
+        // Assert
+        assertThat(geneticAlgorithm.getGenerationCount()).isEqualTo(2);
+        assertThat(geneticAlgorithm.getStopReason()).isEqualTo("evaluation budget: 800 of 800 evaluations spent");
+        assertThat(terminations).containsExactly("2 evaluation budget: 800 of 800 evaluations spent");
+    }
+
+    @Test
+    void runAlgorithm_shouldRestartPartOfThePopulation_whenItConverged() {
+        // Arrange: every generation with a duplicate genome counts as converged, and half of its children are restarted.
+        GAConfig config = config(1, TerminationConfig.defaults(), new AdaptiveMutationConfig(1.0, 0.9, 2.0, 0.5));
+        RecordingEvaluator evaluator = new RecordingEvaluator();
+        long restartsBefore = MetricsRegistry.getDefault().counter("ga.restarts").get();
+
+        // Act
+        new GeneticAlgorithm(config, evaluator).runAlgorithm();
+
+        // Assert: converged generations restart 90 of their 180 children, and the population keeps its size.
+        long restarts = MetricsRegistry.getDefault().counter("ga.restarts").get() - restartsBefore;
+        assertThat(restarts).isPositive().isLessThanOrEqualTo(10 * 90);
+        assertThat(restarts % 90).isZero();
+        assertThat(evaluator.generations).hasSize(12).allSatisfy(generation -> assertThat(generation).hasSize(200));
+    }
+
+    @Test
+    void terminationPolicies_shouldFireOnStagnationAndDiversityCollapse() {
+        // Arrange
+        TerminationPolicy stagnation = TerminationPolicy.stagnation(3);
+        TerminationPolicy diversity = TerminationPolicy.diversityCollapse(0.1);
+        double[] bestFitnessOverall = {10.0, 12.0, 12.0, 12.0, 12.0};
+
+        // Act
+        List<String> stagnationReasons = new ArrayList<>();
+        for (int generation = 0; generation < bestFitnessOverall.length; generation++) {
+            stagnationReasons.add(stagnation.check(metrics(generation, bestFitnessOverall[generation], 0.5), 0, 0));
+        }
+
+        // Assert
+        assertThat(stagnationReasons).containsExactly(null, null, null, null,
+                "stagnation: best fitness 12.0 unchanged for 3 generations");
+        assertThat(diversity.check(metrics(0, 1.0, 0.1), 0, 0)).isNull();
+        assertThat(diversity.check(metrics(0, 1.0, 0.05), 0, 0)).startsWith("diversity collapse");
+        assertThat(TerminationPolicy.of(TerminationConfig.defaults())).isEmpty();
+    }
+
+    private static GenerationMetrics metrics(int generation, double bestFitnessOverall, double diversity) {
+        return new GenerationMetrics(generation, 10, bestFitnessOverall, 1.0, bestFitnessOverall, diversity,
+                2, 3.0, 4, 0, 0, 0, 0);
+    }
+
+    private GAConfig config(int breedingThreads) {
+        return config(breedingThreads, TerminationConfig.defaults(), AdaptiveMutationConfig.defaults());
+    }
+
+    private GAConfig config(int breedingThreads, TerminationConfig terminationConfig, AdaptiveMutationConfig adaptiveMutationConfig) {
+        return TestConfigs.small()
+                .populationSize(200)
+                .executionConfig(new ExecutionConfig(0, PopulationStorage.OBJECTS,
+                        ExecutionConfig.DEFAULT_STORAGE_DIRECTORY, false, breedingThreads))
+                .terminationConfig(terminationConfig)
+                .adaptiveMutationConfig(adaptiveMutationConfig)
+                .build();
+    }
+
+    /**
+     * Scores genomes on the test level and records every population it sees, in order.
+     */
+    private static class RecordingEvaluator implements FitnessEvaluator {
+        private final LocalFitnessEvaluator delegate = new LocalFitnessEvaluator(LEVEL);
+        private final List<List<String>> generations = new ArrayList<>();
+        private final List<String> pending = new ArrayList<>();
+
+        @Override
+        public synchronized List<Double> evaluate(List<Individual> genomes) {
+            for (Individual individual : genomes) {
+                pending.add(individual.getGenomeString());
+            }
+            if (pending.size() >= 200) {
+                generations.add(new ArrayList<>(pending));
+                pending.clear();
+            }
+            return delegate.evaluate(genomes);
+        }
+    }
+}
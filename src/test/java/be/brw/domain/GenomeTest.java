@@ -0,0 +1,66 @@
+package be.brw.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenomeTest {
+
+    @Test
+    void bulkOperations_shouldEditGenes_andRefreshCachedViews() {
+        // Arrange
+        Genome genome = genome("RRLL");
+        String before = genome.toString();
+        int hashBefore = genome.hashCode();
+
+        // Act
+        genome.insert(0, (byte) '+');
+        genome.remove(3);
+        genome.set(1, (byte) '/');
+        genome.append(genome("-RL"), 1, 3);
+
+        // Assert
+        assertThat(before).isEqualTo("RRLL");
+        assertThat(genome.toString()).isEqualTo("+/RLRL");
+        assertThat(genome.hashCode()).isNotEqualTo(hashBefore);
+        assertThat(genome.copyRange(2, 5)).isEqualTo(genome("RLR"));
+    }
+
+    @Test
+    void asList_shouldWriteThroughToTheGenome() {
+        // Arrange
+        Genome genome = genome("LR");
+        List<Byte> view = genome.asList();
+
+        // Act
+        view.add((byte) '+');
+        view.set(0, (byte) 'R');
+        view.remove(1);
+
+        // Assert
+        assertThat(genome.toString()).isEqualTo("R+");
+        assertThat(view).containsExactly((byte) 'R', (byte) '+');
+    }
+
+    @Test
+    void copy_shouldBeIndependentOfTheOriginal() {
+        // Arrange
+        Genome original = genome("RRR");
+
+        // Act
+        Genome copy = original.copy();
+        copy.add((byte) 'L');
+
+        // Assert
+        assertThat(original.toString()).isEqualTo("RRR");
+        assertThat(copy.toString()).isEqualTo("RRRL");
+        assertThat(original).isNotEqualTo(copy);
+    }
+
+    private static Genome genome(String genes) {
+        return Genome.of(genes.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package be.brw.domain;
+
+import be.brw.config.GAConfig;
+import be.brw.config.IslandConfig;
+import be.brw.config.TestConfigs;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+import be.brw.domain.strategy.MigrationTopology;
+import be.brw.domain.strategy.MutationTargetStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IslandRunnerTest {
+
+    @Test
+    void neighbours_shouldFollowTheTopology() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(3);
+
+        // Act & Assert
+        assertThat(IslandRunner.neighbours(MigrationTopology.RING, 3, 4, random)).containsExactly(0);
+        assertThat(IslandRunner.neighbours(MigrationTopology.FULLY_CONNECTED, 1, 4, random)).containsExactly(0, 2, 3);
+        for (int i = 0; i < 100; i++) {
+            assertThat(IslandRunner.neighbours(MigrationTopology.RANDOM, 2, 4, random)).hasSize(1).doesNotContain(2);
+        }
+    }
+
+    @Test
+    void run_shouldMergeTheSolutionsOfAllIslands() {
+        // Arrange
+        LocalFitnessEvaluator evaluator = new LocalFitnessEvaluator(Level.parse(List.of(
+                "jump=2",
+                "......",
+                "...#..",
+                "S..#.G",
+                "######"
+        )));
+        GAConfig config = TestConfigs.small()
+                .seed(11).maxGeneration(60).populationSize(60)
+                .mutationTargetStrategy(MutationTargetStrategy.CHILDREN).maxSolutions(5)
+                .islandConfig(new IslandConfig(4, 3, 2, MigrationTopology.RING))
+                .build();
+
+        // Act
+        List<String> winners = new IslandRunner(config, evaluator).run();
+
+        // Assert
+        assertThat(winners).isNotEmpty().hasSizeLessThanOrEqualTo(5).doesNotHaveDuplicates();
+        assertThat(evaluator.evaluate(winners.stream().map(w -> new Individual(Genome.of(w.getBytes(StandardCharsets.US_ASCII)))).toList()))
+                .allSatisfy(fitness -> assertThat(fitness).isGreaterThanOrEqualTo(3500.0));
+    }
+}
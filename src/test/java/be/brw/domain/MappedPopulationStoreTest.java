@@ -0,0 +1,86 @@
+package be.brw.domain;
+
+import be.brw.config.ExecutionConfig;
+import be.brw.config.GAConfig;
+import be.brw.config.PopulationStorage;
+import be.brw.config.TestConfigs;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+import be.brw.domain.strategy.CrossoverLeftoverStrategy;
+import be.brw.domain.strategy.CrossoverStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedPopulationStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_shouldMapBackTheCommittedGeneration() {
+        // Arrange: a tiny initial gene region, so writing has to remap a larger one.
+        Path file = directory.resolve("store.bin");
+        try (MappedPopulationStore store = MappedPopulationStore.create(file, 3, 4)) {
+            store.begin();
+            store.append(Genome.of("RRRL+".getBytes(StandardCharsets.US_ASCII)));
+            store.setFitness(0, 12.5);
+            store.begin();
+            store.append(store, 0, 1, 4);
+            store.insert(0, (byte) '/');
+            store.remove(2);
+
+            // Act
+            store.commit(7);
+        }
+        MappedPopulationStore reopened = MappedPopulationStore.open(file);
+
+        // Assert
+        try (reopened) {
+            assertThat(reopened.isCommitted()).isTrue();
+            assertThat(reopened.getGeneration()).isEqualTo(7);
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.genomeString(0)).isEqualTo("RRRL+");
+            assertThat(reopened.fitness(0)).isEqualTo(12.5);
+            assertThat(reopened.genomeString(1)).isEqualTo("/RL");
+        }
+    }
+
+    @Test
+    void runAlgorithm_shouldResumeFromTheLastCommittedGeneration() {
+        // Arrange
+        LocalFitnessEvaluator evaluator = new LocalFitnessEvaluator(Level.parse(List.of(
+                "jump=1",
+                "....#...",
+                "S...#..G",
+                "########"
+        )));
+        new GeneticAlgorithm(config(5, false), evaluator).runAlgorithm();
+
+        // Act
+        GeneticAlgorithm resumed = new GeneticAlgorithm(config(8, true), evaluator);
+        resumed.runAlgorithm();
+
+        // Assert: the first run leaves generation 6 in the first file; the stores then alternate up to 9.
+        assertThat(resumed.getGenerationCount()).isEqualTo(8);
+        try (MappedPopulationStore latest = MappedPopulationStore.open(directory.resolve("population-1.bin"))) {
+            assertThat(latest.isCommitted()).isTrue();
+            assertThat(latest.getGeneration()).isEqualTo(9);
+            assertThat(latest.size()).isEqualTo(50);
+        }
+    }
+
+    private GAConfig config(int maxGeneration, boolean resume) {
+        return TestConfigs.small()
+                .seed(3).maxGenomeLength(20).maxGeneration(maxGeneration).populationSize(50)
+                .crossoverStrategy(CrossoverStrategy.TWO_POINT)
+                .crossoverLeftoverStrategy(CrossoverLeftoverStrategy.KEEP_ALL_OR_NOTHING_RANDOMLY).maxSolutions(15)
+                .executionConfig(new ExecutionConfig(0, PopulationStorage.MAPPED, directory.toString(), resume))
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package be.brw.domain;
+
+import be.brw.config.ExecutionConfig;
+import be.brw.config.GAConfig;
+import be.brw.config.PopulationStorage;
+import be.brw.config.TestConfigs;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+import be.brw.domain.strategy.MutationTargetStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PopulationArenaTest {
+
+    /**
+     * A level whose goal is out of reach, so runs never stop early nor record solutions.
+     */
+    private static final Level UNREACHABLE = Level.parse(List.of(
+            "jump=1",
+            "....#...",
+            "....#...",
+            "S...#..G",
+            "########"
+    ));
+
+    @Test
+    void openRecord_shouldBeEditableInPlace() {
+        // Arrange
+        PopulationArena arena = new PopulationArena(2, 2);
+        arena.begin();
+        arena.append(Genome.of("RRL".getBytes(StandardCharsets.UTF_8)));
+
+        // Act: the second record is built from the first one, growing the slab.
+        arena.begin();
+        arena.append(arena, 0, 1, 3);
+        arena.insert(0, (byte) '+');
+        arena.add((byte) '/');
+        arena.remove(1);
+        arena.set(0, (byte) '-');
+
+        // Assert
+        assertThat(arena.size()).isEqualTo(2);
+        assertThat(arena.genomeString(0)).isEqualTo("RRL");
+        assertThat(arena.genomeString(1)).isEqualTo("-L/");
+        assertThat(arena.toIndividual(1).getGenomeString()).isEqualTo("-L/");
+    }
+
+    @Test
+    void runAlgorithm_onArenas_shouldAllocateAlmostNothingPerGeneration() {
+        // Arrange: load and compile the code paths once.
+        allocatedBytes(PopulationStorage.ARENA, 50);
+        allocatedBytes(PopulationStorage.OBJECTS, 50);
+
+        // Act
+        long arenaPerGeneration = (allocatedBytes(PopulationStorage.ARENA, 250)
+                - allocatedBytes(PopulationStorage.ARENA, 50)) / 200;
+        long objectsPerGeneration = (allocatedBytes(PopulationStorage.OBJECTS, 250)
+                - allocatedBytes(PopulationStorage.OBJECTS, 50)) / 200;
+
+        // Assert: the genomes of an arena run allocate nothing. What is left is the bookkeeping of every
+        // generation, like the GenerationMetrics it publishes, which does not grow with the population:
+        // under 200 bytes when this was written, so 2 KiB leaves room for JDK differences.
+        assertThat(arenaPerGeneration).as("bytes per arena generation").isLessThan(2_048);
+        assertThat(arenaPerGeneration * 20).as("20 times the bytes per arena generation, against %d per objects generation",
+                objectsPerGeneration).isLessThan(objectsPerGeneration);
+    }
+
+    private static long allocatedBytes(PopulationStorage storage, int generations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        GeneticAlgorithm ga = new GeneticAlgorithm(config(storage, generations), new LocalFitnessEvaluator(UNREACHABLE));
+        long before = threads.getCurrentThreadAllocatedBytes();
+        ga.runAlgorithm();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static GAConfig config(PopulationStorage storage, int maxGeneration) {
+        return TestConfigs.small()
+                .seed(7).minGenomeLength(20).maxGenomeLength(40).maxGeneration(maxGeneration).populationSize(200)
+                .mutationTargetStrategy(MutationTargetStrategy.CHILDREN).maxSolutions(15)
+                .executionConfig(new ExecutionConfig(0, storage))
+                .build();
+    }
+}
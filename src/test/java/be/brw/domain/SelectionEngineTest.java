@@ -0,0 +1,65 @@
+package be.brw.domain;
+
+import be.brw.domain.strategy.SelectionStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SelectionEngineTest {
+
+    @Test
+    void elitism_shouldReturnTheFittestFirst_withoutReorderingThePool() {
+        // Arrange
+        double[] fitness = {3, 9, 1, 9, 7, 0, 5};
+        SelectionEngine engine = new SelectionEngine(SelectionStrategy.ELITISM, 0, new Random(1));
+        engine.prepare(fitness, fitness.length);
+        int[] out = new int[4];
+
+        // Act
+        engine.select(4, out);
+
+        // Assert: ties are ranked by position.
+        assertThat(out).containsExactly(1, 3, 4, 6);
+        assertThat(fitness).containsExactly(3, 9, 1, 9, 7, 0, 5);
+    }
+
+    @Test
+    void roulette_shouldPickProportionallyToFitness() {
+        // Arrange
+        double[] fitness = {1, 0, 3, -4, 6};
+        SelectionEngine engine = new SelectionEngine(SelectionStrategy.ROULETTE, 0, new Random(2));
+        engine.prepare(fitness, fitness.length);
+        int[] out = new int[100_000];
+
+        // Act
+        engine.select(out.length, out);
+
+        // Assert: negative and zero fitness are never picked.
+        int[] counts = new int[fitness.length];
+        for (int index : out) {
+            counts[index]++;
+        }
+        assertThat(counts[1]).isZero();
+        assertThat(counts[3]).isZero();
+        assertThat(counts[0] / (double) out.length).isCloseTo(0.1, org.assertj.core.data.Offset.offset(0.01));
+        assertThat(counts[2] / (double) out.length).isCloseTo(0.3, org.assertj.core.data.Offset.offset(0.01));
+        assertThat(counts[4] / (double) out.length).isCloseTo(0.6, org.assertj.core.data.Offset.offset(0.01));
+    }
+
+    @Test
+    void tournament_shouldDrawDistinctPlayers() {
+        // Arrange: a tournament as large as the pool must always include the fittest.
+        double[] fitness = {4, 2, 8, 6, 1};
+        SelectionEngine engine = new SelectionEngine(SelectionStrategy.TOURNAMENT, 5, new Random(3));
+        engine.prepare(fitness, fitness.length);
+        int[] out = new int[50];
+
+        // Act
+        engine.select(out.length, out);
+
+        // Assert
+        assertThat(out).containsOnly(2);
+    }
+}
@@ -0,0 +1,71 @@
+package be.brw.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolutionCollectorTest {
+
+    @Test
+    void add_shouldCollectEachGenomeOnce_andStreamItToTheSink() {
+        // Arrange
+        List<String> streamed = new ArrayList<>();
+        SolutionCollector collector = new SolutionCollector(10,
+                (generation, genome, fitness) -> streamed.add(generation + ":" + genome + ":" + fitness));
+        PopulationArena arena = new PopulationArena(4, 16);
+        for (String genes : new String[]{"LRR/", "RR"}) {
+            int index = arena.begin();
+            for (byte gene : genes.getBytes(StandardCharsets.UTF_8)) {
+                arena.add(gene);
+            }
+            arena.setFitness(index, 3600.0);
+        }
+
+        // Act
+        boolean first = collector.add(genome("RR/+"), 3500.0, 3);
+        boolean again = collector.add(genome("RR/+"), 3500.0, 4);
+        boolean fromStore = collector.add(arena, 0, 5);
+        boolean sameAsObject = collector.add(arena, 1, 5) && !collector.add(genome("RR"), 3500.0, 6);
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(again).isFalse();
+        assertThat(fromStore).isTrue();
+        assertThat(sameAsObject).isTrue();
+        assertThat(collector.getSolutions()).containsExactly("RR/+", "LRR/", "RR");
+        assertThat(streamed).containsExactly("3:RR/+:3500.0", "5:LRR/:3600.0", "5:RR:3600.0");
+        assertThat(collector.getShortest()).isEqualTo("RR");
+    }
+
+    @Test
+    void add_shouldStopAtMaxSolutions_andMergeWithoutStreaming() {
+        // Arrange
+        List<String> streamed = new ArrayList<>();
+        SolutionCollector collector = new SolutionCollector(100, (generation, genome, fitness) -> streamed.add(genome));
+        collector.addAll(List.of("R", "RR"));
+
+        // Act: enough distinct genomes to grow the table several times.
+        int added = 0;
+        for (int i = 0; i < 200; i++) {
+            if (collector.add(genome(Integer.toBinaryString(i).replace('0', 'L').replace('1', 'R')), 3500.0, i)) {
+                added++;
+            }
+        }
+
+        // Assert: "R" and "RR" are the genomes of 1 and 3, already collected.
+        assertThat(added).isEqualTo(98);
+        assertThat(collector.isFull()).isTrue();
+        assertThat(collector.size()).isEqualTo(100);
+        assertThat(collector.getSolutions()).startsWith("R", "RR", "L").doesNotHaveDuplicates();
+        assertThat(streamed).hasSize(98).doesNotContain("R", "RR");
+        assertThat(collector.getShortest()).isEqualTo("R");
+    }
+
+    private static Genome genome(String genes) {
+        return Genome.of(genes.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package be.brw.domain.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameSimulatorTest {
+
+    private static final Level FLAT = Level.parse(List.of(
+            "jump=2",
+            "......",
+            "S...G.",
+            "######"
+    ));
+
+    private static final Level WALL = Level.parse(List.of(
+            "jump=2",
+            "......",
+            "...#..",
+            "S..#.G",
+            "######"
+    ));
+
+    @Test
+    void evaluate_shouldWin_whenWalkingToTheGoal() {
+        // Arrange
+        GameSimulator simulator = new GameSimulator(FLAT);
+
+        // Act
+        double fitness = evaluate(simulator, "RRRRLL");
+
+        // Assert: the game ends after 4 moves, the last 2 are never played.
+        assertThat(fitness).isEqualTo(GameSimulator.WIN_SCORE + GameSimulator.TIME_BONUS - 4);
+    }
+
+    @Test
+    void evaluate_shouldScoreProgress_whenGoalIsNotReached() {
+        // Arrange
+        GameSimulator simulator = new GameSimulator(FLAT);
+
+        // Act
+        double fitness = evaluate(simulator, "RR/L");
+
+        // Assert: the best position counts, not the last one.
+        assertThat(fitness).isEqualTo(GameSimulator.PROGRESS_SCORE / 2);
+    }
+
+    @Test
+    void evaluate_shouldNeedAJump_toCrossAWall() {
+        // Arrange
+        GameSimulator simulator = new GameSimulator(WALL);
+
+        // Act
+        double walking = evaluate(simulator, "RRRRRRRR");
+        double jumping = evaluate(simulator, "RR++RRRR");
+
+        // Assert
+        assertThat(walking).isLessThan(GameSimulator.WIN_SCORE);
+        assertThat(jumping).isGreaterThanOrEqualTo(GameSimulator.WIN_SCORE);
+    }
+
+    @Test
+    void defaultLevel_shouldBeWinnable() throws Exception {
+        // Arrange
+        Level level = Level.load(Path.of("src/main/resources/levels/level_1.txt"));
+        GameSimulator simulator = new GameSimulator(level);
+
+        // Act
+        double fitness = evaluate(simulator, "RRR+RRRRRRRRRRRRRRRRR+RRRRRRRRRR+RRRR+RRRRRRRR");
+
+        // Assert
+        assertThat(fitness).isGreaterThanOrEqualTo(GameSimulator.WIN_SCORE);
+    }
+
+    private static double evaluate(GameSimulator simulator, String genome) {
+        byte[] bytes = genome.getBytes(StandardCharsets.UTF_8);
+        return simulator.evaluate(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,58 @@
+package be.brw.domain.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Replays genome/score pairs recorded from the remote fitness service with {@code be.brw.FitnessRecorder}
+ * and checks that the local simulator gives the same scores.
+ */
+class LocalFitnessEvaluatorParityTest {
+
+    private static final Path RECORDINGS = Path.of("src/test/resources/parity");
+    private static final Path LEVELS = Path.of("src/main/resources/levels");
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void evaluate_shouldMatchRecordedRemoteScores() throws IOException {
+        // Arrange
+        List<Path> recordings;
+        try (Stream<Path> files = Files.list(RECORDINGS)) {
+            recordings = files.filter(p -> p.toString().endsWith(".tsv")).sorted().toList();
+        }
+        assumeTrue(!recordings.isEmpty(), "No recorded scores in " + RECORDINGS);
+
+        List<String> mismatches = new ArrayList<>();
+        for (Path recording : recordings) {
+            String levelName = recording.getFileName().toString().replace(".tsv", ".txt");
+            LocalFitnessEvaluator evaluator = new LocalFitnessEvaluator(Level.load(LEVELS.resolve(levelName)));
+
+            // Act
+            for (String line : Files.readAllLines(recording)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                byte[] genome = columns[0].getBytes(StandardCharsets.UTF_8);
+                double expected = Double.parseDouble(columns[1]);
+                double actual = evaluator.evaluate(genome, 0, genome.length);
+                if (Math.abs(expected - actual) > TOLERANCE) {
+                    mismatches.add(recording.getFileName() + ": " + columns[0] + " expected " + expected + " but was " + actual);
+                }
+            }
+        }
+
+        // Assert
+        assertThat(mismatches).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package be.brw.domain.game;
+
+import be.brw.domain.Genome;
+import be.brw.domain.Individual;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixStateTrieTest {
+
+    private static final Level LEVEL = Level.parse(List.of(
+            "jump=2",
+            "..........................................",
+            "......#.........#.........................",
+            "S.....#....^....#.......................G.",
+            "#########.################################"
+    ));
+    private static final byte[] MOVES = "LR+-/".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void evaluate_shouldMatchFullEvaluationWhenSharedByThreads() throws Exception {
+        // Arrange: a budget small enough to evict while the threads play.
+        LocalFitnessEvaluator evaluator = new LocalFitnessEvaluator(LEVEL, 16, 200 * PrefixStateTrie.NODE_BYTES);
+        GameSimulator simulator = evaluator.getSimulator();
+        byte[][] ancestors = new byte[8][];
+        SplittableRandom seeds = new SplittableRandom(3);
+        for (int i = 0; i < ancestors.length; i++) {
+            ancestors[i] = randomGenes(seeds, 200);
+        }
+        AtomicInteger mismatches = new AtomicInteger();
+
+        // Act
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                SplittableRandom random = seeds.split();
+                boolean traced = t % 2 == 0;
+                workers.add(executor.submit(() -> {
+                    for (int round = 0; round < 2_000; round++) {
+                        byte[] genes = ancestors[random.nextInt(ancestors.length)].clone();
+                        genes[random.nextInt(genes.length)] = MOVES[random.nextInt(MOVES.length)];
+                        int length = random.nextInt(genes.length + 1);
+                        double score = traced
+                                ? evaluator.evaluate(new Individual(Genome.of(Arrays.copyOf(genes, length))))
+                                : evaluator.evaluate(genes, 0, length);
+                        if (score != simulator.evaluate(genes, 0, length)) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+
+        // Assert
+        assertThat(mismatches.get()).isZero();
+    }
+
+    @Test
+    void insert_shouldStayWithinBudget() {
+        // Arrange
+        GameSimulator simulator = new GameSimulator(LEVEL);
+        PrefixStateTrie trie = new PrefixStateTrie(simulator, 100 * PrefixStateTrie.NODE_BYTES);
+        SplittableRandom random = new SplittableRandom(5);
+
+        // Act: every genome adds a fresh branch of 4 nodes under the root.
+        byte[] genes = new byte[0];
+        for (int i = 0; i < 1_000; i++) {
+            genes = randomGenes(random, 4 * PrefixStateTrie.CHUNK);
+            PrefixStateTrie.Node node = trie.find(genes, 0, genes.length);
+            while (node.ticks() < genes.length) {
+                node = trie.insert(node, genes, 0, node.state);
+            }
+        }
+
+        // Assert
+        assertThat(trie.size()).isBetween(1, 100);
+        assertThat(trie.find(genes, 0, genes.length).ticks()).as("most recent branch").isEqualTo(genes.length);
+    }
+
+    private static byte[] randomGenes(SplittableRandom random, int length) {
+        byte[] genes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            genes[i] = MOVES[random.nextInt(MOVES.length)];
+        }
+        return genes;
+    }
+}
@@ -0,0 +1,103 @@
+package be.brw.domain.game;
+
+import be.brw.domain.Genome;
+import be.brw.domain.Individual;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulationTraceTest {
+
+    private static final Level LEVEL = Level.parse(List.of(
+            "jump=2",
+            "..............................",
+            "......#.........#.............",
+            "S.....#....^....#...........G.",
+            "#########.####################"
+    ));
+    private static final byte[] MOVES = "LR+-/".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void evaluate_shouldMatchFullEvaluationAfterMutationsAndCrossovers() {
+        // Arrange
+        LocalFitnessEvaluator incremental = new LocalFitnessEvaluator(LEVEL, 4);
+        GameSimulator simulator = incremental.getSimulator();
+        SplittableRandom random = new SplittableRandom(7);
+        Individual[] population = new Individual[20];
+        for (int i = 0; i < population.length; i++) {
+            population[i] = new Individual(randomGenome(random, 10 + random.nextInt(60)));
+            incremental.evaluate(population[i]);
+        }
+
+        // Act
+        int mismatches = 0;
+        for (int round = 0; round < 2_000; round++) {
+            Individual parent = population[random.nextInt(population.length)];
+            Individual individual;
+            if (random.nextBoolean()) {
+                Individual other = population[random.nextInt(population.length)];
+                int cut = random.nextInt(Math.min(parent.getGenomeLength(), other.getGenomeLength()) + 1);
+                Genome genes = new Genome(other.getGenomeLength());
+                genes.append(parent.getGenes(), 0, cut);
+                genes.append(other.getGenes(), cut, other.getGenomeLength());
+                individual = new Individual(genes);
+                individual.setEvaluationTrace(parent.getEvaluationTrace());
+            } else {
+                individual = parent;
+            }
+            mutate(individual, random);
+            double score = incremental.evaluate(individual);
+            byte[] genes = new byte[individual.getGenomeLength()];
+            individual.getGenes().copyTo(genes, 0);
+            if (score != simulator.evaluate(genes, 0, genes.length)) {
+                mismatches++;
+            }
+            population[random.nextInt(population.length)] = individual;
+        }
+
+        // Assert
+        assertThat(mismatches).isZero();
+    }
+
+    @Test
+    void evaluate_shouldKeepTraceWhenOnlyGenesAfterTheEndChange() {
+        // Arrange
+        LocalFitnessEvaluator evaluator = new LocalFitnessEvaluator(Level.parse(List.of("jump=1", "S...G", "#####")), 4);
+        Individual individual = new Individual(Genome.of("RRRRRRRRR/////".getBytes(StandardCharsets.UTF_8)));
+        double score = evaluator.evaluate(individual);
+        var trace = individual.getEvaluationTrace();
+
+        // Act: the game was won on the fourth move.
+        individual.setGene(12, (byte) '+');
+        individual.addGene((byte) 'R');
+
+        // Assert
+        assertThat(evaluator.evaluate(individual)).isEqualTo(score);
+        assertThat(individual.getEvaluationTrace()).isSameAs(trace);
+    }
+
+    private static Genome randomGenome(SplittableRandom random, int length) {
+        Genome genome = new Genome(length);
+        for (int i = 0; i < length; i++) {
+            genome.add(MOVES[random.nextInt(MOVES.length)]);
+        }
+        return genome;
+    }
+
+    private static void mutate(Individual individual, SplittableRandom random) {
+        int length = individual.getGenomeLength();
+        switch (random.nextInt(3)) {
+            case 0 -> individual.addGene(MOVES[random.nextInt(MOVES.length)]);
+            case 1 -> {
+                if (length > 1) {
+                    individual.removeGene(random.nextInt(length));
+                }
+            }
+            default -> individual.setGene(random.nextInt(length), MOVES[random.nextInt(MOVES.length)]);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package be.brw.domain.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveMutationControllerTest {
+
+    @Test
+    void update_shouldRaiseTheRateAndRestart_whileConverged_andEaseOffAfterwards() {
+        // Arrange
+        AdaptiveMutationController controller = new AdaptiveMutationController(0.2, 0.3, 0.7, 2.0, 0.25);
+
+        // Act / Assert: three converged generations, then diverse ones.
+        controller.update(0.1);
+        assertThat(controller.getMutationRate()).isEqualTo(0.4);
+        assertThat(controller.restarts(100)).isEqualTo(25);
+        controller.update(0.2);
+        controller.update(0.2);
+        assertThat(controller.getMutationRate()).isEqualTo(0.7);
+
+        controller.update(0.5);
+        assertThat(controller.isConverged()).isFalse();
+        assertThat(controller.restarts(100)).isZero();
+        assertThat(controller.getMutationRate()).isEqualTo(0.35);
+        controller.update(0.5);
+        controller.update(0.5);
+        assertThat(controller.getMutationRate()).isEqualTo(0.2);
+    }
+
+    @Test
+    void update_shouldNeverAdapt_whenMinDiversityIsZero() {
+        // Arrange
+        AdaptiveMutationController controller = new AdaptiveMutationController(0.3, 0.0, 1.0, 2.0, 0.5);
+
+        // Act
+        controller.update(0.0);
+
+        // Assert
+        assertThat(controller.getMutationRate()).isEqualTo(0.3);
+        assertThat(controller.restarts(100)).isZero();
+    }
+}
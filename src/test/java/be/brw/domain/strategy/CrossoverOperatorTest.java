@@ -0,0 +1,127 @@
+package be.brw.domain.strategy;
+
+import be.brw.domain.Moves;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CrossoverOperatorTest {
+
+    @Test
+    void breed_shouldTakeEveryGeneFromTheParentAtItsPosition() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (CrossoverStrategy crossover : CrossoverStrategy.values()) {
+            for (CrossoverLeftoverStrategy leftovers : CrossoverLeftoverStrategy.values()) {
+                for (int run = 0; run < 100; run++) {
+                    ArrayRecombination parents = new ArrayRecombination("RRRRRRRR", "LLLLL", 1.0, 2.0);
+
+                    // Act
+                    parents.breed(crossover.operator(), leftovers.operator(), random);
+
+                    // Assert: genes of the parents only, never longer than the longer parent.
+                    String child = parents.child();
+                    assertThat(child).as(crossover + " " + leftovers).matches("[RL]{1,8}");
+                    assertThat(child.length()).as(crossover + " " + leftovers).isLessThanOrEqualTo(8);
+                    if (crossover == CrossoverStrategy.UNIFORM) {
+                        assertThat(child.substring(0, 5).chars().filter(c -> c == 'R')).as(crossover.name()).hasSizeBetween(2, 3);
+                    }
+                    if (crossover == CrossoverStrategy.UNIFORM && leftovers == CrossoverLeftoverStrategy.KEEP_ONLY_FROM_FITTEST_PARENT) {
+                        assertThat(child).hasSize(5);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void breed_shouldRunAPluggedInOperator_andHandItTheLeftovers() {
+        // Arrange: an operator copying the shorter length of the first parent.
+        CrossoverOperator firstParent = (parents, random) -> {
+            parents.append(Recombination.FIRST, 0, Math.min(parents.length(Recombination.FIRST), parents.length(Recombination.SECOND)));
+            return true;
+        };
+        ArrayRecombination parents = new ArrayRecombination("RR", "L+-/", 1.0, 0.0);
+
+        // Act
+        parents.breed(firstParent, CrossoverLeftoverStrategy.KEEP_ALL_OR_NOTHING_RANDOMLY.operator(), new Random(0) {
+            @Override
+            public boolean nextBoolean() {
+                return true;
+            }
+        });
+
+        // Assert
+        assertThat(parents.child()).isEqualTo("RR-/");
+    }
+
+    @Test
+    void randomOtherThan_shouldDrawEveryOtherMove_andNeverTheSameOne() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int code = 0; code < Moves.count(); code++) {
+            byte gene = Moves.fromCode(code);
+            Set<Byte> drawn = new HashSet<>();
+
+            // Act
+            for (int i = 0; i < 200; i++) {
+                drawn.add(Moves.randomOtherThan(gene, random));
+            }
+
+            // Assert
+            assertThat(drawn).hasSize(Moves.count() - 1).doesNotContain(gene);
+        }
+    }
+
+    /**
+     * Parents held as strings, and the child written to a buffer.
+     */
+    private static final class ArrayRecombination implements Recombination {
+        private final byte[][] genes;
+        private final double[] fitness;
+        private final ByteArrayOutputStream child = new ByteArrayOutputStream();
+
+        private ArrayRecombination(String first, String second, double firstFitness, double secondFitness) {
+            this.genes = new byte[][]{first.getBytes(StandardCharsets.UTF_8), second.getBytes(StandardCharsets.UTF_8)};
+            this.fitness = new double[]{firstFitness, secondFitness};
+        }
+
+        @Override
+        public int length(int parent) {
+            return genes[parent].length;
+        }
+
+        @Override
+        public byte gene(int parent, int index) {
+            return genes[parent][index];
+        }
+
+        @Override
+        public double fitness(int parent) {
+            return fitness[parent];
+        }
+
+        @Override
+        public void append(int parent, int from, int to) {
+            child.write(genes[parent], from, to - from);
+        }
+
+        @Override
+        public void add(byte gene) {
+            child.write(gene);
+        }
+
+        private String child() {
+            return child.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
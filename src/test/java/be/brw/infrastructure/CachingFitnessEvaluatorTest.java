@@ -0,0 +1,106 @@
+package be.brw.infrastructure;
+
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Individual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingFitnessEvaluatorTest {
+
+    private RecordingEvaluator delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new RecordingEvaluator();
+    }
+
+    @Test
+    void evaluate_shouldOnlyForwardMisses_inOneBatch() {
+        // Arrange
+        CachingFitnessEvaluator evaluator = new CachingFitnessEvaluator(delegate, 100);
+        evaluator.evaluate(List.of(individual("LR"), individual("RRR")));
+
+        // Act
+        List<Double> scores = evaluator.evaluate(List.of(individual("RRR"), individual("L+"), individual("LR")));
+
+        // Assert
+        assertThat(scores).containsExactly(3.0, 2.0, 2.0);
+        assertThat(delegate.batches).hasSize(2);
+        assertThat(delegate.batches.getLast()).containsExactly("L+");
+        assertThat(evaluator.getHitCount()).isEqualTo(2);
+        assertThat(evaluator.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void evaluate_shouldSendDuplicateGenomesOnlyOnce() {
+        // Arrange
+        CachingFitnessEvaluator evaluator = new CachingFitnessEvaluator(delegate, 100);
+
+        // Act
+        List<Double> scores = evaluator.evaluate(List.of(individual("LRL"), individual("LRL"), individual("/")));
+
+        // Assert
+        assertThat(scores).containsExactly(3.0, 3.0, 1.0);
+        assertThat(delegate.batches).containsExactly(List.of("LRL", "/"));
+        assertThat(evaluator.size()).isEqualTo(2);
+    }
+
+    @Test
+    void evaluate_shouldEvictLeastRecentlyUsed_whenEntryLimitIsReached() {
+        // Arrange
+        CachingFitnessEvaluator evaluator = new CachingFitnessEvaluator(delegate, 2);
+        evaluator.evaluate(List.of(individual("A")));
+        evaluator.evaluate(List.of(individual("BB")));
+        evaluator.evaluate(List.of(individual("A"))); // "A" becomes the most recently used entry
+
+        // Act
+        evaluator.evaluate(List.of(individual("CCC")));
+        evaluator.evaluate(List.of(individual("A"), individual("BB")));
+
+        // Assert
+        assertThat(evaluator.getEvictionCount()).isEqualTo(2);
+        assertThat(delegate.batches.getLast()).containsExactly("BB");
+    }
+
+    @Test
+    void evaluate_shouldRespectMemoryLimit() {
+        // Arrange: room for exactly one 10-gene genome.
+        long budget = 10 + CachingFitnessEvaluator.ENTRY_OVERHEAD_BYTES;
+        CachingFitnessEvaluator evaluator = new CachingFitnessEvaluator(delegate, 100, budget);
+
+        // Act
+        evaluator.evaluate(List.of(individual("LLLLLLLLLL"), individual("RRRRRRRRRR")));
+
+        // Assert
+        assertThat(evaluator.size()).isEqualTo(1);
+        assertThat(evaluator.getEstimatedBytes()).isLessThanOrEqualTo(budget);
+    }
+
+    private static Individual individual(String genome) {
+        byte[] bytes = genome.getBytes(StandardCharsets.UTF_8);
+        List<Byte> byteList = new ArrayList<>(bytes.length);
+        for (byte b : bytes) {
+            byteList.add(b);
+        }
+        return new Individual(byteList);
+    }
+
+    /**
+     * Scores every genome by its length and remembers each batch it received.
+     */
+    private static class RecordingEvaluator implements FitnessEvaluator {
+        private final List<List<String>> batches = new ArrayList<>();
+
+        @Override
+        public List<Double> evaluate(List<Individual> genomes) {
+            batches.add(genomes.stream().map(Individual::getGenomeString).toList());
+            return genomes.stream().map(i -> (double) i.getGenomeLength()).toList();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package be.brw.infrastructure;
+
+import be.brw.config.GAConfig;
+import be.brw.config.IslandConfig;
+import be.brw.config.TestConfigs;
+import be.brw.domain.FitnessEvaluator;
+import be.brw.domain.Genome;
+import be.brw.domain.Individual;
+import be.brw.domain.game.Level;
+import be.brw.domain.game.LocalFitnessEvaluator;
+import be.brw.domain.strategy.MigrationTopology;
+import be.brw.domain.strategy.MutationTargetStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class IslandNodeTest {
+
+    private static final Level LEVEL = Level.parse(List.of(
+            "jump=2",
+            "........................",
+            "....#......#.......#....",
+            "S...#......#.......#...G",
+            "########################"
+    ));
+
+    @Test
+    void migrantCodec_shouldRoundTripGenomesAndFitness() throws IOException {
+        // Arrange
+        List<Individual> migrants = List.of(
+                new Individual(Genome.of("LR+-/RRR".getBytes(StandardCharsets.US_ASCII)), 3512.0),
+                new Individual(Genome.of("/".getBytes(StandardCharsets.US_ASCII)), -1.5)
+        );
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        MigrantCodec.write(new DataOutputStream(bytes), migrants);
+        List<Individual> decoded = MigrantCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert: 4 bytes of length, 4 of count, 4 + 3 and 4 + 1 of genomes, then 2 doubles.
+        assertThat(bytes.size()).isEqualTo(4 + 4 + 7 + 5 + 16);
+        assertThat(decoded).extracting(Individual::getGenomeString).containsExactly("LR+-/RRR", "/");
+        assertThat(decoded).extracting(Individual::getFitness).containsExactly(3512.0, -1.5);
+    }
+
+    @Test
+    void run_shouldGatherTheSolutions_whenANodeDropsOut() throws IOException {
+        // Arrange: three nodes on loopback; node 2 fails once its two islands scored their initial population.
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                nodes.add("127.0.0.1:" + socket.getLocalPort());
+            }
+        }
+        IslandNode coordinator = new IslandNode(config(nodes, 0), new LocalFitnessEvaluator(LEVEL));
+        IslandNode worker = new IslandNode(config(nodes, 1), new LocalFitnessEvaluator(LEVEL));
+        IslandNode failing = new IslandNode(config(nodes, 2), new FailingEvaluator(3));
+
+        // Act
+        List<String> winners = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            CompletableFuture<List<String>> result = CompletableFuture.supplyAsync(coordinator::run);
+            CompletableFuture<List<String>> other = CompletableFuture.supplyAsync(worker::run);
+            CompletableFuture<List<String>> crash = CompletableFuture.supplyAsync(failing::run);
+            assertThat(crash).failsWithin(Duration.ofSeconds(20));
+            other.join();
+            return result.join();
+        });
+
+        // Assert: the coordinator did not wait for the 60 s result timeout.
+        assertThat(winners).isNotEmpty().hasSizeLessThanOrEqualTo(5).doesNotHaveDuplicates();
+        assertThat(coordinator.getBestFitness()).isGreaterThanOrEqualTo(3500.0);
+        assertThat(new LocalFitnessEvaluator(LEVEL).evaluate(List.of(
+                new Individual(Genome.of(coordinator.getBestGenome().getBytes(StandardCharsets.US_ASCII))))))
+                .containsExactly(coordinator.getBestFitness());
+    }
+
+    private GAConfig config(List<String> nodes, int nodeId) {
+        return TestConfigs.small()
+                .seed(11).maxGeneration(200).populationSize(60)
+                .mutationTargetStrategy(MutationTargetStrategy.CHILDREN).maxSolutions(5)
+                .islandConfig(new IslandConfig(2, 3, 2, MigrationTopology.RING, nodes, nodeId, 2000, 60000))
+                .build();
+    }
+
+    /**
+     * Scores genomes on the test level until it fails, like a node losing its fitness service.
+     */
+    private static class FailingEvaluator implements FitnessEvaluator {
+        private final LocalFitnessEvaluator delegate = new LocalFitnessEvaluator(LEVEL);
+        private final AtomicInteger remaining;
+
+        FailingEvaluator(int calls) {
+            this.remaining = new AtomicInteger(calls);
+        }
+
+        @Override
+        public List<Double> evaluate(List<Individual> genomes) {
+            if (remaining.decrementAndGet() <= 0) {
+                throw new IllegalStateException("Node lost");
+            }
+            return delegate.evaluate(genomes);
+        }
+    }
+}
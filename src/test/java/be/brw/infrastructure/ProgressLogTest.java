@@ -0,0 +1,74 @@
+package be.brw.infrastructure;
+
+import be.brw.config.LogConfig;
+import be.brw.config.LogFormat;
+import be.brw.metrics.GenerationMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProgressLogTest {
+
+    @Test
+    void onGeneration_shouldLogSampledAndImprovingGenerations() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+        ProgressLog log = new ProgressLog(out, true, new LogConfig(LogFormat.JSONL, "", 5, true, 16));
+
+        // Act: the best fitness rises in generations 0 and 3.
+        for (int generation = 0; generation < 10; generation++) {
+            log.onGeneration(metrics(generation, generation < 3 ? 10.0 : 20.0));
+        }
+        log.onSolution(7, "RR/", 3500.0);
+        log.onFinished(9, "RR/", 3500.0, List.of("RR/"));
+        log.close();
+
+        // Assert
+        List<String> lines = out.toString().lines().toList();
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0)).startsWith("{\"event\":\"generation\",\"generation\":0,");
+        assertThat(lines.get(1)).startsWith("{\"event\":\"generation\",\"generation\":3,").contains("\"bestFitnessOverall\":20.0");
+        assertThat(lines.get(2)).startsWith("{\"event\":\"generation\",\"generation\":5,");
+        assertThat(lines.get(3)).isEqualTo("{\"event\":\"solution\",\"generation\":7,\"fitness\":3500.0,\"genome\":\"RR/\"}");
+        assertThat(lines.get(4)).isEqualTo("{\"event\":\"finished\",\"generation\":9,\"bestFitness\":3500.0,\"bestGenome\":\"RR/\",\"solutions\":1}");
+    }
+
+    @Test
+    void onGeneration_shouldDropGenerationsButKeepResults_whenTheBufferIsFull() throws Exception {
+        // Arrange: a writer that holds up the log until released.
+        Object gate = new Object();
+        StringWriter out = new StringWriter() {
+            @Override
+            public void flush() {
+                synchronized (gate) {
+                    super.flush();
+                }
+            }
+        };
+        ProgressLog log = new ProgressLog(out, true, new LogConfig(LogFormat.CSV, "", 1, false, 4));
+
+        // Act
+        synchronized (gate) {
+            for (int generation = 0; generation < 100; generation++) {
+                log.onGeneration(metrics(generation, generation));
+            }
+        }
+        log.onFinished(99, "LR", 1.0, List.of());
+        log.close();
+
+        // Assert
+        List<String> lines = out.toString().lines().toList();
+        assertThat(log.getDropped()).isPositive();
+        assertThat(lines).hasSize(1 + 100 - (int) log.getDropped() + 1);
+        assertThat(lines.getFirst()).startsWith("event,generation,");
+        assertThat(lines.getLast()).isEqualTo("finished,99,1.0,,,,,,,,,LR");
+    }
+
+    private static GenerationMetrics metrics(int generation, double bestFitnessOverall) {
+        return new GenerationMetrics(generation, 10, bestFitnessOverall, 1.0, bestFitnessOverall, 1.0,
+                2, 3.0, 4, 1_000_000, 2_000_000, 3_000_000, 4_000_000);
+    }
+}
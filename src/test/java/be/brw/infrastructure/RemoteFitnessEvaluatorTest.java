@@ -1,20 +1,31 @@
 package be.brw.infrastructure;
 
+import be.brw.config.EvaluatorConfig;
+import be.brw.config.EvaluatorType;
+import be.brw.config.RoutingStrategy;
+import be.brw.config.WireProtocol;
+import be.brw.domain.FitnessEvaluationException;
 import be.brw.domain.Individual;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class RemoteFitnessEvaluatorTest {
 
@@ -62,6 +73,28 @@ class RemoteFitnessEvaluatorTest {
         assertThat(recordedRequest.getBody().readUtf8()).isEqualTo("{\"solutions\":[\"LRLRLR\",\"RRLRRL\"]}");
     }
 
+    @Test
+    void evaluateAsync_shouldCompleteWithFitnessScores_whenServerResponds200() throws InterruptedException {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"fitness_scores\": [1.5, 3500.0]}"));
+
+        List<Individual> genomes = List.of(
+                new Individual(toByteList("R")),
+                new Individual(toByteList("+++"))
+        );
+
+        // Act
+        double[] fitnessScores = evaluator.evaluateAsync(genomes).join();
+
+        // Assert
+        assertThat(fitnessScores).containsExactly(1.5, 3500.0);
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertThat(recordedRequest.getBody().readUtf8()).isEqualTo("{\"solutions\":[\"R\",\"+++\"]}");
+    }
+
     @Test
     void evaluate_shouldReturnZero_whenServerRespondsWithNon200Status() {
         // Arrange
@@ -81,6 +114,143 @@ class RemoteFitnessEvaluatorTest {
         assertThat(fitnessScores).containsExactly(0.0, 0.0);
     }
 
+    @Test
+    void evaluate_shouldThrow_whenServerReturnsTooFewScores() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"fitness_scores\": [1.0]}"));
+
+        List<Individual> genomes = List.of(
+                new Individual(toByteList("LRLRLR")),
+                new Individual(toByteList("RRR"))
+        );
+
+        // Act & Assert
+        assertThatThrownBy(() -> evaluator.evaluate(genomes))
+                .isInstanceOf(FitnessEvaluationException.class)
+                .hasMessageContaining("Expected 2 scores");
+    }
+
+    @Test
+    void evaluate_shouldSplitIntoChunks_andReassembleScoresInOrder() {
+        // Arrange: score every genome by its length, answering the chunks in any order.
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                JSONArray solutions = new JSONObject(request.getBody().readUtf8()).getJSONArray("solutions");
+                JSONArray scores = new JSONArray();
+                for (int i = 0; i < solutions.length(); i++) {
+                    scores.put(solutions.getString(i).length());
+                }
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(new JSONObject().put("fitness_scores", scores).toString());
+            }
+        });
+        RemoteFitnessEvaluator chunkedEvaluator = new RemoteFitnessEvaluator(config(2, 0));
+
+        List<Individual> genomes = List.of(
+                new Individual(toByteList("R")),
+                new Individual(toByteList("RR")),
+                new Individual(toByteList("RRR")),
+                new Individual(toByteList("RRRR")),
+                new Individual(toByteList("RRRRR"))
+        );
+
+        // Act
+        List<Double> fitnessScores = chunkedEvaluator.evaluate(genomes);
+
+        // Assert
+        assertThat(fitnessScores).containsExactly(1.0, 2.0, 3.0, 4.0, 5.0);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void evaluate_shouldRetryChunk_whenConnectionFails() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"fitness_scores\": [7.0]}"));
+        RemoteFitnessEvaluator retryingEvaluator = new RemoteFitnessEvaluator(config(0, 1));
+
+        // Act
+        List<Double> fitnessScores = retryingEvaluator.evaluate(List.of(new Individual(toByteList("L"))));
+
+        // Assert
+        assertThat(fitnessScores).containsExactly(7.0);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evaluate_shouldThrow_whenServiceStaysUnavailable() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        RemoteFitnessEvaluator retryingEvaluator = new RemoteFitnessEvaluator(config(0, 1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> retryingEvaluator.evaluate(List.of(new Individual(toByteList("L")))))
+                .isInstanceOf(FitnessEvaluationException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    void evaluate_shouldSendPackedGenomes_andReadBinaryScores_withBinaryProtocol() throws InterruptedException {
+        // Arrange: answer in binary with the genome lengths.
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                List<String> genomes = BinaryWireFormat.decode(ByteBuffer.wrap(request.getBody().readByteArray()));
+                double[] scores = genomes.stream().mapToDouble(String::length).toArray();
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setHeader("Content-Type", BinaryWireFormat.RESPONSE_CONTENT_TYPE)
+                        .setBody(new okio.Buffer().write(BinaryWireFormat.encodeScores(scores)));
+            }
+        });
+        RemoteFitnessEvaluator binaryEvaluator = new RemoteFitnessEvaluator(binaryConfig());
+        List<Individual> genomes = List.of(
+                new Individual(toByteList("RL+-/RRR")),
+                new Individual(toByteList("/"))
+        );
+
+        // Act
+        List<Double> fitnessScores = binaryEvaluator.evaluate(genomes);
+
+        // Assert: 4 bytes of count, then 4 + 3 and 4 + 1 bytes for the genomes.
+        assertThat(fitnessScores).containsExactly(8.0, 1.0);
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertThat(recordedRequest.getHeader("Content-Type")).isEqualTo(BinaryWireFormat.REQUEST_CONTENT_TYPE);
+        assertThat(recordedRequest.getBodySize()).isEqualTo(16);
+    }
+
+    @Test
+    void evaluate_shouldFallBackToJson_whenServiceRejectsBinaryProtocol() throws InterruptedException {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(415));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"fitness_scores\": [3.0]}"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"fitness_scores\": [4.0]}"));
+        RemoteFitnessEvaluator binaryEvaluator = new RemoteFitnessEvaluator(binaryConfig());
+
+        // Act
+        List<Double> first = binaryEvaluator.evaluate(List.of(new Individual(toByteList("L+R"))));
+        List<Double> second = binaryEvaluator.evaluate(List.of(new Individual(toByteList("RRRR"))));
+
+        // Assert: the rejected chunk is resent as JSON, and JSON is used from then on.
+        assertThat(first).containsExactly(3.0);
+        assertThat(second).containsExactly(4.0);
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).isEqualTo("{\"solutions\":[\"L+R\"]}");
+        assertThat(mockWebServer.takeRequest().getHeader("Content-Type")).isEqualTo("application/json");
+    }
+
     @Test
     void evaluate_shouldReturnEmptyList_whenGivenEmptyList() {
         // Act
@@ -90,6 +260,46 @@ class RemoteFitnessEvaluatorTest {
         assertThat(fitnessScores).isEmpty();
     }
 
+    // Helper method: Evaluator settings for the mock server with a given chunk size and retry count
+    private EvaluatorConfig config(int chunkSize, int maxRetries) {
+        return new EvaluatorConfig(
+                mockWebServer.url("").toString(),
+                1_000,
+                5_000,
+                0,
+                0,
+                0,
+                chunkSize,
+                2,
+                maxRetries,
+                10
+        );
+    }
+
+    // Helper method: Evaluator settings for the mock server speaking the binary protocol
+    private EvaluatorConfig binaryConfig() {
+        return new EvaluatorConfig(
+                EvaluatorType.REMOTE,
+                EvaluatorConfig.DEFAULT_LEVEL,
+                mockWebServer.url("").toString(),
+                1_000,
+                5_000,
+                0,
+                0,
+                0,
+                0,
+                2,
+                0,
+                10,
+                List.of(),
+                RoutingStrategy.LEAST_OUTSTANDING,
+                EvaluatorConfig.DEFAULT_EJECTION_ERROR_RATE,
+                EvaluatorConfig.DEFAULT_EJECTION_MIN_REQUESTS,
+                EvaluatorConfig.DEFAULT_EJECTION_MS,
+                WireProtocol.BINARY
+        );
+    }
+
     // Helper method: Convert a String to a List<Byte>
     private List<Byte> toByteList(String text) {
         byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
@@ -0,0 +1,76 @@
+package be.brw.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferTest {
+
+    @Test
+    void offer_shouldRefuseElements_whenTheBufferIsFull() {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        // Act
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // Assert
+        assertThat(buffer.offer(99)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(99)).isTrue();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void poll_shouldHandEveryElementOverOnce_withConcurrentProducers() throws Exception {
+        // Arrange: a small buffer, so that the producers keep finding it full. Waiting threads yield,
+        // so that the test also finishes quickly on a single processor.
+        RingBuffer<Integer> buffer = new RingBuffer<>(16);
+        int producers = 4;
+        int perProducer = 1_000;
+        boolean[] seen = new boolean[producers * perProducer];
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < first + perProducer; i++) {
+                        while (!buffer.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+            int received = 0;
+            while (received < seen.length) {
+                Integer element = buffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                assertThat(seen[element]).as("element %d received twice", element).isFalse();
+                seen[element] = true;
+                received++;
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // Assert
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.capacity()).isEqualTo(16);
+    }
+}
@@ -0,0 +1,144 @@
+package be.brw.infrastructure;
+
+import be.brw.config.EvaluatorConfig;
+import be.brw.config.EvaluatorType;
+import be.brw.config.RoutingStrategy;
+import be.brw.config.WireProtocol;
+import be.brw.domain.Individual;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedFitnessEvaluatorTest {
+
+    private final List<MockWebServer> servers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A fast, a slow and a broken instance of the service.
+        servers.add(startServer(scoringByLength(0)));
+        servers.add(startServer(scoringByLength(200)));
+        servers.add(startServer(failing()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (MockWebServer server : servers) {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    void evaluate_shouldReturnScoresInOrder_whenOneInstanceFails() {
+        // Arrange
+        ShardedFitnessEvaluator evaluator = new ShardedFitnessEvaluator(config(RoutingStrategy.LEAST_OUTSTANDING));
+        List<Individual> genomes = genomes(40);
+
+        // Act
+        List<Double> fitnessScores = evaluator.evaluate(genomes);
+
+        // Assert
+        for (int i = 0; i < genomes.size(); i++) {
+            assertThat(fitnessScores.get(i)).isEqualTo(genomes.get(i).getGenomeLength());
+        }
+        assertThat(evaluator.getServedCount(2)).isZero();
+        assertThat(evaluator.isEjected(2)).isTrue();
+    }
+
+    @Test
+    void evaluate_shouldFavourTheFastestInstance_whenRoutingOnLatency() {
+        // Arrange
+        ShardedFitnessEvaluator evaluator = new ShardedFitnessEvaluator(config(RoutingStrategy.LATENCY_WEIGHTED));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            evaluator.evaluate(genomes(40));
+        }
+
+        // Assert
+        assertThat(evaluator.getServedCount(0)).isGreaterThan(evaluator.getServedCount(1));
+    }
+
+    private EvaluatorConfig config(RoutingStrategy routing) {
+        return new EvaluatorConfig(
+                EvaluatorType.REMOTE,
+                EvaluatorConfig.DEFAULT_LEVEL,
+                servers.getFirst().url("").toString(),
+                1_000,
+                5_000,
+                0,
+                0,
+                0,
+                4,
+                2,
+                3,
+                10,
+                servers.stream().map(server -> server.url("").toString()).toList(),
+                routing,
+                0.5,
+                2,
+                60_000,
+                WireProtocol.JSON
+        );
+    }
+
+    private static MockWebServer startServer(Dispatcher dispatcher) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        server.start();
+        return server;
+    }
+
+    private static Dispatcher scoringByLength(long delayMs) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                JSONArray solutions = new JSONObject(request.getBody().readUtf8()).getJSONArray("solutions");
+                JSONArray scores = new JSONArray();
+                for (int i = 0; i < solutions.length(); i++) {
+                    scores.put(solutions.getString(i).length());
+                }
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBodyDelay(delayMs, TimeUnit.MILLISECONDS)
+                        .setBody(new JSONObject().put("fitness_scores", scores).toString());
+            }
+        };
+    }
+
+    private static Dispatcher failing() {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(503);
+            }
+        };
+    }
+
+    private static List<Individual> genomes(int count) {
+        List<Individual> genomes = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            byte[] bytes = "R".repeat(i).getBytes(StandardCharsets.UTF_8);
+            List<Byte> genome = new ArrayList<>(bytes.length);
+            for (byte b : bytes) {
+                genome.add(b);
+            }
+            genomes.add(new Individual(genome));
+        }
+        return genomes;
+    }
+}
@@ -0,0 +1,53 @@
+package be.brw.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsRegistryTest {
+
+    @Test
+    void histogram_shouldReportPercentilesWithinTwoPercent() {
+        // Arrange
+        Histogram histogram = new Histogram();
+        SplittableRandom random = new SplittableRandom(1);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Spread over many orders of magnitude, like request latencies in nanoseconds.
+            values[i] = (long) Math.pow(10, random.nextDouble(2, 10));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Act
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+
+        // Assert
+        assertThat(histogram.getCount()).isEqualTo(values.length);
+        assertThat(histogram.getMax()).isEqualTo(values[values.length - 1]);
+        assertThat((double) p50).isBetween(values[49_999] * 0.98, values[49_999] * 1.02);
+        assertThat((double) p99).isBetween(values[98_999] * 0.98, values[98_999] * 1.02);
+    }
+
+    @Test
+    void mbean_shouldExposeEveryValueOfTheSnapshot() throws Exception {
+        // Arrange
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("evaluator.genomes").add(42);
+        registry.timer("evaluator.request").record(2_000_000);
+        MetricsMBean mbean = new MetricsMBean(registry);
+
+        // Act
+        Object genomes = mbean.getAttribute("evaluator.genomes");
+        Object meanMs = mbean.getAttribute("evaluator.request.meanMs");
+
+        // Assert
+        assertThat(genomes).isEqualTo(42.0);
+        assertThat(meanMs).isEqualTo(2.0);
+        assertThat(mbean.getMBeanInfo().getAttributes()).hasSize(registry.snapshot().size());
+    }
+}